@@ -0,0 +1,124 @@
+package bwapiproxy.bench;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import bwapiproxy.core.Game;
+import bwapiproxy.core.protocol.FrameEncoder;
+import bwapiproxy.core.protocol.FrameFormat;
+import bwapiproxy.proxy.standin.SyntheticGame;
+/**
+ * Messages for the benchmarks, generated the same way the StandInClient generates them,
+ * so that the benchmarks parse the same data the proxy receives during a load test.
+ */
+public class BenchmarkData {
+
+	/** seed for the generated games, so that every run parses the same data */
+	private static final long SEED = 42;
+
+	/**
+	 * Returns a game with the given number of units on a square map.
+	 *
+	 * The game is played for a few hundred frames first, so that units are spread out
+	 * and have a mix of orders.
+	 */
+	public static SyntheticGame newGame(int unitCount, int mapSize) {
+		SyntheticGame game = new SyntheticGame(mapSize, mapSize, unitCount, SEED);
+		for (int frame=0; frame<600; frame++) {
+			game.step(frame);
+		}
+
+		return game;
+	}
+
+	/**
+	 * Returns the game object of the proxy for the game, without any updates.
+	 */
+	public static Game newProxyGame(SyntheticGame game) {
+		return new Game(game.getPlayerData(), game.getLocationData(), game.getMapData(),
+				game.getChokesData(), game.getBasesData());
+	}
+
+	/**
+	 * Returns the update for the current frame in the text format.
+	 */
+	public static String getTextUpdate(SyntheticGame game) {
+		StringBuilder update = new StringBuilder(64 + game.getUnitCount() * 48);
+		update.append("s;").append(game.getMinerals()).append(';').append(game.getGas()).append(';')
+			.append(game.getSupplyUsed()).append(';').append(game.getSupplyTotal()).append(';');
+
+		for (int value : game.getResearch()) {
+			update.append(value);
+		}
+
+		update.append(';');
+		for (int value : game.getUpgrades()) {
+			update.append(value);
+		}
+
+		for (int u=0; u<game.getUnitCount(); u++) {
+			int[] unit = game.getUnit(u);
+			update.append(':');
+
+			for (int i=0; i<FrameFormat.UNIT_FIELDS; i++) {
+				if (i > 0) {
+					update.append(';');
+				}
+
+				update.append(unit[i]);
+			}
+		}
+
+		return update.toString();
+	}
+
+	/**
+	 * Returns the payload of a full binary frame for the current frame, without the length
+	 * prefix, as Game.update expects it.
+	 */
+	public static ByteBuffer getBinaryUpdate(SyntheticGame game) {
+		FrameEncoder encoder = new FrameEncoder();
+		encoder.begin(game.getMinerals(), game.getGas(), game.getSupplyUsed(), game.getSupplyTotal(),
+				game.getResearch(), game.getUpgrades());
+
+		for (int u=0; u<game.getUnitCount(); u++) {
+			encoder.addUnit(game.getUnit(u));
+		}
+
+		ByteBuffer frame = encoder.finish();
+		frame.position(4);
+		return frame.slice();
+	}
+
+	/**
+	 * Returns a chokes message with the given number of chokes spread over the map, in pixels.
+	 */
+	public static String getChokesData(int count, int mapSize) {
+		Random random = new Random(SEED);
+		StringBuilder data = new StringBuilder("Chokes");
+
+		for (int i=0; i<count; i++) {
+			data.append(':').append(random.nextInt(mapSize * 32)).append(';').append(random.nextInt(mapSize * 32))
+				.append(';').append(64 + random.nextInt(384));
+		}
+
+		return data.toString();
+	}
+
+	/**
+	 * Returns a bases message with the given number of bases spread over the map, in tiles.
+	 */
+	public static String getBasesData(int count, int mapSize) {
+		Random random = new Random(SEED);
+		StringBuilder data = new StringBuilder("Bases");
+
+		for (int i=0; i<count; i++) {
+			data.append(':').append(random.nextInt(mapSize)).append(';').append(random.nextInt(mapSize));
+		}
+
+		return data.toString();
+	}
+
+	private BenchmarkData() {
+	}
+}
@@ -0,0 +1,80 @@
+package bwapiproxy.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bwapiproxy.core.Game;
+import bwapiproxy.core.wmes.unit.EnemyUnitWME;
+import bwapiproxy.core.wmes.unit.GeyserWME;
+import bwapiproxy.core.wmes.unit.MineralWME;
+import bwapiproxy.core.wmes.unit.PlayerUnitWME;
+import bwapiproxy.proxy.standin.SyntheticGame;
+/**
+ * Reading the units of a frame through Game's category getters, the way a bot does
+ * every frame: iterating over its own units, the enemy units and the resources.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryBenchmark {
+
+	@Param({ "100", "400", "1600" })
+	public int units;
+
+	private Game game;
+
+	@Setup
+	public void setup() {
+		SyntheticGame synthetic = BenchmarkData.newGame(units, 128);
+		game = BenchmarkData.newProxyGame(synthetic);
+		game.update(BenchmarkData.getTextUpdate(synthetic));
+	}
+
+	@Benchmark
+	public int playerUnits() {
+		int hitPoints = 0;
+		for (PlayerUnitWME unit : game.getPlayerUnits()) {
+			hitPoints += unit.getHitPoints();
+		}
+
+		return hitPoints;
+	}
+
+	@Benchmark
+	public int enemyUnits() {
+		int hitPoints = 0;
+		for (EnemyUnitWME unit : game.getEnemyUnits()) {
+			hitPoints += unit.getHitPoints();
+		}
+
+		return hitPoints;
+	}
+
+	@Benchmark
+	public int resources() {
+		int resources = 0;
+		for (MineralWME mineral : game.getMinerals()) {
+			resources += mineral.getResources();
+		}
+
+		for (GeyserWME geyser : game.getGeysers()) {
+			resources += geyser.getResources();
+		}
+
+		return resources;
+	}
+}
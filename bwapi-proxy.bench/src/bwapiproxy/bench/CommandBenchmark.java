@@ -0,0 +1,75 @@
+package bwapiproxy.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bwapiproxy.core.command.CommandQueue;
+/**
+ * Queueing commands and writing them into responses with CommandQueue.getCommands.
+ *
+ * Every invocation queues the given number of commands for different units and then
+ * drains the queue, which takes several responses once the commands no longer fit into
+ * one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+
+	/** commands issued in a frame, from a few production orders to a large army moving */
+	@Param({ "10", "100", "1000" })
+	public int commands;
+
+	private CommandQueue queue;
+
+	@Setup
+	public void setup() {
+		queue = new CommandQueue();
+
+		// the same commands are sent every invocation, which would otherwise be dropped
+		queue.setDuplicateWindow(0);
+	}
+
+	@Benchmark
+	public int getCommands() {
+		for (int i=0; i<commands; i++) {
+			int unitID = 100 + i;
+
+			switch (i % 4) {
+				case 0:
+					queue.attackMove(unitID, 64 + i % 64, 32 + i % 32);
+					break;
+				case 1:
+					queue.rightClick(unitID, 64 + i % 64, 32 + i % 32);
+					break;
+				case 2:
+					queue.attackUnit(unitID, 5000 + i);
+					break;
+				default:
+					queue.train(unitID, 7);
+					break;
+			}
+		}
+
+		int length = 0;
+		while (queue.getPendingCount() > 0) {
+			length += queue.getCommands().length();
+		}
+
+		return length;
+	}
+}
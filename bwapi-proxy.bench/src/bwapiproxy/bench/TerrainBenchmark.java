@@ -0,0 +1,65 @@
+package bwapiproxy.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bwapiproxy.core.wmes.BaseLocationWME;
+import bwapiproxy.core.wmes.ChokePointWME;
+import bwapiproxy.core.wmes.MapWME;
+import bwapiproxy.proxy.standin.SyntheticGame;
+/**
+ * Parsing of the handshake messages describing the terrain: the map, the chokes and the
+ * bases. These are parsed once per game, but the map grows with the square of its size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TerrainBenchmark {
+
+	/** map size in tiles, StarCraft maps are between 64x64 and 256x256 */
+	@Param({ "64", "128", "256" })
+	public int mapSize;
+
+	private String mapData;
+	private String chokesData;
+	private String basesData;
+
+	@Setup
+	public void setup() {
+		mapData = new SyntheticGame(mapSize, mapSize, 0, 42).getMapData();
+
+		// terrain analysis finds more chokes and bases on larger maps
+		chokesData = BenchmarkData.getChokesData(mapSize / 4, mapSize);
+		basesData = BenchmarkData.getBasesData(mapSize / 8, mapSize);
+	}
+
+	@Benchmark
+	public MapWME parseMap() {
+		return new MapWME(mapData);
+	}
+
+	@Benchmark
+	public ArrayList<ChokePointWME> parseChokes() {
+		return ChokePointWME.getLocations(chokesData);
+	}
+
+	@Benchmark
+	public ArrayList<BaseLocationWME> parseBases() {
+		return BaseLocationWME.getLocations(basesData);
+	}
+}
@@ -0,0 +1,112 @@
+package bwapiproxy.bench;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bwapiproxy.core.Game;
+import bwapiproxy.core.protocol.FrameFormat;
+import bwapiproxy.core.protocol.TextCursor;
+import bwapiproxy.core.wmes.PlayerWME;
+import bwapiproxy.core.wmes.UnitTypeWME;
+import bwapiproxy.core.wmes.unit.UnitWME;
+import bwapiproxy.proxy.standin.SyntheticGame;
+/**
+ * Parsing of the per-frame updates: the player section, the unit section, and a complete
+ * Game.update, in the text and binary formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateBenchmark {
+
+	/** units in the game, from a small skirmish to a late game with both players maxed */
+	@Param({ "100", "400", "1600" })
+	public int units;
+
+	private byte[] textUpdate;
+	private ByteBuffer binaryUpdate;
+
+	private TextCursor cursor = new TextCursor();
+	private HashMap<Integer, UnitTypeWME> types;
+	private PlayerWME[] players = new PlayerWME[12];
+	private PlayerWME player;
+	private int playerID;
+
+	/** game updated by every invocation, so that units are updated in place */
+	private Game game;
+
+	@Setup
+	public void setup() {
+		SyntheticGame synthetic = BenchmarkData.newGame(units, 128);
+		textUpdate = BenchmarkData.getTextUpdate(synthetic).getBytes();
+		binaryUpdate = BenchmarkData.getBinaryUpdate(synthetic);
+
+		game = BenchmarkData.newProxyGame(synthetic);
+		types = game.getUnitTypes();
+		player = game.getPlayer();
+		playerID = player.getPlayerID();
+
+		ArrayList<PlayerWME> playerList = PlayerWME.getPlayers(synthetic.getPlayerData());
+		for (PlayerWME p : playerList) {
+			players[p.getPlayerID()] = p;
+		}
+	}
+
+	@Benchmark
+	public PlayerWME playerUpdateText() {
+		cursor.reset(textUpdate, 0, textUpdate.length);
+		player.update(cursor);
+		return player;
+	}
+
+	@Benchmark
+	public PlayerWME playerUpdateBinary() {
+		binaryUpdate.position(1);
+		player.update(binaryUpdate);
+		return player;
+	}
+
+	@Benchmark
+	public ArrayList<UnitWME> getUnitsText() {
+		cursor.reset(textUpdate, 0, textUpdate.length);
+		cursor.skipSection();
+		return UnitWME.getUnits(cursor, types, playerID, players);
+	}
+
+	@Benchmark
+	public ArrayList<UnitWME> getUnitsBinary() {
+		binaryUpdate.position(1 + FrameFormat.PLAYER_SIZE);
+		return UnitWME.getUnits(binaryUpdate, types, playerID, players);
+	}
+
+	@Benchmark
+	public Game gameUpdateText() {
+		cursor.reset(textUpdate, 0, textUpdate.length);
+		game.update(cursor);
+		return game;
+	}
+
+	@Benchmark
+	public Game gameUpdateBinary() {
+		binaryUpdate.position(0);
+		game.update(binaryUpdate);
+		return game;
+	}
+}
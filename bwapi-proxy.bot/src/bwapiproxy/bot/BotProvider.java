@@ -0,0 +1,14 @@
+package bwapiproxy.bot;
+/**
+ * Creates the bot for each game.
+ * 
+ * The ProxyBot can run several games at once, and asks for a new bot at the start of
+ * every game, so that games do not share bot state.
+ */
+public interface BotProvider {
+
+	/**
+	 * Returns a bot for a new game.
+	 */
+	public EventStarCraftBot newBot();
+}
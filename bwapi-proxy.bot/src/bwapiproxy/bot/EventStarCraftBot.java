@@ -0,0 +1,36 @@
+package bwapiproxy.bot;
+
+import bwapiproxy.core.Game;
+import bwapiproxy.core.GameSnapshot;
+/**
+ * Interface for a frame-synchronous StarCraft agent. Instead of owning a thread and polling
+ * the game, the agent is called by the ProxyBot as soon as each frame has been received.
+ * 
+ * The methods of a game's bot are called one at a time, by the thread handling the game's
+ * connection. Commands issued through game.getCommandQueue() during onFrame are sent in the
+ * response to that frame, so the methods should return quickly: StarCraft waits for the 
+ * response, and the thread may be shared with other games.
+ * 
+ * Polling bots implementing StarCraftBot can be run through the PollingBotAdapter.
+ */
+public interface EventStarCraftBot {
+
+	/**
+	 * Called once the first frame of the game has been received, before onFrame is called
+	 * for that frame.
+	 */
+	public void onStart(Game game);
+
+	/**
+	 * Called for every frame, with a snapshot of the game state at that frame.
+	 * 
+	 * The snapshot is released after the method returns, call retain() on it to keep it.
+	 */
+	public void onFrame(GameSnapshot state);
+
+	/**
+	 * Called when the game has ended or StarCraft has disconnected. Only called if onStart
+	 * was called.
+	 */
+	public void onEnd();
+}
@@ -0,0 +1,50 @@
+package bwapiproxy.bot;
+
+import bwapiproxy.core.Game;
+import bwapiproxy.core.GameSnapshot;
+/**
+ * Runs a polling StarCraftBot through the EventStarCraftBot interface.
+ * 
+ * The bot is started in a new thread when the game starts and stopped when the game ends,
+ * it reads the game state on its own schedule.
+ */
+public class PollingBotAdapter implements EventStarCraftBot {
+
+	/** the polling bot */
+	private StarCraftBot bot;
+
+	public PollingBotAdapter(StarCraftBot bot) {
+		this.bot = bot;
+	}
+
+	/**
+	 * Starts the bot in a new thread.
+	 */
+	public void onStart(final Game game) {
+		new Thread() {
+			public void run() {
+				bot.start(game);
+			}
+		}.start();
+	}
+
+	/**
+	 * Polling bots read the game state themselves.
+	 */
+	public void onFrame(GameSnapshot state) {
+	}
+
+	/**
+	 * Tells the bot to stop.
+	 */
+	public void onEnd() {
+		bot.stop();
+	}
+
+	/**
+	 * Returns the polling bot.
+	 */
+	public StarCraftBot getBot() {
+		return bot;
+	}
+}
@@ -1,29 +1,58 @@
-package bwapiproxy.bot;
-
-import bwapiproxy.bot.impl.ExampleStarCraftBot;
-
-/**
- * Factory for the Bot
- */
-public class StarCraftBotFactory {
-
-	/** Your bot instance */
-	// TODO: use IoC to setup the bot
-	private static StarCraftBot instance = new ExampleStarCraftBot();
-	// private static StarCraftBot instance = new NullStarCraftBot();
-
-	private StarCraftBotFactory() {
-
-	}
-
-	public static StarCraftBot getBot() {
-		if (instance == null) {
-			throw new IllegalStateException("Did you forget to call setBot() ?");
-		}
-		return instance;
-	}
-
-	public static void setBot(StarCraftBot bot) {
-		instance = bot;
-	}
-}
+package bwapiproxy.bot;
+
+import bwapiproxy.bot.impl.ExampleStarCraftBot;
+
+/**
+ * Factory for the Bot
+ * 
+ * Bots are created per game by a BotProvider. Setting a bot instance instead makes every
+ * game use that instance, which only works if one game is played at a time.
+ */
+public class StarCraftBotFactory {
+
+	/** Creates your bot for each game */
+	// TODO: use IoC to setup the bot
+	private static BotProvider provider = new BotProvider() {
+		public EventStarCraftBot newBot() {
+			return new PollingBotAdapter(new ExampleStarCraftBot());
+			// return new PollingBotAdapter(new NullStarCraftBot());
+		}
+	};
+
+	private StarCraftBotFactory() {
+
+	}
+
+	/**
+	 * Returns the bot for a new game.
+	 */
+	public static EventStarCraftBot newBot() {
+		return provider.newBot();
+	}
+
+	public static void setBotProvider(BotProvider botProvider) {
+		provider = botProvider;
+	}
+
+	/**
+	 * Uses the polling bot for every game.
+	 */
+	public static void setBot(final StarCraftBot bot) {
+		provider = new BotProvider() {
+			public EventStarCraftBot newBot() {
+				return new PollingBotAdapter(bot);
+			}
+		};
+	}
+
+	/**
+	 * Uses the event bot for every game.
+	 */
+	public static void setBot(final EventStarCraftBot bot) {
+		provider = new BotProvider() {
+			public EventStarCraftBot newBot() {
+				return bot;
+			}
+		};
+	}
+}
@@ -1,15 +1,15 @@
-package bwapiproxy.bot.impl;
-
-import bwapiproxy.bot.StarCraftBot;
-import bwapiproxy.core.Game;
-/**
- * Empty implementation of the StarCraft bot interface.
- */
-public class NullStarCraftBot implements StarCraftBot {
-
-	public void start(Game game) {
-	}
-
-	public void stop() {
-	}
-}
+package bwapiproxy.bot.impl;
+
+import bwapiproxy.bot.StarCraftBot;
+import bwapiproxy.core.Game;
+/**
+ * Empty implementation of the StarCraft bot interface.
+ */
+public class NullStarCraftBot implements StarCraftBot {
+
+	public void start(Game game) {
+	}
+
+	public void stop() {
+	}
+}
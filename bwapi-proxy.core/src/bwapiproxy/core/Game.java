@@ -1,262 +1,517 @@
-package bwapiproxy.core;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-
-
-
-import bwapiproxy.core.command.CommandQueue;
-import bwapiproxy.core.wmes.BaseLocationWME;
-import bwapiproxy.core.wmes.ChokePointWME;
-import bwapiproxy.core.wmes.MapWME;
-import bwapiproxy.core.wmes.PlayerWME;
-import bwapiproxy.core.wmes.StartingLocationWME;
-import bwapiproxy.core.wmes.TechTypeWME;
-import bwapiproxy.core.wmes.UnitTypeWME;
-import bwapiproxy.core.wmes.UpgradeTypeWME;
-import bwapiproxy.core.wmes.unit.AllyUnitWME;
-import bwapiproxy.core.wmes.unit.EnemyUnitWME;
-import bwapiproxy.core.wmes.unit.GeyserWME;
-import bwapiproxy.core.wmes.unit.MineralWME;
-import bwapiproxy.core.wmes.unit.PlayerUnitWME;
-import bwapiproxy.core.wmes.unit.UnitWME;
-import bwapiproxy.core.Constants.Race;
-/**
- * StarCraft AI Interface.
- * 
- * Maintains StarCraft state and provides hooks for StarCraft commands.
- * 
- * Note: all coordinates are specified in tile coordinates.
- */
-public class Game {
-
-	/** the bots player ID */
-	private int playerID;
-
-	/** the bots race */
-	private int playerRace;
-	
-	/** player information */
-	private PlayerWME player;
-
-	/** all players */
-	private ArrayList<PlayerWME> players;
-	private PlayerWME[] playerArray = new PlayerWME[12];
-	
-	/** map information */
-	private MapWME map;
-	
-	/** a list of the starting locations */
-	private ArrayList<StartingLocationWME> startingLocations;
-
-	/** a list of the units */
-	private ArrayList<UnitWME> units;
-
-	/** StarCraft unit types */
-	private HashMap<Integer, UnitTypeWME> unitTypes = UnitTypeWME.getUnitTypeMap();
-
-	/** list of tech types */
-	private ArrayList<TechTypeWME> techTypes = TechTypeWME.getTechTypes();
-
-	/** list of upgrade types */
-	private ArrayList<UpgradeTypeWME> upgradeTypes = UpgradeTypeWME.getUpgradeTypes();
-
-	/** queue of commands to execute */
-	private CommandQueue commandQueue = new CommandQueue();
-	
-	/** timestamp of when the game state was last changed */
-	private long lastGameUpdate = 0;
-
-	private ArrayList<BaseLocationWME> baseLocations;
-	
-	private ArrayList<ChokePointWME> chokePoints;
-	
-	int frame = 0;
-	
-	/**
-	 * Constructs a game object from the initial information sent from StarCraft.
-	 * 
-	 * The game object will not have units until update is called.
-	 */
-	public Game(String playerData, String locationData, String mapData, String chokesData, String basesData) {
-    	String[] playerDatas = playerData.split(":");    	
-    	playerID = Integer.parseInt(playerDatas[0].split(";")[1]);		
-		players = PlayerWME.getPlayers(playerData);		
-		
-		for (PlayerWME p : players) {
-			if (playerID == p.getPlayerID()) {
-				player = p;
-		    	playerRace = Race.valueOf(p.getRace()).ordinal();
-			}
-			
-			playerArray[p.getPlayerID()] = p;
-		}
-		
-		map = new MapWME(mapData);
-		startingLocations = StartingLocationWME.getLocations(locationData);		
-		baseLocations = BaseLocationWME.getLocations(basesData);		
-		chokePoints = ChokePointWME.getLocations(chokesData);		
-	}
-
-	/**
-	 * Returns the command queue.
-	 */
-	public CommandQueue getCommandQueue() {
-		return commandQueue;
-	}
-	
-	public int getGameFrame() {
-		return frame;
-	}
-
-	/**
-	 * Updates the state of the game.
-	 */
-	public void update(String updateData) {
-		frame++;
-		player.update(updateData);
-		units = UnitWME.getUnits(updateData, unitTypes, playerID, playerArray);
-		lastGameUpdate = System.currentTimeMillis();
-	}
-	
-	/**
-	 * Returns the time when the game state was last updated.
-	 */
-	public long getLastGameUpdate() {
-		return lastGameUpdate;
-	}
-	
-	/**
-	 * Returns a player object for the bot.
-	 */
-	public PlayerWME getPlayer() {
-		return player;
-	}
-	
-	/**
-	 * Returns the bots race.
-	 */
-	public int getPlayerRace() {
-		return playerRace;
-	}
-	
-	/**
-	 * Returns the Map data.
-	 */
-	public MapWME getMap() {
-		return map;
-	}
-
-	/**
-	 * Returns a map of the tech types indexed by ID.
-	 */
-	public HashMap<Integer, UnitTypeWME> getUnitTypes() {
-		return unitTypes;
-	}
-
-	/**
-	 * Returns the starting locations.
-	 */
-	public ArrayList<StartingLocationWME> getStartingLocations() {
-		return startingLocations;
-	}
-
-	/**
-	 * Gets all units
-	 */
-	public ArrayList<UnitWME> getUnits() {
-		return units;
-	}
-	
-	public ArrayList<ChokePointWME> getChokePoints() {
-		return chokePoints;
-	}
-	
-	public ArrayList<BaseLocationWME> getBaseLocations() {
-		return baseLocations;
-	}
-
-	/**
-	 * Returns a list of the bots units.
-	 */
-	public ArrayList<PlayerUnitWME> getPlayerUnits() {
-		ArrayList<PlayerUnitWME> playerUnits = new ArrayList<PlayerUnitWME>();
-		for (UnitWME unit : units) {
-			if (unit instanceof PlayerUnitWME) {
-				playerUnits.add((PlayerUnitWME)unit);
-			}
-		}
-		
-		return playerUnits;
-	}
-
-	/**
-	 * Returns a list of enemy units.
-	 */
-	public ArrayList<EnemyUnitWME> getEnemyUnits() {
-		ArrayList<EnemyUnitWME> enemyUnits = new ArrayList<EnemyUnitWME>();
-		for (UnitWME unit : units) {
-			if (unit instanceof EnemyUnitWME) {
-				enemyUnits.add((EnemyUnitWME)unit);
-			}
-		}
-		
-		return enemyUnits;
-	}
-	
-	/**
-	 * Returns a list of allied units.
-	 */
-	public ArrayList<AllyUnitWME> getAllyUnits() {
-		ArrayList<AllyUnitWME> allyUnits = new ArrayList<AllyUnitWME>();
-		for (UnitWME unit : units) {
-			if (unit instanceof AllyUnitWME) {
-				allyUnits.add((AllyUnitWME)unit);
-			}
-		}
-		
-		return allyUnits;
-	}
-
-	/**
-	 * Returns the mineral patches.
-	 */
-	public ArrayList<MineralWME> getMinerals() {
-		ArrayList<MineralWME> minerals= new ArrayList<MineralWME>();
-		for (UnitWME unit : units) {
-			if (unit instanceof MineralWME) {
-				minerals.add((MineralWME)unit);
-			}
-		}
-		
-		return minerals;
-	}
-
-	/**
-	 * Returns the list of geysers.
-	 */
-	public ArrayList<GeyserWME> getGeysers() {
-		ArrayList<GeyserWME> gas = new ArrayList<GeyserWME>();
-		for (UnitWME unit : units) {
-			if (unit instanceof GeyserWME) {
-				gas.add((GeyserWME)unit);
-			}
-		}
-		
-		return gas;
-	}
-	
-	/**
-	 * Returns the tech types.
-	 */
-	public ArrayList<TechTypeWME> getTechTypes() {
-		return techTypes;
-	}
-
-	/**
-	 * Returns the upgrade types.
-	 */
-	public ArrayList<UpgradeTypeWME> getUpgradeTypes() {
-		return upgradeTypes;
-	}
-}
+package bwapiproxy.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+
+import bwapiproxy.core.command.CommandQueue;
+import bwapiproxy.core.path.ClearanceMap;
+import bwapiproxy.core.path.DistanceFields;
+import bwapiproxy.core.path.PathCache;
+import bwapiproxy.core.path.PathFinder;
+import bwapiproxy.core.path.RegionGraph;
+import bwapiproxy.core.protocol.FrameFormat;
+import bwapiproxy.core.protocol.TextCursor;
+import bwapiproxy.core.spatial.ResourceIndex;
+import bwapiproxy.core.wmes.BaseLocationWME;
+import bwapiproxy.core.wmes.ChokePointWME;
+import bwapiproxy.core.wmes.MapWME;
+import bwapiproxy.core.wmes.PlayerWME;
+import bwapiproxy.core.wmes.StartingLocationWME;
+import bwapiproxy.core.wmes.TechTypeWME;
+import bwapiproxy.core.wmes.UnitTypeWME;
+import bwapiproxy.core.wmes.UpgradeTypeWME;
+import bwapiproxy.core.wmes.unit.AllyUnitWME;
+import bwapiproxy.core.wmes.unit.EnemyUnitWME;
+import bwapiproxy.core.wmes.unit.GeyserWME;
+import bwapiproxy.core.wmes.unit.MineralWME;
+import bwapiproxy.core.wmes.unit.PlayerUnitWME;
+import bwapiproxy.core.wmes.unit.UnitTable;
+import bwapiproxy.core.wmes.unit.UnitWME;
+import bwapiproxy.core.Constants.Race;
+/**
+ * StarCraft AI Interface.
+ * 
+ * Maintains StarCraft state and provides hooks for StarCraft commands.
+ * 
+ * The game is updated in place by the thread reading from StarCraft, so the unit getters
+ * are only consistent on that thread. Other threads (bots, the UI) should read the game 
+ * state through acquireSnapshot, which returns an immutable copy of the latest frame.
+ * 
+ * Note: all coordinates are specified in tile coordinates.
+ */
+public class Game {
+
+	/** the bots player ID */
+	private int playerID;
+
+	/** the bots race */
+	private int playerRace;
+	
+	/** player information */
+	private PlayerWME player;
+
+	/** all players */
+	private ArrayList<PlayerWME> players;
+	private PlayerWME[] playerArray = new PlayerWME[12];
+	
+	/** map information */
+	private MapWME map;
+	
+	/** a list of the starting locations */
+	private ArrayList<StartingLocationWME> startingLocations;
+
+	/** a list of the units */
+	private ArrayList<UnitWME> units;
+
+	/** the units indexed by ID, the unit objects are updated in place every frame */
+	private UnitTable unitTable;
+
+	/** the latest snapshot of the game state, published at the end of every update */
+	private AtomicReference<GameSnapshot> snapshot = new AtomicReference<GameSnapshot>();
+
+	/** snapshots that are reused once all of their readers have released them */
+	private ArrayList<GameSnapshot> snapshotPool = new ArrayList<GameSnapshot>();
+
+	/** maximum number of snapshots kept for reuse */
+	private int maxPooledSnapshots = 4;
+
+	/** the units of the current frame by category, refilled every frame */
+	private ArrayList<PlayerUnitWME> playerUnits = new ArrayList<PlayerUnitWME>();
+	private ArrayList<EnemyUnitWME> enemyUnits = new ArrayList<EnemyUnitWME>();
+	private ArrayList<AllyUnitWME> allyUnits = new ArrayList<AllyUnitWME>();
+	private ArrayList<MineralWME> minerals = new ArrayList<MineralWME>();
+	private ArrayList<GeyserWME> geysers = new ArrayList<GeyserWME>();
+
+	/** read-only views of the lists by category */
+	private List<PlayerUnitWME> playerUnitsView = Collections.unmodifiableList(playerUnits);
+	private List<EnemyUnitWME> enemyUnitsView = Collections.unmodifiableList(enemyUnits);
+	private List<AllyUnitWME> allyUnitsView = Collections.unmodifiableList(allyUnits);
+	private List<MineralWME> mineralsView = Collections.unmodifiableList(minerals);
+	private List<GeyserWME> geysersView = Collections.unmodifiableList(geysers);
+
+	/** StarCraft unit types */
+	private HashMap<Integer, UnitTypeWME> unitTypes = UnitTypeWME.getSharedUnitTypeMap();
+
+	/** list of tech types */
+	private ArrayList<TechTypeWME> techTypes = TechTypeWME.getSharedTechTypes();
+
+	/** list of upgrade types */
+	private ArrayList<UpgradeTypeWME> upgradeTypes = UpgradeTypeWME.getSharedUpgradeTypes();
+
+	/** queue of commands to execute */
+	private CommandQueue commandQueue = new CommandQueue(this);
+	
+	/** timestamp of when the game state was last changed */
+	private long lastGameUpdate = 0;
+
+	private ArrayList<BaseLocationWME> baseLocations;
+	
+	private ArrayList<ChokePointWME> chokePoints;
+
+	/** nearest neighbour index of the resources and locations */
+	private volatile ResourceIndex resourceIndex;
+
+	/** clearance of the walkable tiles, shared by the path finders */
+	private ClearanceMap clearanceMap;
+
+	/** paths found by the path finders of all threads */
+	private PathCache pathCache = new PathCache(1024);
+
+	/** regions and chokes of the map, for planning long paths */
+	private RegionGraph regionGraph;
+
+	/** ground distances from the starting locations, base locations and chokes */
+	private DistanceFields distanceFields;
+
+	/** path finders that are not in use, reused by any thread until the game ends */
+	private ConcurrentLinkedQueue<PathFinder> pathFinderPool = new ConcurrentLinkedQueue<PathFinder>();
+
+	/** maximum number of path finders kept for reuse */
+	private int maxPooledPathFinders = 4;
+
+	/** set once the game has ended, released path finders are then dropped */
+	private volatile boolean ended = false;
+	
+	int frame = 0;
+	
+	/**
+	 * Constructs a game object from the initial information sent from StarCraft.
+	 * 
+	 * The game object will not have units until update is called.
+	 */
+	public Game(String playerData, String locationData, String mapData, String chokesData, String basesData) {
+		this(playerData, locationData, mapData, null, chokesData, basesData);
+	}
+
+	/**
+	 * Constructs a game object from the initial information sent from StarCraft, including
+	 * the walk tiles of the map.
+	 * 
+	 * @param walkData - the walk tile message, or null if the client did not send it
+	 */
+	public Game(String playerData, String locationData, String mapData, String walkData, String chokesData, 
+			String basesData) {
+    	String[] playerDatas = playerData.split(":");    	
+    	playerID = Integer.parseInt(playerDatas[0].split(";")[1]);		
+		players = PlayerWME.getPlayers(playerData);		
+		
+		for (PlayerWME p : players) {
+			if (playerID == p.getPlayerID()) {
+				player = p;
+		    	playerRace = Race.valueOf(p.getRace()).ordinal();
+			}
+			
+			playerArray[p.getPlayerID()] = p;
+		}
+		
+		unitTable = new UnitTable(unitTypes, playerID, playerArray);
+		map = new MapWME(mapData, walkData);
+		startingLocations = StartingLocationWME.getLocations(locationData);		
+		baseLocations = BaseLocationWME.getLocations(basesData);		
+		chokePoints = ChokePointWME.getLocations(chokesData);		
+		resourceIndex = new ResourceIndex(baseLocations, startingLocations);
+		clearanceMap = new ClearanceMap(map.getWalkable());
+		regionGraph = new RegionGraph(map.getWalkable(), chokePoints, baseLocations);
+		distanceFields = new DistanceFields(map.getWalkable(), startingLocations, baseLocations, chokePoints);
+	}
+
+	/**
+	 * Returns the command queue.
+	 */
+	public CommandQueue getCommandQueue() {
+		return commandQueue;
+	}
+	
+	public int getGameFrame() {
+		return frame;
+	}
+
+	/**
+	 * Updates the state of the game.
+	 */
+	public void update(String updateData) {
+		update(new TextCursor(updateData));
+	}
+
+	/**
+	 * Updates the state of the game from a text update, parsed in place by the cursor.
+	 */
+	public void update(TextCursor updateData) {
+		frame++;
+		player.update(updateData);
+		
+		unitTable.beginFrame();
+		UnitWME.readUnits(updateData, unitTable);
+		units = unitTable.endFrame(true);
+		partitionUnits();
+		resourceIndex = resourceIndex.update(minerals, geysers);
+		publishSnapshot();
+		lastGameUpdate = System.currentTimeMillis();
+	}
+	
+	/**
+	 * Updates the state of the game from a binary update frame.
+	 * 
+	 * Full frames replace all of the units, while delta frames are applied to the
+	 * units of the previous frame.
+	 * 
+	 * The buffer must be positioned at the start of the frame payload, see FrameFormat.
+	 */
+	public void update(ByteBuffer updateData) {
+		byte frameType = updateData.get();
+		if (frameType != FrameFormat.FRAME_FULL && frameType != FrameFormat.FRAME_DELTA) {
+			throw new IllegalArgumentException("Unknown frame type: " + frameType);
+		}
+
+		frame++;
+		player.update(updateData);
+		
+		unitTable.beginFrame();
+		UnitWME.readUnits(updateData, unitTable);
+		
+		int destroyed = updateData.getInt();
+		for (int i=0; i<destroyed; i++) {
+			unitTable.removeUnit(updateData.getInt());
+		}
+
+		units = unitTable.endFrame(frameType == FrameFormat.FRAME_FULL);
+		partitionUnits();
+		resourceIndex = resourceIndex.update(minerals, geysers);
+		publishSnapshot();
+		lastGameUpdate = System.currentTimeMillis();
+	}
+	
+	/**
+	 * Returns the latest snapshot of the game state, or null if the game has not been 
+	 * updated yet. The snapshot must be released when it is no longer read.
+	 * 
+	 * Never blocks the thread updating the game.
+	 */
+	public GameSnapshot acquireSnapshot() {
+		while (true) {
+			GameSnapshot current = snapshot.get();
+			if (current == null || current.retain()) {
+				return current;
+			}
+		}
+	}
+
+	/**
+	 * Copies the current state into a free snapshot and makes it the current snapshot.
+	 */
+	private void publishSnapshot() {
+		GameSnapshot next = null;
+		for (GameSnapshot pooled : snapshotPool) {
+			if (pooled.isFree()) {
+				next = pooled;
+				break;
+			}
+		}
+
+		// all pooled snapshots are still being read
+		if (next == null) {
+			next = new GameSnapshot(map.getMapWidth(), map.getMapHeight());
+			if (snapshotPool.size() < maxPooledSnapshots) {
+				snapshotPool.add(next);
+			}
+		}
+
+		next.fill(frame, player, units, resourceIndex);
+		next.publish();
+
+		GameSnapshot previous = snapshot.getAndSet(next);
+		if (previous != null) {
+			previous.release();
+		}
+	}
+
+	/**
+	 * Returns the time when the game state was last updated.
+	 */
+	public long getLastGameUpdate() {
+		return lastGameUpdate;
+	}
+	
+	/**
+	 * Returns a player object for the bot.
+	 */
+	public PlayerWME getPlayer() {
+		return player;
+	}
+	
+	/**
+	 * Returns the bots race.
+	 */
+	public int getPlayerRace() {
+		return playerRace;
+	}
+	
+	/**
+	 * Returns the Map data.
+	 */
+	public MapWME getMap() {
+		return map;
+	}
+
+	/**
+	 * Returns a path finder for the calling thread to use until it releases it. Released
+	 * path finders are reused, as each keeps search arrays with a cell per tile. All path 
+	 * finders share the path cache.
+	 */
+	public PathFinder acquirePathFinder() {
+		PathFinder finder = pathFinderPool.poll();
+		return finder != null ? finder : new PathFinder(clearanceMap, pathCache, map);
+	}
+
+	/**
+	 * Returns a path finder to the pool, it must not be used afterwards.
+	 */
+	public void releasePathFinder(PathFinder finder) {
+		if (!ended && pathFinderPool.size() < maxPooledPathFinders) {
+			pathFinderPool.offer(finder);
+		}
+	}
+
+	/**
+	 * Ends the game, dropping the pooled path finders and the cached paths, so that
+	 * threads that outlive the game do not keep them.
+	 */
+	public void end() {
+		ended = true;
+		pathFinderPool.clear();
+		pathCache.clear();
+	}
+
+	/**
+	 * Returns the regions and chokes of the map. Long paths can be planned with 
+	 * getRegionGraph().findPath and refined with the path finder as the unit moves.
+	 */
+	public RegionGraph getRegionGraph() {
+		return regionGraph;
+	}
+
+	/**
+	 * Returns the ground distances from the starting locations, base locations and chokes
+	 * to every tile.
+	 */
+	public DistanceFields getDistanceFields() {
+		return distanceFields;
+	}
+
+	/**
+	 * Returns the path cache shared by the path finders.
+	 */
+	public PathCache getPathCache() {
+		return pathCache;
+	}
+
+	/**
+	 * Returns a map of the unit types indexed by ID. The map is shared by all games and
+	 * must not be modified.
+	 */
+	public HashMap<Integer, UnitTypeWME> getUnitTypes() {
+		return unitTypes;
+	}
+
+	/**
+	 * Returns the starting locations.
+	 */
+	public ArrayList<StartingLocationWME> getStartingLocations() {
+		return startingLocations;
+	}
+
+	/**
+	 * Gets all units
+	 */
+	public ArrayList<UnitWME> getUnits() {
+		return units;
+	}
+
+	/**
+	 * Returns the unit with the given ID, or null if the unit is not in the game state.
+	 */
+	public UnitWME getUnit(int unitID) {
+		return unitTable.get(unitID);
+	}
+	
+	public ArrayList<ChokePointWME> getChokePoints() {
+		return chokePoints;
+	}
+	
+	public ArrayList<BaseLocationWME> getBaseLocations() {
+		return baseLocations;
+	}
+
+	/**
+	 * Returns the nearest neighbour index of the resources and of the base and starting
+	 * locations. The index is replaced when resources appear or disappear.
+	 */
+	public ResourceIndex getResourceIndex() {
+		return resourceIndex;
+	}
+
+	/**
+	 * Returns a list of the bots units.
+	 * 
+	 * The list is read-only and is refilled by every update, other threads should read
+	 * the units of a snapshot instead.
+	 */
+	public List<PlayerUnitWME> getPlayerUnits() {
+		return playerUnitsView;
+	}
+
+	/**
+	 * Returns a list of enemy units.
+	 * 
+	 * The list is read-only and is refilled by every update, other threads should read
+	 * the units of a snapshot instead.
+	 */
+	public List<EnemyUnitWME> getEnemyUnits() {
+		return enemyUnitsView;
+	}
+	
+	/**
+	 * Returns a list of allied units.
+	 * 
+	 * The list is read-only and is refilled by every update, other threads should read
+	 * the units of a snapshot instead.
+	 */
+	public List<AllyUnitWME> getAllyUnits() {
+		return allyUnitsView;
+	}
+
+	/**
+	 * Returns the mineral patches.
+	 * 
+	 * The list is read-only and is refilled by every update, other threads should read
+	 * the units of a snapshot instead.
+	 */
+	public List<MineralWME> getMinerals() {
+		return mineralsView;
+	}
+
+	/**
+	 * Returns the list of geysers.
+	 * 
+	 * The list is read-only and is refilled by every update, other threads should read
+	 * the units of a snapshot instead.
+	 */
+	public List<GeyserWME> getGeysers() {
+		return geysersView;
+	}
+	
+	/**
+	 * Splits the units of the frame by category.
+	 * 
+	 * The lists are cleared and refilled rather than rebuilt, as they are only read by the
+	 * update thread; other threads read the units of a snapshot.
+	 */
+	private void partitionUnits() {
+		playerUnits.clear();
+		enemyUnits.clear();
+		allyUnits.clear();
+		minerals.clear();
+		geysers.clear();
+		
+		for (UnitWME unit : units) {
+			switch (unit.getCategory()) {
+				case Player:
+					playerUnits.add((PlayerUnitWME)unit);
+					break;
+				case Enemy:
+					enemyUnits.add((EnemyUnitWME)unit);
+					break;
+				case Ally:
+					allyUnits.add((AllyUnitWME)unit);
+					break;
+				case Mineral:
+					minerals.add((MineralWME)unit);
+					break;
+				case Geyser:
+					geysers.add((GeyserWME)unit);
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the tech types. The list is shared by all games and must not be modified.
+	 */
+	public ArrayList<TechTypeWME> getTechTypes() {
+		return techTypes;
+	}
+
+	/**
+	 * Returns the upgrade types. The list is shared by all games and must not be modified.
+	 */
+	public ArrayList<UpgradeTypeWME> getUpgradeTypes() {
+		return upgradeTypes;
+	}
+}
@@ -0,0 +1,260 @@
+package bwapiproxy.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import bwapiproxy.core.spatial.ResourceIndex;
+import bwapiproxy.core.spatial.UnitGrid;
+import bwapiproxy.core.util.IntHashMap;
+import bwapiproxy.core.wmes.PlayerWME;
+import bwapiproxy.core.wmes.unit.AllyUnitWME;
+import bwapiproxy.core.wmes.unit.EnemyUnitWME;
+import bwapiproxy.core.wmes.unit.GeyserWME;
+import bwapiproxy.core.wmes.unit.MineralWME;
+import bwapiproxy.core.wmes.unit.PlayerUnitWME;
+import bwapiproxy.core.wmes.unit.UnitWME;
+/**
+ * Consistent, read-only copy of the game state at a frame.
+ *
+ * Snapshots are published by Game at the end of every update, and can be read by any
+ * thread while the socket thread keeps updating the game. A snapshot must be acquired
+ * before use and released afterwards, released snapshots are reused by Game for later
+ * frames:
+ *
+ *    GameSnapshot state = game.acquireSnapshot();
+ *    try {
+ *        ...
+ *    }
+ *    finally {
+ *        state.release();
+ *    }
+ *
+ * The unit objects of a snapshot are copies and must not be kept after the snapshot
+ * is released.
+ * 
+ * Each snapshot has a UnitGrid of its units, for finding the units near a position, and
+ * the ResourceIndex of its frame, for finding the closest resources and bases.
+ */
+public class GameSnapshot {
+
+	/** number of holders: readers plus one while the snapshot is the current one */
+	private AtomicInteger references = new AtomicInteger(0);
+
+	/** the game frame of the snapshot */
+	private int frame;
+
+	/** the bot player */
+	private PlayerWME player = new PlayerWME();
+
+	/** all units */
+	private ArrayList<UnitWME> units = new ArrayList<UnitWME>();
+
+	/** units by ID */
+	private IntHashMap<UnitWME> unitMap = new IntHashMap<UnitWME>(512);
+
+	/** units by category */
+	private ArrayList<PlayerUnitWME> playerUnits = new ArrayList<PlayerUnitWME>();
+	private ArrayList<EnemyUnitWME> enemyUnits = new ArrayList<EnemyUnitWME>();
+	private ArrayList<AllyUnitWME> allyUnits = new ArrayList<AllyUnitWME>();
+	private ArrayList<MineralWME> minerals = new ArrayList<MineralWME>();
+	private ArrayList<GeyserWME> geysers = new ArrayList<GeyserWME>();
+
+	/** read-only views of the unit lists */
+	private List<UnitWME> unitsView = Collections.unmodifiableList(units);
+	private List<PlayerUnitWME> playerUnitsView = Collections.unmodifiableList(playerUnits);
+	private List<EnemyUnitWME> enemyUnitsView = Collections.unmodifiableList(enemyUnits);
+	private List<AllyUnitWME> allyUnitsView = Collections.unmodifiableList(allyUnits);
+	private List<MineralWME> mineralsView = Collections.unmodifiableList(minerals);
+	private List<GeyserWME> geysersView = Collections.unmodifiableList(geysers);
+
+	/** spatial index of the units */
+	private UnitGrid unitGrid;
+
+	/** index of the resources and locations, shared with the game */
+	private ResourceIndex resourceIndex;
+
+	/** unit copies available for reuse, by category ordinal */
+	private ArrayList<ArrayList<UnitWME>> spareUnits = new ArrayList<ArrayList<UnitWME>>();
+
+	GameSnapshot(int mapWidth, int mapHeight) {
+		unitGrid = new UnitGrid(mapWidth, mapHeight);
+
+		for (int i=0; i<UnitWME.Category.values().length; i++) {
+			spareUnits.add(new ArrayList<UnitWME>());
+		}
+	}
+
+	/**
+	 * Copies the game state into the snapshot, reusing the unit copies of the frame
+	 * the snapshot was previously used for.
+	 *
+	 * Must only be called while the snapshot is not referenced.
+	 */
+	void fill(int frame, PlayerWME player, List<UnitWME> liveUnits, ResourceIndex resourceIndex) {
+		this.frame = frame;
+		this.resourceIndex = resourceIndex;
+		this.player.copyFrom(player);
+
+		for (UnitWME unit : units) {
+			spareUnits.get(unit.getCategory().ordinal()).add(unit);
+		}
+
+		units.clear();
+		unitMap.clear();
+		playerUnits.clear();
+		enemyUnits.clear();
+		allyUnits.clear();
+		minerals.clear();
+		geysers.clear();
+
+		for (UnitWME live : liveUnits) {
+			UnitWME.Category category = live.getCategory();
+			ArrayList<UnitWME> spare = spareUnits.get(category.ordinal());
+			UnitWME unit = spare.isEmpty() ? UnitWME.newUnit(category) : spare.remove(spare.size() - 1);
+			unit.copyFrom(live);
+
+			units.add(unit);
+			unitMap.put(unit.getID(), unit);
+
+			switch (category) {
+				case Player:
+					playerUnits.add((PlayerUnitWME)unit);
+					break;
+				case Enemy:
+					enemyUnits.add((EnemyUnitWME)unit);
+					break;
+				case Ally:
+					allyUnits.add((AllyUnitWME)unit);
+					break;
+				case Mineral:
+					minerals.add((MineralWME)unit);
+					break;
+				case Geyser:
+					geysers.add((GeyserWME)unit);
+					break;
+			}
+		}
+
+		unitGrid.build(units);
+	}
+
+	/**
+	 * Makes the snapshot available to readers, holding the reference of the current snapshot.
+	 */
+	void publish() {
+		references.set(1);
+	}
+
+	/**
+	 * Returns true if the snapshot is not referenced and can be refilled.
+	 */
+	boolean isFree() {
+		return references.get() == 0;
+	}
+
+	/**
+	 * Adds a reference to the snapshot, so that it is not reused while it is read.
+	 *
+	 * Returns false if the snapshot has already been released by all of its holders,
+	 * in which case it must not be read.
+	 */
+	public boolean retain() {
+		while (true) {
+			int count = references.get();
+			if (count <= 0) {
+				return false;
+			}
+
+			if (references.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Releases a reference to the snapshot. The snapshot must not be read afterwards.
+	 */
+	public void release() {
+		references.decrementAndGet();
+	}
+
+	/**
+	 * Returns the game frame of the snapshot.
+	 */
+	public int getGameFrame() {
+		return frame;
+	}
+
+	/**
+	 * Returns the bot player.
+	 */
+	public PlayerWME getPlayer() {
+		return player;
+	}
+
+	/**
+	 * Returns all units.
+	 */
+	public List<UnitWME> getUnits() {
+		return unitsView;
+	}
+
+	/**
+	 * Returns the unit with the given ID, or null if it is not in the snapshot.
+	 */
+	public UnitWME getUnit(int unitID) {
+		return unitMap.get(unitID);
+	}
+
+	/**
+	 * Returns the spatial index of the units.
+	 */
+	public UnitGrid getUnitGrid() {
+		return unitGrid;
+	}
+
+	/**
+	 * Returns the index of the resources and of the base and starting locations. Resources
+	 * are indexed by unit ID.
+	 */
+	public ResourceIndex getResourceIndex() {
+		return resourceIndex;
+	}
+
+	/**
+	 * Returns the bots units.
+	 */
+	public List<PlayerUnitWME> getPlayerUnits() {
+		return playerUnitsView;
+	}
+
+	/**
+	 * Returns the enemy units.
+	 */
+	public List<EnemyUnitWME> getEnemyUnits() {
+		return enemyUnitsView;
+	}
+
+	/**
+	 * Returns the allied units.
+	 */
+	public List<AllyUnitWME> getAllyUnits() {
+		return allyUnitsView;
+	}
+
+	/**
+	 * Returns the mineral patches.
+	 */
+	public List<MineralWME> getMinerals() {
+		return mineralsView;
+	}
+
+	/**
+	 * Returns the geysers.
+	 */
+	public List<GeyserWME> getGeysers() {
+		return geysersView;
+	}
+}
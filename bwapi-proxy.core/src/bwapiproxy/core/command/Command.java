@@ -1,171 +1,259 @@
-package bwapiproxy.core.command;
-/**
- * Representation of a command (Order) in StarCraft. The list of commands is enumerated here:
- * http://code.google.com/p/bwapi/wiki/Orders
- * 
- * The actual function definitions are provided in Unit.h on the AIModule side:
- *    virtual bool attackMove(Position position) = 0;
- *    virtual bool attackUnit(Unit* target) = 0;
- *    virtual bool rightClick(Position position) = 0;
- *    virtual bool rightClick(Unit* target) = 0;
- *    virtual bool train(UnitType type) = 0;
- *    virtual bool build(TilePosition position, UnitType type) = 0;
- *    virtual bool buildAddon(UnitType type) = 0;
- *    virtual bool research(TechType tech) = 0;
- *    virtual bool upgrade(UpgradeType upgrade) = 0;
- *    virtual bool stop() = 0;
- *    virtual bool holdPosition() = 0;
- *    virtual bool patrol(Position position) = 0;
- *    virtual bool follow(Unit* target) = 0;
- *    virtual bool setRallyPosition(Position target) = 0;
- *    virtual bool setRallyUnit(Unit* target) = 0;
- *    virtual bool repair(Unit* target) = 0;
- *    virtual bool morph(UnitType type) = 0;
- *    virtual bool burrow() = 0;
- *    virtual bool unburrow() = 0;
- *    virtual bool siege() = 0;
- *    virtual bool unsiege() = 0;
- *    virtual bool cloak() = 0;
- *    virtual bool decloak() = 0;
- *    virtual bool lift() = 0;
- *    virtual bool land(TilePosition position) = 0;
- *    virtual bool load(Unit* target) = 0;
- *    virtual bool unload(Unit* target) = 0;
- *    virtual bool unloadAll() = 0;
- *    virtual bool unloadAll(Position position) = 0;
- *    virtual bool cancelConstruction() = 0;
- *    virtual bool haltConstruction() = 0;
- *    virtual bool cancelMorph() = 0;
- *    virtual bool cancelTrain() = 0;
- *    virtual bool cancelTrain(int slot) = 0;
- *    virtual bool cancelAddon() = 0;
- *    virtual bool cancelResearch() = 0;
- *    virtual bool cancelUpgrade() = 0;
- *    virtual bool useTech(TechType tech) = 0;
- *    virtual bool useTech(TechType tech, Position position) = 0;
- *    virtual bool useTech(TechType tech, Unit* target) = 0;
- * 
- * Utilities:
- *    setLocalSpeed
- * 
- * On the java side, the command function definitions are provided in ProxyBot.
- * 
- * In StarCraft, commands take up to 3 arguments. 
- */
-public class Command {
-
-	/** the command to execute, as defined by StarCraftCommand */
-	private int command;
-
-	/** the unit to execute the command */
-	private int unitID;
-	
-	/** the first argument */
-	private int arg0;
-	
-	/** the second argument */
-	private int arg1;
-	
-	/** the third argument */
-	private int arg2;
-
-	/**
-	 * Creates a command
-	 * 
-	 * @param command
-	 * @param unitID
-	 * @param arg0
-	 * @param arg1
-	 * @param arg2
-	 */
-	public Command(StarCraftCommand command, int unitID, int arg0, int arg1, int arg2) {
-		this.command = command.ordinal();
-		this.unitID = unitID;
-		this.arg0 = arg0;
-		this.arg1 = arg1;
-		this.arg2 = arg2;
-	}
-
-	/**
-	 * Commands (Orders) in StarCraft.
-	 */
-	public enum StarCraftCommand {
-	   none,
-	   attackMove,
-	   attackUnit,
-	   rightClick,
-	   rightClickUnit,
-	   train,
-	   build,
-	   buildAddon,
-	   research,
-	   upgrade, 
-	   stop, 
-	   holdPosition, 
-	   patrol,
-	   follow, 
-	   setRallyPosition, 
-	   setRallyUnit, 
-	   repair, 
-	   morph, 
-	   burrow, 
-	   unburrow, 
-	   siege, 
-	   unsiege, 
-	   cloak, 
-	   decloak, 
-	   lift, 
-	   land,
-	   load,
-	   unload,
-	   unloadAll, 
-	   unloadAllPosition, 
-	   cancelConstruction, 
-	   haltConstruction, 
-	   cancelMorph, 
-	   cancelTrain, 
-	   cancelTrainSlot,
-	   cancelAddon, 
-	   cancelResearch, 
-	   cancelUpgrade, 
-	   useTech, 
-	   useTechPosition, 
-	   useTechTarget, 		
-	   gameSpeed, 		
-	}	
-	
-	/**
-	 * Returns the command ID.
-	 */
-	public int getCommand() {
-		return command;
-	}
-
-	/**
-	 * Returns the ID of the unit to execute the command.
-	 */
-	public int getUnitID() {
-		return unitID;
-	}
-
-	/**
-	 * Returns the first command argument.
-	 */
-	public int getArg0() {
-		return arg0;
-	}
-
-	/**
-	 * Returns the second command argument.
-	 */
-	public int getArg1() {
-		return arg1;
-	}
-
-	/**
-	 * Returns the third command argument.
-	 */
-	public int getArg2() {
-		return arg2;
-	}	
-}
+package bwapiproxy.core.command;
+/**
+ * Representation of a command (Order) in StarCraft. The list of commands is enumerated here:
+ * http://code.google.com/p/bwapi/wiki/Orders
+ * 
+ * The actual function definitions are provided in Unit.h on the AIModule side:
+ *    virtual bool attackMove(Position position) = 0;
+ *    virtual bool attackUnit(Unit* target) = 0;
+ *    virtual bool rightClick(Position position) = 0;
+ *    virtual bool rightClick(Unit* target) = 0;
+ *    virtual bool train(UnitType type) = 0;
+ *    virtual bool build(TilePosition position, UnitType type) = 0;
+ *    virtual bool buildAddon(UnitType type) = 0;
+ *    virtual bool research(TechType tech) = 0;
+ *    virtual bool upgrade(UpgradeType upgrade) = 0;
+ *    virtual bool stop() = 0;
+ *    virtual bool holdPosition() = 0;
+ *    virtual bool patrol(Position position) = 0;
+ *    virtual bool follow(Unit* target) = 0;
+ *    virtual bool setRallyPosition(Position target) = 0;
+ *    virtual bool setRallyUnit(Unit* target) = 0;
+ *    virtual bool repair(Unit* target) = 0;
+ *    virtual bool morph(UnitType type) = 0;
+ *    virtual bool burrow() = 0;
+ *    virtual bool unburrow() = 0;
+ *    virtual bool siege() = 0;
+ *    virtual bool unsiege() = 0;
+ *    virtual bool cloak() = 0;
+ *    virtual bool decloak() = 0;
+ *    virtual bool lift() = 0;
+ *    virtual bool land(TilePosition position) = 0;
+ *    virtual bool load(Unit* target) = 0;
+ *    virtual bool unload(Unit* target) = 0;
+ *    virtual bool unloadAll() = 0;
+ *    virtual bool unloadAll(Position position) = 0;
+ *    virtual bool cancelConstruction() = 0;
+ *    virtual bool haltConstruction() = 0;
+ *    virtual bool cancelMorph() = 0;
+ *    virtual bool cancelTrain() = 0;
+ *    virtual bool cancelTrain(int slot) = 0;
+ *    virtual bool cancelAddon() = 0;
+ *    virtual bool cancelResearch() = 0;
+ *    virtual bool cancelUpgrade() = 0;
+ *    virtual bool useTech(TechType tech) = 0;
+ *    virtual bool useTech(TechType tech, Position position) = 0;
+ *    virtual bool useTech(TechType tech, Unit* target) = 0;
+ * 
+ * Utilities:
+ *    setLocalSpeed
+ * 
+ * On the java side, the command function definitions are provided in ProxyBot.
+ * 
+ * In StarCraft, commands take up to 3 arguments. 
+ */
+public class Command {
+
+	/** the command to execute, as defined by StarCraftCommand */
+	private int command;
+
+	/** the unit to execute the command */
+	private int unitID;
+	
+	/** the first argument */
+	private int arg0;
+	
+	/** the second argument */
+	private int arg1;
+	
+	/** the third argument */
+	private int arg2;
+
+	/** the next command in the CommandQueue */
+	volatile Command next;
+
+	/** the game frame in which the command was sent */
+	int sentFrame;
+
+	/** System.nanoTime() when the command was added to the CommandQueue */
+	long enqueueTime;
+
+	/** the priority class the command was scheduled in */
+	Priority priority;
+
+	/** the squad the command was scheduled in */
+	int squad;
+
+	/** the latest command for the unit, sent in the place of this one */
+	Command replacement;
+
+	/** set if a later command for the unit was scheduled in another class or squad */
+	boolean cancelled;
+
+	/** key of the commands that are neither coalesced nor dropped as duplicates */
+	static final int NO_KEY = Integer.MIN_VALUE;
+
+	/**
+	 * Commands that add to or remove from a building's production queue, or set its rally 
+	 * point, without changing the building's order. Five trains queue five units, so these
+	 * commands do not replace each other or the unit's other commands.
+	 */
+	private static boolean[] productionCommands = new boolean[StarCraftCommand.values().length];
+
+	static {
+		for (StarCraftCommand command : new StarCraftCommand[] { StarCraftCommand.train,
+				StarCraftCommand.research, StarCraftCommand.upgrade, StarCraftCommand.setRallyPosition,
+				StarCraftCommand.setRallyUnit, StarCraftCommand.cancelTrain, StarCraftCommand.cancelTrainSlot,
+				StarCraftCommand.cancelResearch, StarCraftCommand.cancelUpgrade }) {
+			productionCommands[command.ordinal()] = true;
+		}
+	}
+
+	/**
+	 * Creates a command
+	 * 
+	 * @param command
+	 * @param unitID
+	 * @param arg0
+	 * @param arg1
+	 * @param arg2
+	 */
+	public Command(StarCraftCommand command, int unitID, int arg0, int arg1, int arg2) {
+		this.command = command.ordinal();
+		this.unitID = unitID;
+		this.arg0 = arg0;
+		this.arg1 = arg1;
+		this.arg2 = arg2;
+	}
+
+	/**
+	 * Commands (Orders) in StarCraft.
+	 */
+	public enum StarCraftCommand {
+	   none,
+	   attackMove,
+	   attackUnit,
+	   rightClick,
+	   rightClickUnit,
+	   train,
+	   build,
+	   buildAddon,
+	   research,
+	   upgrade, 
+	   stop, 
+	   holdPosition, 
+	   patrol,
+	   follow, 
+	   setRallyPosition, 
+	   setRallyUnit, 
+	   repair, 
+	   morph, 
+	   burrow, 
+	   unburrow, 
+	   siege, 
+	   unsiege, 
+	   cloak, 
+	   decloak, 
+	   lift, 
+	   land,
+	   load,
+	   unload,
+	   unloadAll, 
+	   unloadAllPosition, 
+	   cancelConstruction, 
+	   haltConstruction, 
+	   cancelMorph, 
+	   cancelTrain, 
+	   cancelTrainSlot,
+	   cancelAddon, 
+	   cancelResearch, 
+	   cancelUpgrade, 
+	   useTech, 
+	   useTechPosition, 
+	   useTechTarget, 		
+	   gameSpeed, 		
+	}	
+	
+	/**
+	 * Priority classes for sending commands. When there are more commands than fit into a 
+	 * message, each class gets a share of the message proportional to its weight.
+	 */
+	public enum Priority {
+		High(8),
+		Normal(4),
+		Low(2);
+
+		/** the default weight of the class */
+		private int weight;
+
+		private Priority(int weight) {
+			this.weight = weight;
+		}
+
+		/**
+		 * Returns the default share of a message for the class.
+		 */
+		public int getDefaultWeight() {
+			return weight;
+		}
+	}
+	
+	/**
+	 * Returns the command ID.
+	 */
+	public int getCommand() {
+		return command;
+	}
+
+	/**
+	 * Returns the ID of the unit to execute the command.
+	 */
+	public int getUnitID() {
+		return unitID;
+	}
+
+	/**
+	 * Returns the first command argument.
+	 */
+	public int getArg0() {
+		return arg0;
+	}
+
+	/**
+	 * Returns the second command argument.
+	 */
+	public int getArg1() {
+		return arg1;
+	}
+
+	/**
+	 * Returns the third command argument.
+	 */
+	public int getArg2() {
+		return arg2;
+	}	
+
+	/**
+	 * Returns the key under which commands replace each other: the unit ID, -1 for the
+	 * game speed, which is the only command not issued to a unit, or NO_KEY for production
+	 * commands, which are never replaced.
+	 */
+	int getKey() {
+		if (command == StarCraftCommand.gameSpeed.ordinal()) {
+			return -1;
+		}
+
+		return productionCommands[command] ? NO_KEY : unitID;
+	}
+
+	/**
+	 * Returns true if the command has the same type, unit and arguments.
+	 */
+	public boolean isSameAs(Command other) {
+		return command == other.command
+			&& unitID == other.unitID
+			&& arg0 == other.arg0
+			&& arg1 == other.arg1
+			&& arg2 == other.arg2;
+	}
+}
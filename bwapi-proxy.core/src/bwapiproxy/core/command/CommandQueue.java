@@ -1,439 +1,982 @@
-package bwapiproxy.core.command;
-
-import java.util.ArrayList;
-
-import bwapiproxy.core.command.Command.StarCraftCommand;
-
-/**
- * Class for queueing up commands to be sent to StarCraft. This class handles the 
- * asynchronuous communication between the agent and StarCraft.
- */
-public class CommandQueue {
-	
-	/** queued up commands (orders) to send to StarCraft */
-	private ArrayList<Command> commandQueue = new ArrayList<Command>();
-
-	/** message number of commands to send to starcraft per response */
-	private int maxCommandsPerMessage = 20;
-	
-	/**
-	 * Gets the commands to execute in starcraft.
-	 */
-	public String getCommands() {
-    	StringBuffer commandData = new StringBuffer("commands");
-
-    	synchronized (commandQueue) {
-    		int commandsAdded = 0;
-    		
-    		while (commandQueue.size() > 0 && commandsAdded < maxCommandsPerMessage) {
-    			commandsAdded++;
-    			Command command = commandQueue.remove(commandQueue.size() - 1);	    			
-    			commandData.append(
-    						   ":" + command.getCommand()
-    					     + ";" + command.getUnitID()
-    					     + ";" + command.getArg0()
-    					     + ";" + command.getArg1()
-    					     + ";" + command.getArg2());
-    		}	    		
-		}
-
-    	return commandData.toString();
-	}
-	
-	/**
-	 * Adds a command to the command queue.
-	 * 
-	 * @param command - the command to execture, see the Orders enumeration
-	 * @param unitID - the unit to control
-	 * @param arg0 - the first command argument
-	 * @param arg1 - the second command argument
-	 * @param arg2 - the third command argument
-	 */
-	private void doCommand(StarCraftCommand command, int unitID, int arg0, int arg1, int arg2) {
-		synchronized (commandQueue) {
-			commandQueue.add(new Command(command, unitID, arg0, arg1, arg2));
-		}
-	}
-	
-    /**********************************************************
-     * Commands
-     *********************************************************/
-
-	/**
-	 * Tells the unit to attack move the specific location (in tile coordinates).
-	 * 
-	 * 	// virtual bool attackMove(Position position) = 0;
-	 */
-	public void attackMove(int unitID, int x, int y) { 
-		doCommand(StarCraftCommand.attackMove, unitID, x, y, 0);
-    }
-    
-	/**
-	 * Tells the unit to attack another unit.
-	 * 
-	 * 	// virtual bool attackUnit(Unit* target) = 0;
-	 */
-    public void attackUnit(int unitID, int targetID) { 
-		doCommand(StarCraftCommand.attackUnit, unitID, targetID, 0, 0);
-    }
-
-    /**
-     * Tells the unit to right click (move) to the specified location (in tile coordinates).
-     * 
-     * 	// virtual bool rightClick(Position position) = 0;
-     */
-    public void rightClick(int unitID, int x, int y) { 
-		doCommand(StarCraftCommand.rightClick, unitID, x, y, 0);
-    }
-
-    /**
-     * Tells the unit to right click (move) on the specified target unit 
-     * (Includes resources).
-     * 
-     * 	// virtual bool rightClick(Unit* target) = 0;
-     */
-    public void rightClick(int unitID, int targetID) { 
-		doCommand(StarCraftCommand.rightClickUnit, unitID, targetID, 0, 0);
-    }
-
-    /**
-     * Tells the building to train the specified unit type.
-     * 
-     * 	// virtual bool train(UnitType type) = 0;
-     */
-    public void train(int unitID, int typeID) { 
-		doCommand(StarCraftCommand.train, unitID, typeID, 0, 0);
-    }
-
-    /**
-     * Tells a worker unit to construct a building at the specified location.
-     * 
-     * 	// virtual bool build(TilePosition position, UnitType type) = 0;
-     */
-    public void build(int unitID, int tx, int ty, int typeID) { 
-		doCommand(StarCraftCommand.build, unitID, tx, ty, typeID);
-    }
-
-    /**
-     * Tells the building to build the specified add on.
-     * 
-     * 	// virtual bool buildAddon(UnitType type) = 0;
-     */
-    public void buildAddon(int unitID, int typeID) { 
-		doCommand(StarCraftCommand.buildAddon, unitID, typeID, 0, 0);
-    }
-
-    /**
-     * Tells the building to research the specified tech type.
-     * 
-     * 	// virtual bool research(TechType tech) = 0;
-     */
-    public void research(int unitID, int techTypeID) { 
-		doCommand(StarCraftCommand.research, unitID, techTypeID, 0, 0);
-    }
-    
-    /**
-     * Tells the building to upgrade the specified upgrade type.
-     * 
-     * 	// virtual bool upgrade(UpgradeType upgrade) = 0;
-     */
-    public void upgrade(int unitID, int upgradeTypeID) { 
-		doCommand(StarCraftCommand.upgrade, unitID, upgradeTypeID, 0, 0);
-    }
-    
-    /**
-     * Orders the unit to stop moving. The unit will chase enemies that enter its vision.
-     * 
-     * 	// virtual bool stop() = 0;
-     */
-    public void stop(int unitID) {
-		doCommand(StarCraftCommand.stop, unitID, 0, 0, 0);
-    }
-
-    /**
-     * Orders the unit to hold position. The unit will not chase enemies that enter its vision.
-     * 
-     * 	// virtual bool holdPosition() = 0;
-     */
-    public void holdPosition(int unitID) {
-		doCommand(StarCraftCommand.holdPosition, unitID, 0, 0, 0);
-    }
-
-    /**
-     * Orders the unit to patrol between its current location and the specified location.
-     * 
-     * 	// virtual bool patrol(Position position) = 0;
-     */
-    public void patrol(int unitID, int x, int y) { 
-		doCommand(StarCraftCommand.patrol, unitID, x, y, 0);
-    }
-    
-    /**
-     * Orders a unit to follow a target unit.
-     * 
-     * 	// virtual bool follow(Unit* target) = 0;
-     */
-    public void follow(int unitID, int targetID) { 
-		doCommand(StarCraftCommand.follow, unitID, targetID, 0, 0);
-    }
-
-    /**
-     * Sets the rally location for a building. 
-     * 
-     * 	// virtual bool setRallyPosition(Position target) = 0;
-     */
-    public void setRallyPosition(int unitID, int x, int y) { 
-		doCommand(StarCraftCommand.setRallyPosition, unitID, x, y, 0);
-    }
-
-    /**
-     * Sets the rally location for a building based on the target unit's current position.
-     * 
-     * 	// virtual bool setRallyUnit(Unit* target) = 0;
-     */
-    public void setRallyUnit(int unitID, int targetID) { 
-		doCommand(StarCraftCommand.setRallyUnit, unitID, targetID, 0, 0);
-    }
-
-    /**
-     * Instructs an SCV to repair a target unit.
-     * 
-     * 	// virtual bool repair(Unit* target) = 0;
-     */
-    public void repair(int unitID, int targetID) {
-		doCommand(StarCraftCommand.repair, unitID, targetID, 0, 0);
-    }
-
-    /**
-     * Orders a zerg unit to morph to a different unit type.
-     * 
-     * 	// virtual bool morph(UnitType type) = 0;
-     */
-    public void morph(int unitID, int typeID) {
-		doCommand(StarCraftCommand.morph, unitID, typeID, 0, 0);
-    }
-
-    /**
-     * Tells a zerg unit to burrow. Burrow must be upgraded for non-lurker units.
-     * 
-     * 	// virtual bool burrow() = 0;
-     */
-    public void burrow(int unitID) {
-		doCommand(StarCraftCommand.burrow, unitID, 0, 0, 0);
-    }
-    
-    /**
-     * Tells a burrowed unit to unburrow.
-     * 
-     * 	// virtual bool unburrow() = 0;
-     */
-    public void unburrow(int unitID) {
-		doCommand(StarCraftCommand.unburrow, unitID, 0, 0, 0);
-    }
-    
-    /**
-     * Orders a siege tank to siege.
-     * 
-     * 	// virtual bool siege() = 0;
-     */
-    public void siege(int unitID) {
-		doCommand(StarCraftCommand.siege, unitID, 0, 0, 0);
-    }
-
-    /** 
-     * Orders a siege tank to un-siege.
-     * 
-     * 	// virtual bool unsiege() = 0;
-     */
-    public void unsiege(int unitID) {
-		doCommand(StarCraftCommand.unsiege, unitID, 0, 0, 0);
-    }
-
-    /**
-     * Tells a unit to cloak. Works for ghost and wraiths. 
-     * 
-     * 	// virtual bool cloak() = 0;
-     */
-    public void cloak(int unitID) {
-		doCommand(StarCraftCommand.cloak, unitID, 0, 0, 0);
-    }
-    
-    /**
-     * Tells a unit to decloak, works for ghosts and wraiths.
-     * 
-     * 	// virtual bool decloak() = 0;
-     */
-    public void decloak(int unitID) {
-		doCommand(StarCraftCommand.decloak, unitID, 0, 0, 0);
-    }
-
-    /** 
-     * Commands a Terran building to lift off.
-     * 
-     * 	// virtual bool lift() = 0;
-     */
-    public void lift(int unitID) {
-		doCommand(StarCraftCommand.lift, unitID, 0, 0, 0);
-    }
-
-    /**
-     * Commands a terran building to land at the specified location.
-     * 
-     * 	// virtual bool land(TilePosition position) = 0;
-     */
-    public void land(int unitID, int tx, int ty) {
-		doCommand(StarCraftCommand.land, unitID, tx, ty, 0);
-    }
-    
-    /**
-     * Orders the transport unit to load the target unit.
-     * 
-     * 	// virtual bool load(Unit* target) = 0;
-     */
-    public void load(int unitID, int targetID) { 
-		doCommand(StarCraftCommand.load, unitID, targetID, 0, 0);
-    }
-
-    /**
-     * Orders a transport unit to unload the target unit at the current transport location.
-     * 
-     * 	// virtual bool unload(Unit* target) = 0;
-     */
-    public void unload(int unitID, int targetID) { 
-		doCommand(StarCraftCommand.unload, unitID, targetID, 0, 0);
-    }
-
-    /**
-     * Orders a transport to unload all units at the current location.
-     * 
-     * 	// virtual bool unloadAll() = 0;
-     */
-    public void unloadAll(int unitID) {
-		doCommand(StarCraftCommand.unloadAll, unitID, 0, 0, 0);
-    }
-
-    /**
-     * Orders a unit to unload all units at the target location.
-     * 
-     * 	// virtual bool unloadAll(Position position) = 0;
-     */
-    public void unloadAll(int unitID, int x, int y) { 
-		doCommand(StarCraftCommand.unloadAllPosition, unitID, x, y, 0);
-    }
-    
-    /**
-     * Orders a being to stop being constructed.
-     * 
-     * 	// virtual bool cancelConstruction() = 0;
-     */
-    public void cancelConstruction(int unitID) {
-		doCommand(StarCraftCommand.cancelConstruction, unitID, 0, 0, 0);
-    }
-
-    /**
-     * Tells an scv to pause construction on a building.
-     * 
-     *	// virtual bool haltConstruction() = 0;
-     */
-    public void haltConstruction(int unitID) {
-		doCommand(StarCraftCommand.haltConstruction, unitID, 0, 0, 0);
-    }
-    
-    /**
-     * Orders a zerg unit to stop morphing.
-     * 
-     * 	// virtual bool cancelMorph() = 0;
-     */
-    public void cancelMorph(int unitID) {
-		doCommand(StarCraftCommand.cancelMorph, unitID, 0, 0, 0);
-    }
-    
-    /** 
-     * Tells a building to remove the last unit from its training queue.
-     * 
-     * 	// virtual bool cancelTrain() = 0;
-     */
-    public void cancelTrain(int unitID) {
-		doCommand(StarCraftCommand.cancelTrain, unitID, 0, 0, 0);
-    }
-    
-    /**
-     * Tells a building to remove a specific unit from its queue.
-     * 
-     * 	// virtual bool cancelTrain(int slot) = 0;
-     */
-    public void cancelTrain(int unitID, int slot) { 
-		doCommand(StarCraftCommand.cancelTrainSlot, unitID, slot, 0, 0);
-    }
-    
-    /**
-     * Orders a Terran building to stop constructing an add on.
-     * 
-     * 	// virtual bool cancelAddon() = 0;
-     */
-    public void cancelAddon(int unitID) {
-		doCommand(StarCraftCommand.cancelAddon, unitID, 0, 0, 0);
-    }
-    
-    /***
-     * Tells a building cancel a research in progress. 
-     * 
-     * 	// virtual bool cancelResearch() = 0;
-     */
-    public void cancelResearch(int unitID) { 
-		doCommand(StarCraftCommand.cancelResearch, unitID, 0, 0, 0);
-    }
-    
-    /***
-     * Tells a building cancel an upgrade  in progress. 
-     * 
-     * 	// virtual bool cancelUpgrade() = 0;
-     */
-    public void cancelUpgrade(int unitID) { 
-		doCommand(StarCraftCommand.cancelUpgrade, unitID, 0, 0, 0);
-    }
-    
-    /**
-     * Tells the unit to use the specified tech, (i.e. STEM PACKS)
-     * 
-     *  // virtual bool useTech(TechType tech) = 0;
-     */
-    public void useTech(int unitID, int techTypeID) { 
-		doCommand(StarCraftCommand.useTech, unitID, techTypeID, 0, 0);
-    }
-    
-    /**
-     * Tells the unit to use tech at the target location.
-     * 
-     * Note: for AOE spells such as plague.
-     * 
-     *  // virtual bool useTech(TechType tech, Position position) = 0;
-     */
-    public void useTech(int unitID, int techTypeID, int x, int y) { 
-		doCommand(StarCraftCommand.useTechPosition, unitID, techTypeID, x, y);
-    }
-
-    /**
-     * Tells the unit to use tech on the target unit.
-     * 
-     * Note: for targeted spells such as irradiate.
-     * 
-     *  // virtual bool useTech(TechType tech, Unit* target) = 0;
-     */
-    public void useTech(int unitID, int techTypeID, int targetID) { 
-		doCommand(StarCraftCommand.useTechTarget, unitID, techTypeID, targetID, 0);
-    }	
-    
-    /**********************************************************
-     * Utilities
-     *********************************************************/
-
-	/**
-	 * Sets the game speed
-	 * 
-	 * 0 = 16xfastest
-	 */
-	public void setGameSpeed(int speed) { 
-		doCommand(StarCraftCommand.gameSpeed, speed, 0, 0, 0);
-    }
-}
+package bwapiproxy.core.command;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import bwapiproxy.core.Constants.Order;
+import bwapiproxy.core.Game;
+import bwapiproxy.core.command.Command.Priority;
+import bwapiproxy.core.command.Command.StarCraftCommand;
+import bwapiproxy.core.protocol.CommandEncoder;
+import bwapiproxy.core.protocol.FrameFormat;
+import bwapiproxy.core.util.IntHashMap;
+import bwapiproxy.core.wmes.unit.UnitWME;
+
+/**
+ * Class for queueing up commands to be sent to StarCraft. This class handles the 
+ * asynchronuous communication between the agent and StarCraft.
+ * 
+ * Commands can be added by any number of threads and are sent in the order they were
+ * added. The queue is lock-free: adding a command is a single atomic swap, so bot threads
+ * never wait for each other or for the thread sending the commands. getCommands must only
+ * be called by a single thread, the thread communicating with StarCraft.
+ * 
+ * The queue is linked through the commands themselves (Vyukov's multi-producer single-consumer
+ * queue). The head is a command that has already been sent, or the initial stub.
+ * 
+ * Commands that would not change anything are not sent:
+ *  - coalescing: a new command for a unit replaces the unit's command that is still waiting
+ *    to be sent, keeping its place in the queue. Production commands such as train are
+ *    queued by StarCraft and are never replaced.
+ *  - redundant orders: commands that the order of the unit shows it is already executing,
+ *    e.g. sieging a tank that is in siege mode
+ *  - duplicates: commands identical to the last command sent to the unit within the
+ *    duplicate window, which gives StarCraft time to show the order. The window counts
+ *    game frames, or responses for a queue without a game.
+ * 
+ * When more commands are waiting than fit into a message, the commands are picked by
+ * priority class and squad. Each class gets a share of the message proportional to its 
+ * weight, unused shares go to the other classes. Within a class, squads take turns, each
+ * squad sending up to its weight in commands per turn. The priority of a command depends 
+ * on its type and can be overridden per unit, units are in squad 0 unless assigned to 
+ * another squad.
+ */
+public class CommandQueue {
+	
+	/** the last command added, producers link new commands after it */
+	private AtomicReference<Command> tail;
+
+	/** the last command taken off the queue, only accessed by the consumer */
+	private Command head;
+
+	/** number of commands added */
+	private AtomicLong enqueued = new AtomicLong();
+
+	/** number of commands sent */
+	private AtomicLong drained = new AtomicLong();
+
+	/** number of commands replaced by a later command for the same unit */
+	private AtomicLong coalesced = new AtomicLong();
+
+	/** number of redundant and duplicate commands that were not sent */
+	private AtomicLong dropped = new AtomicLong();
+
+	/** message number of commands to send to starcraft per response */
+	private int maxCommandsPerMessage = FrameFormat.MAX_COMMANDS;
+
+	/** writes the responses */
+	private CommandEncoder encoder = new CommandEncoder();
+
+	/** the command that did not fit into the last response */
+	private Command overflow;
+
+	/** the game the commands are for, or null */
+	private Game game;
+
+	/** commands taken off the queue and waiting to be sent, by priority class */
+	private PriorityLane[] lanes = new PriorityLane[Priority.values().length];
+
+	/** the waiting command of each unit, by coalescing key */
+	private IntHashMap<Command> pendingByUnit = new IntHashMap<Command>(256);
+
+	/** the priority class of each command type */
+	private Priority[] commandPriorities = new Priority[StarCraftCommand.values().length];
+
+	/** priority classes overridden per unit, by unit ID */
+	private ConcurrentHashMap<Integer, Priority> unitPriorities = new ConcurrentHashMap<Integer, Priority>();
+
+	/** squads of the units, by unit ID */
+	private ConcurrentHashMap<Integer, Integer> unitSquads = new ConcurrentHashMap<Integer, Integer>();
+
+	/** weights of the squads, by squad ID */
+	private ConcurrentHashMap<Integer, Integer> squadWeights = new ConcurrentHashMap<Integer, Integer>();
+
+	/** the last command sent to each unit, by coalescing key */
+	private IntHashMap<Command> lastSent = new IntHashMap<Command>(256);
+
+	/** number of responses written, the frame of a queue without a game */
+	private int responses = 0;
+
+	/** frame in which old entries were last removed from lastSent */
+	private int lastPruneFrame = 0;
+
+	/** whether a new command for a unit replaces its pending command */
+	private boolean coalescing = true;
+
+	/** whether commands the unit is already executing are dropped */
+	private boolean suppressRedundantOrders = true;
+
+	/** number of frames in which a command identical to the last one sent is dropped, 0 to disable */
+	private int duplicateWindow = 8;
+
+	/** 
+	 * Orders showing that a unit already executes a command, indexed by command and order.
+	 * Commands with a target do not appear here, as the order does not show the target. 
+	 */
+	private static boolean[][] redundantOrders = new boolean[StarCraftCommand.values().length][Order.values().length];
+
+	static {
+		redundant(StarCraftCommand.stop, Order.Stop, Order.PlayerGuard);
+		redundant(StarCraftCommand.holdPosition, Order.HoldPosition1, Order.HoldPosition2, Order.HoldPosition3, 
+				Order.HoldPosition4, Order.MedicHoldPosition);
+		redundant(StarCraftCommand.burrow, Order.Burrow, Order.Burrowed);
+		redundant(StarCraftCommand.unburrow, Order.Unburrow);
+		redundant(StarCraftCommand.siege, Order.SiegeMode);
+		redundant(StarCraftCommand.unsiege, Order.TankMode);
+		redundant(StarCraftCommand.cloak, Order.Cloak);
+		redundant(StarCraftCommand.decloak, Order.Decloak);
+		redundant(StarCraftCommand.lift, Order.BuildingLiftoff, Order.Liftoff);
+	}
+
+	private static void redundant(StarCraftCommand command, Order... orders) {
+		for (Order order : orders) {
+			redundantOrders[command.ordinal()][order.ordinal()] = true;
+		}
+	}
+
+	/**
+	 * Creates a queue without a game, commands are not checked against unit orders.
+	 */
+	public CommandQueue() {
+		head = new Command(StarCraftCommand.none, 0, 0, 0, 0);
+		tail = new AtomicReference<Command>(head);
+
+		for (Priority priority : Priority.values()) {
+			lanes[priority.ordinal()] = new PriorityLane(priority.getDefaultWeight());
+		}
+
+		// micro and unit abilities are urgent, production can wait
+		for (StarCraftCommand command : StarCraftCommand.values()) {
+			commandPriorities[command.ordinal()] = Priority.Normal;
+		}
+
+		for (StarCraftCommand command : new StarCraftCommand[] { StarCraftCommand.gameSpeed, 
+				StarCraftCommand.attackMove, StarCraftCommand.attackUnit, StarCraftCommand.stop, 
+				StarCraftCommand.holdPosition, StarCraftCommand.burrow, StarCraftCommand.unburrow, 
+				StarCraftCommand.siege, StarCraftCommand.unsiege, StarCraftCommand.cloak, 
+				StarCraftCommand.decloak, StarCraftCommand.load, StarCraftCommand.unload, 
+				StarCraftCommand.unloadAll, StarCraftCommand.unloadAllPosition, StarCraftCommand.useTech, 
+				StarCraftCommand.useTechPosition, StarCraftCommand.useTechTarget }) {
+			commandPriorities[command.ordinal()] = Priority.High;
+		}
+
+		for (StarCraftCommand command : new StarCraftCommand[] { StarCraftCommand.train, 
+				StarCraftCommand.build, StarCraftCommand.buildAddon, StarCraftCommand.research, 
+				StarCraftCommand.upgrade, StarCraftCommand.morph, StarCraftCommand.setRallyPosition, 
+				StarCraftCommand.setRallyUnit, StarCraftCommand.cancelConstruction, 
+				StarCraftCommand.haltConstruction, StarCraftCommand.cancelMorph, StarCraftCommand.cancelTrain, 
+				StarCraftCommand.cancelTrainSlot, StarCraftCommand.cancelAddon, StarCraftCommand.cancelResearch, 
+				StarCraftCommand.cancelUpgrade }) {
+			commandPriorities[command.ordinal()] = Priority.Low;
+		}
+	}
+
+	/**
+	 * Creates a queue for the game, whose units are used to drop redundant commands.
+	 */
+	public CommandQueue(Game game) {
+		this();
+		this.game = game;
+	}
+	
+	/**
+	 * Gets the commands to execute in starcraft, as a String. See encodeCommands.
+	 */
+	public String getCommands() {
+		ByteBuffer commandData = encodeCommands();
+		return new String(commandData.array(), 0, commandData.limit(), Charset.forName("US-ASCII"));
+	}
+
+	/**
+	 * Writes the commands to execute in starcraft into a response, and returns the response.
+	 * The buffer is reused, and is only valid until the next call.
+	 * 
+	 * The response holds as many commands as fit into the ClientModule's buffer, up to the
+	 * per message limit. Commands that do not fit stay queued for the next response.
+	 * 
+	 * Must only be called by the thread communicating with StarCraft, after the game has
+	 * been updated.
+	 */
+	public ByteBuffer encodeCommands() {
+		responses++;
+		int frame = game != null ? game.getGameFrame() : responses;
+		long now = System.nanoTime();
+		boolean more = true;
+		boolean full = false;
+
+		collect();
+		encoder.begin();
+
+		// the command that did not fit into the previous response goes first
+		if (overflow != null) {
+			Command command = overflow;
+			overflow = null;
+			full = !send(command, frame, now);
+		}
+
+		// each class sends up to its weight per round, until the response is full
+		while (more && !full && encoder.getCommandCount() < maxCommandsPerMessage) {
+			more = false;
+
+			for (PriorityLane lane : lanes) {
+				for (int i=0; i<lane.getWeight() && !full && encoder.getCommandCount() < maxCommandsPerMessage; i++) {
+					Command command = next(lane, frame);
+					if (command == null) {
+						break;
+					}
+
+					full = !send(command, frame, now);
+					more = true;
+				}
+			}
+		}
+
+		pruneSent(frame);
+		return encoder.finish();
+	}
+
+	/**
+	 * Adds a command to the response, returns false if the response is full, in which case
+	 * the command is kept for the next response.
+	 */
+	private boolean send(Command command, int frame, long now) {
+		if (!encoder.add(command.getCommand(), command.getUnitID(), command.getArg0(), command.getArg1(), command.getArg2())) {
+			overflow = command;
+			return false;
+		}
+
+		drained.incrementAndGet();
+		lanes[command.priority.ordinal()].recordSent(now - command.enqueueTime);
+		command.sentFrame = frame;
+
+		if (command.getKey() != Command.NO_KEY) {
+			lastSent.put(command.getKey(), command);
+		}
+		return true;
+	}
+
+	/**
+	 * Sets the maximum number of commands per response, at most FrameFormat.MAX_COMMANDS.
+	 */
+	public void setMaxCommandsPerMessage(int maxCommands) {
+		this.maxCommandsPerMessage = Math.min(maxCommands, FrameFormat.MAX_COMMANDS);
+	}
+
+	/**
+	 * Adds a command to the end of the queue. Can be called by any thread, a command
+	 * object must only be added once.
+	 */
+	public void add(Command command) {
+		command.next = null;
+		command.enqueueTime = System.nanoTime();
+		enqueued.incrementAndGet();
+
+		// the swap orders the producers, the previous command is then linked to the new one
+		Command previous = tail.getAndSet(command);
+		previous.next = command;
+	}
+
+	/**
+	 * Removes and returns the oldest command, or null if there is none.
+	 * 
+	 * A command that is being added by another thread may not be visible yet, in which
+	 * case it is returned by a later call.
+	 */
+	private Command poll() {
+		Command next = head.next;
+		if (next == null) {
+			return null;
+		}
+
+		// the returned command becomes the new head, it is not read by the queue again
+		head = next;
+		return next;
+	}
+
+	/**
+	 * Moves the commands from the queue to their priority classes. If coalescing, a command
+	 * replaces the waiting command of its unit, in place if it has the same class and squad.
+	 * Production commands are always added.
+	 */
+	private void collect() {
+		Command command;
+		while ((command = poll()) != null) {
+			int key = command.getKey();
+			command.priority = getPriority(command);
+			command.squad = getSquad(command.getUnitID());
+
+			if (key == Command.NO_KEY) {
+				lanes[command.priority.ordinal()].add(command, command.squad, getSquadWeight(command.squad));
+				continue;
+			}
+
+			Command previous = coalescing ? pendingByUnit.get(key) : null;
+			if (previous != null) {
+				coalesced.incrementAndGet();
+
+				if (previous.priority == command.priority && previous.squad == command.squad) {
+					previous.replacement = command;
+					continue;
+				}
+
+				previous.cancelled = true;
+			}
+
+			lanes[command.priority.ordinal()].add(command, command.squad, getSquadWeight(command.squad));
+			pendingByUnit.put(key, command);
+		}
+	}
+
+	/**
+	 * Returns the next command of the class to send, skipping replaced, duplicate and
+	 * redundant commands, or null if the class has no more commands.
+	 * 
+	 * A replaced command is sent as its latest replacement, with the time it was queued.
+	 */
+	private Command next(PriorityLane lane, int frame) {
+		Command queued;
+		while ((queued = lane.poll()) != null) {
+			if (queued.cancelled) {
+				continue;
+			}
+
+			int key = queued.getKey();
+			if (pendingByUnit.get(key) == queued) {
+				pendingByUnit.remove(key);
+			}
+
+			Command command = queued;
+			if (queued.replacement != null) {
+				command = queued.replacement;
+				command.enqueueTime = queued.enqueueTime;
+			}
+
+			if (isDuplicate(command, key, frame) || isRedundant(command)) {
+				dropped.incrementAndGet();
+				continue;
+			}
+
+			return command;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the priority class of the command, overridden for its unit or for its type.
+	 */
+	private Priority getPriority(Command command) {
+		if (!unitPriorities.isEmpty() && command.getCommand() != StarCraftCommand.gameSpeed.ordinal()) {
+			Priority priority = unitPriorities.get(command.getUnitID());
+			if (priority != null) {
+				return priority;
+			}
+		}
+
+		return commandPriorities[command.getCommand()];
+	}
+
+	private int getSquad(int unitID) {
+		if (unitSquads.isEmpty()) {
+			return 0;
+		}
+
+		Integer squad = unitSquads.get(unitID);
+		return squad != null ? squad : 0;
+	}
+
+	private int getSquadWeight(int squad) {
+		if (squadWeights.isEmpty()) {
+			return 1;
+		}
+
+		Integer weight = squadWeights.get(squad);
+		return weight != null ? weight : 1;
+	}
+
+	/**
+	 * Returns true if the command is identical to the last one sent to the unit, within
+	 * the duplicate window. Production commands are never duplicates.
+	 */
+	private boolean isDuplicate(Command command, int key, int frame) {
+		if (key == Command.NO_KEY) {
+			return false;
+		}
+
+		Command last = lastSent.get(key);
+		return last != null 
+			&& frame - last.sentFrame < duplicateWindow
+			&& command.isSameAs(last);
+	}
+
+	/**
+	 * Returns true if the order of the unit shows that it is already executing the command.
+	 */
+	private boolean isRedundant(Command command) {
+		if (!suppressRedundantOrders || game == null || command.getCommand() == StarCraftCommand.gameSpeed.ordinal()) {
+			return false;
+		}
+
+		UnitWME unit = game.getUnit(command.getUnitID());
+		if (unit == null || unit.getOrder() < 0 || unit.getOrder() >= Order.values().length) {
+			return false;
+		}
+
+		return redundantOrders[command.getCommand()][unit.getOrder()];
+	}
+
+	/**
+	 * Removes the commands sent before the duplicate window from lastSent, so that it
+	 * does not keep units that have left the game.
+	 */
+	private void pruneSent(int frame) {
+		if (frame - lastPruneFrame < 256) {
+			return;
+		}
+
+		lastPruneFrame = frame;
+		int[] expired = new int[lastSent.size()];
+		int count = 0;
+
+		for (int slot=0; slot<lastSent.getCapacity(); slot++) {
+			Command command = lastSent.getValueAt(slot);
+			if (command != null && frame - command.sentFrame >= duplicateWindow) {
+				expired[count++] = lastSent.getKeyAt(slot);
+			}
+		}
+
+		for (int i=0; i<count; i++) {
+			lastSent.remove(expired[i]);
+		}
+	}
+
+	/**
+	 * Sets the priority class of a command type.
+	 */
+	public void setPriority(StarCraftCommand command, Priority priority) {
+		commandPriorities[command.ordinal()] = priority;
+	}
+
+	/**
+	 * Sets the priority class of the commands for a unit, overriding the class of the command 
+	 * type. null removes the override. Applies to commands added afterwards.
+	 */
+	public void setUnitPriority(int unitID, Priority priority) {
+		if (priority == null) {
+			unitPriorities.remove(unitID);
+		}
+		else {
+			unitPriorities.put(unitID, priority);
+		}
+	}
+
+	/**
+	 * Sets the share of a message for a priority class, the defaults are given by Priority.
+	 * 
+	 * Must be called by the thread sending the commands, or before the game starts.
+	 */
+	public void setPriorityWeight(Priority priority, int weight) {
+		lanes[priority.ordinal()].setWeight(weight);
+	}
+
+	/**
+	 * Assigns a unit to a squad, squad 0 removes the assignment. Applies to commands added 
+	 * afterwards.
+	 */
+	public void setSquad(int unitID, int squad) {
+		if (squad == 0) {
+			unitSquads.remove(unitID);
+		}
+		else {
+			unitSquads.put(unitID, squad);
+		}
+	}
+
+	/**
+	 * Sets the number of commands a squad sends per turn, 1 by default.
+	 */
+	public void setSquadWeight(int squad, int weight) {
+		squadWeights.put(squad, weight);
+	}
+
+	/**
+	 * Sets whether a new command for a unit replaces the unit's pending command.
+	 */
+	public void setCoalescing(boolean coalescing) {
+		this.coalescing = coalescing;
+	}
+
+	/**
+	 * Sets whether commands that the unit's order shows it is executing are dropped.
+	 */
+	public void setSuppressRedundantOrders(boolean suppress) {
+		this.suppressRedundantOrders = suppress;
+	}
+
+	/**
+	 * Sets the number of frames in which a command identical to the last one sent to the
+	 * unit is dropped, 0 to send duplicates.
+	 */
+	public void setDuplicateWindow(int frames) {
+		this.duplicateWindow = frames;
+	}
+
+	/**
+	 * Returns the number of commands added since the queue was created.
+	 */
+	public long getEnqueuedCount() {
+		return enqueued.get();
+	}
+
+	/**
+	 * Returns the number of commands sent since the queue was created.
+	 */
+	public long getDrainedCount() {
+		return drained.get();
+	}
+
+	/**
+	 * Returns the number of commands that were replaced by a later command for the same unit.
+	 */
+	public long getCoalescedCount() {
+		return coalesced.get();
+	}
+
+	/**
+	 * Returns the number of redundant or duplicate commands that were not sent.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Returns the number of commands of the priority class that were sent.
+	 */
+	public long getSentCount(Priority priority) {
+		return lanes[priority.ordinal()].getSentCount();
+	}
+
+	/**
+	 * Returns the average time between adding and sending the commands of the priority class, 
+	 * in microseconds. Coalesced commands count from when the first command for the unit
+	 * was added.
+	 */
+	public double getAverageQueueDelay(Priority priority) {
+		PriorityLane lane = lanes[priority.ordinal()];
+		long sent = lane.getSentCount();
+		return sent > 0 ? lane.getTotalDelay() / 1000.0 / sent : 0;
+	}
+
+	/**
+	 * Returns the longest time between adding and sending a command of the priority class, 
+	 * in microseconds.
+	 */
+	public double getMaxQueueDelay(Priority priority) {
+		return lanes[priority.ordinal()].getMaxDelay() / 1000.0;
+	}
+
+	/**
+	 * Returns the number of commands waiting to be sent.
+	 */
+	public long getPendingCount() {
+		return Math.max(0, enqueued.get() - drained.get() - coalesced.get() - dropped.get());
+	}
+	
+	/**
+	 * Adds a command to the command queue.
+	 * 
+	 * @param command - the command to execture, see the Orders enumeration
+	 * @param unitID - the unit to control
+	 * @param arg0 - the first command argument
+	 * @param arg1 - the second command argument
+	 * @param arg2 - the third command argument
+	 */
+	private void doCommand(StarCraftCommand command, int unitID, int arg0, int arg1, int arg2) {
+		add(new Command(command, unitID, arg0, arg1, arg2));
+	}
+	
+    /**********************************************************
+     * Commands
+     *********************************************************/
+
+	/**
+	 * Tells the unit to attack move the specific location (in tile coordinates).
+	 * 
+	 * 	// virtual bool attackMove(Position position) = 0;
+	 */
+	public void attackMove(int unitID, int x, int y) { 
+		doCommand(StarCraftCommand.attackMove, unitID, x, y, 0);
+    }
+    
+	/**
+	 * Tells the unit to attack another unit.
+	 * 
+	 * 	// virtual bool attackUnit(Unit* target) = 0;
+	 */
+    public void attackUnit(int unitID, int targetID) { 
+		doCommand(StarCraftCommand.attackUnit, unitID, targetID, 0, 0);
+    }
+
+    /**
+     * Tells the unit to right click (move) to the specified location (in tile coordinates).
+     * 
+     * 	// virtual bool rightClick(Position position) = 0;
+     */
+    public void rightClick(int unitID, int x, int y) { 
+		doCommand(StarCraftCommand.rightClick, unitID, x, y, 0);
+    }
+
+    /**
+     * Tells the unit to right click (move) on the specified target unit 
+     * (Includes resources).
+     * 
+     * 	// virtual bool rightClick(Unit* target) = 0;
+     */
+    public void rightClick(int unitID, int targetID) { 
+		doCommand(StarCraftCommand.rightClickUnit, unitID, targetID, 0, 0);
+    }
+
+    /**
+     * Tells the building to train the specified unit type.
+     * 
+     * 	// virtual bool train(UnitType type) = 0;
+     */
+    public void train(int unitID, int typeID) { 
+		doCommand(StarCraftCommand.train, unitID, typeID, 0, 0);
+    }
+
+    /**
+     * Tells a worker unit to construct a building at the specified location.
+     * 
+     * 	// virtual bool build(TilePosition position, UnitType type) = 0;
+     */
+    public void build(int unitID, int tx, int ty, int typeID) { 
+		doCommand(StarCraftCommand.build, unitID, tx, ty, typeID);
+    }
+
+    /**
+     * Tells the building to build the specified add on.
+     * 
+     * 	// virtual bool buildAddon(UnitType type) = 0;
+     */
+    public void buildAddon(int unitID, int typeID) { 
+		doCommand(StarCraftCommand.buildAddon, unitID, typeID, 0, 0);
+    }
+
+    /**
+     * Tells the building to research the specified tech type.
+     * 
+     * 	// virtual bool research(TechType tech) = 0;
+     */
+    public void research(int unitID, int techTypeID) { 
+		doCommand(StarCraftCommand.research, unitID, techTypeID, 0, 0);
+    }
+    
+    /**
+     * Tells the building to upgrade the specified upgrade type.
+     * 
+     * 	// virtual bool upgrade(UpgradeType upgrade) = 0;
+     */
+    public void upgrade(int unitID, int upgradeTypeID) { 
+		doCommand(StarCraftCommand.upgrade, unitID, upgradeTypeID, 0, 0);
+    }
+    
+    /**
+     * Orders the unit to stop moving. The unit will chase enemies that enter its vision.
+     * 
+     * 	// virtual bool stop() = 0;
+     */
+    public void stop(int unitID) {
+		doCommand(StarCraftCommand.stop, unitID, 0, 0, 0);
+    }
+
+    /**
+     * Orders the unit to hold position. The unit will not chase enemies that enter its vision.
+     * 
+     * 	// virtual bool holdPosition() = 0;
+     */
+    public void holdPosition(int unitID) {
+		doCommand(StarCraftCommand.holdPosition, unitID, 0, 0, 0);
+    }
+
+    /**
+     * Orders the unit to patrol between its current location and the specified location.
+     * 
+     * 	// virtual bool patrol(Position position) = 0;
+     */
+    public void patrol(int unitID, int x, int y) { 
+		doCommand(StarCraftCommand.patrol, unitID, x, y, 0);
+    }
+    
+    /**
+     * Orders a unit to follow a target unit.
+     * 
+     * 	// virtual bool follow(Unit* target) = 0;
+     */
+    public void follow(int unitID, int targetID) { 
+		doCommand(StarCraftCommand.follow, unitID, targetID, 0, 0);
+    }
+
+    /**
+     * Sets the rally location for a building. 
+     * 
+     * 	// virtual bool setRallyPosition(Position target) = 0;
+     */
+    public void setRallyPosition(int unitID, int x, int y) { 
+		doCommand(StarCraftCommand.setRallyPosition, unitID, x, y, 0);
+    }
+
+    /**
+     * Sets the rally location for a building based on the target unit's current position.
+     * 
+     * 	// virtual bool setRallyUnit(Unit* target) = 0;
+     */
+    public void setRallyUnit(int unitID, int targetID) { 
+		doCommand(StarCraftCommand.setRallyUnit, unitID, targetID, 0, 0);
+    }
+
+    /**
+     * Instructs an SCV to repair a target unit.
+     * 
+     * 	// virtual bool repair(Unit* target) = 0;
+     */
+    public void repair(int unitID, int targetID) {
+		doCommand(StarCraftCommand.repair, unitID, targetID, 0, 0);
+    }
+
+    /**
+     * Orders a zerg unit to morph to a different unit type.
+     * 
+     * 	// virtual bool morph(UnitType type) = 0;
+     */
+    public void morph(int unitID, int typeID) {
+		doCommand(StarCraftCommand.morph, unitID, typeID, 0, 0);
+    }
+
+    /**
+     * Tells a zerg unit to burrow. Burrow must be upgraded for non-lurker units.
+     * 
+     * 	// virtual bool burrow() = 0;
+     */
+    public void burrow(int unitID) {
+		doCommand(StarCraftCommand.burrow, unitID, 0, 0, 0);
+    }
+    
+    /**
+     * Tells a burrowed unit to unburrow.
+     * 
+     * 	// virtual bool unburrow() = 0;
+     */
+    public void unburrow(int unitID) {
+		doCommand(StarCraftCommand.unburrow, unitID, 0, 0, 0);
+    }
+    
+    /**
+     * Orders a siege tank to siege.
+     * 
+     * 	// virtual bool siege() = 0;
+     */
+    public void siege(int unitID) {
+		doCommand(StarCraftCommand.siege, unitID, 0, 0, 0);
+    }
+
+    /** 
+     * Orders a siege tank to un-siege.
+     * 
+     * 	// virtual bool unsiege() = 0;
+     */
+    public void unsiege(int unitID) {
+		doCommand(StarCraftCommand.unsiege, unitID, 0, 0, 0);
+    }
+
+    /**
+     * Tells a unit to cloak. Works for ghost and wraiths. 
+     * 
+     * 	// virtual bool cloak() = 0;
+     */
+    public void cloak(int unitID) {
+		doCommand(StarCraftCommand.cloak, unitID, 0, 0, 0);
+    }
+    
+    /**
+     * Tells a unit to decloak, works for ghosts and wraiths.
+     * 
+     * 	// virtual bool decloak() = 0;
+     */
+    public void decloak(int unitID) {
+		doCommand(StarCraftCommand.decloak, unitID, 0, 0, 0);
+    }
+
+    /** 
+     * Commands a Terran building to lift off.
+     * 
+     * 	// virtual bool lift() = 0;
+     */
+    public void lift(int unitID) {
+		doCommand(StarCraftCommand.lift, unitID, 0, 0, 0);
+    }
+
+    /**
+     * Commands a terran building to land at the specified location.
+     * 
+     * 	// virtual bool land(TilePosition position) = 0;
+     */
+    public void land(int unitID, int tx, int ty) {
+		doCommand(StarCraftCommand.land, unitID, tx, ty, 0);
+    }
+    
+    /**
+     * Orders the transport unit to load the target unit.
+     * 
+     * 	// virtual bool load(Unit* target) = 0;
+     */
+    public void load(int unitID, int targetID) { 
+		doCommand(StarCraftCommand.load, unitID, targetID, 0, 0);
+    }
+
+    /**
+     * Orders a transport unit to unload the target unit at the current transport location.
+     * 
+     * 	// virtual bool unload(Unit* target) = 0;
+     */
+    public void unload(int unitID, int targetID) { 
+		doCommand(StarCraftCommand.unload, unitID, targetID, 0, 0);
+    }
+
+    /**
+     * Orders a transport to unload all units at the current location.
+     * 
+     * 	// virtual bool unloadAll() = 0;
+     */
+    public void unloadAll(int unitID) {
+		doCommand(StarCraftCommand.unloadAll, unitID, 0, 0, 0);
+    }
+
+    /**
+     * Orders a unit to unload all units at the target location.
+     * 
+     * 	// virtual bool unloadAll(Position position) = 0;
+     */
+    public void unloadAll(int unitID, int x, int y) { 
+		doCommand(StarCraftCommand.unloadAllPosition, unitID, x, y, 0);
+    }
+    
+    /**
+     * Orders a being to stop being constructed.
+     * 
+     * 	// virtual bool cancelConstruction() = 0;
+     */
+    public void cancelConstruction(int unitID) {
+		doCommand(StarCraftCommand.cancelConstruction, unitID, 0, 0, 0);
+    }
+
+    /**
+     * Tells an scv to pause construction on a building.
+     * 
+     *	// virtual bool haltConstruction() = 0;
+     */
+    public void haltConstruction(int unitID) {
+		doCommand(StarCraftCommand.haltConstruction, unitID, 0, 0, 0);
+    }
+    
+    /**
+     * Orders a zerg unit to stop morphing.
+     * 
+     * 	// virtual bool cancelMorph() = 0;
+     */
+    public void cancelMorph(int unitID) {
+		doCommand(StarCraftCommand.cancelMorph, unitID, 0, 0, 0);
+    }
+    
+    /** 
+     * Tells a building to remove the last unit from its training queue.
+     * 
+     * 	// virtual bool cancelTrain() = 0;
+     */
+    public void cancelTrain(int unitID) {
+		doCommand(StarCraftCommand.cancelTrain, unitID, 0, 0, 0);
+    }
+    
+    /**
+     * Tells a building to remove a specific unit from its queue.
+     * 
+     * 	// virtual bool cancelTrain(int slot) = 0;
+     */
+    public void cancelTrain(int unitID, int slot) { 
+		doCommand(StarCraftCommand.cancelTrainSlot, unitID, slot, 0, 0);
+    }
+    
+    /**
+     * Orders a Terran building to stop constructing an add on.
+     * 
+     * 	// virtual bool cancelAddon() = 0;
+     */
+    public void cancelAddon(int unitID) {
+		doCommand(StarCraftCommand.cancelAddon, unitID, 0, 0, 0);
+    }
+    
+    /***
+     * Tells a building cancel a research in progress. 
+     * 
+     * 	// virtual bool cancelResearch() = 0;
+     */
+    public void cancelResearch(int unitID) { 
+		doCommand(StarCraftCommand.cancelResearch, unitID, 0, 0, 0);
+    }
+    
+    /***
+     * Tells a building cancel an upgrade  in progress. 
+     * 
+     * 	// virtual bool cancelUpgrade() = 0;
+     */
+    public void cancelUpgrade(int unitID) { 
+		doCommand(StarCraftCommand.cancelUpgrade, unitID, 0, 0, 0);
+    }
+    
+    /**
+     * Tells the unit to use the specified tech, (i.e. STEM PACKS)
+     * 
+     *  // virtual bool useTech(TechType tech) = 0;
+     */
+    public void useTech(int unitID, int techTypeID) { 
+		doCommand(StarCraftCommand.useTech, unitID, techTypeID, 0, 0);
+    }
+    
+    /**
+     * Tells the unit to use tech at the target location.
+     * 
+     * Note: for AOE spells such as plague.
+     * 
+     *  // virtual bool useTech(TechType tech, Position position) = 0;
+     */
+    public void useTech(int unitID, int techTypeID, int x, int y) { 
+		doCommand(StarCraftCommand.useTechPosition, unitID, techTypeID, x, y);
+    }
+
+    /**
+     * Tells the unit to use tech on the target unit.
+     * 
+     * Note: for targeted spells such as irradiate.
+     * 
+     *  // virtual bool useTech(TechType tech, Unit* target) = 0;
+     */
+    public void useTech(int unitID, int techTypeID, int targetID) { 
+		doCommand(StarCraftCommand.useTechTarget, unitID, techTypeID, targetID, 0);
+    }	
+    
+    /**********************************************************
+     * Utilities
+     *********************************************************/
+
+	/**
+	 * Sets the game speed
+	 * 
+	 * 0 = 16xfastest
+	 */
+	public void setGameSpeed(int speed) { 
+		doCommand(StarCraftCommand.gameSpeed, speed, 0, 0, 0);
+    }
+}
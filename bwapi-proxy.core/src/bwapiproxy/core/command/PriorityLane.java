@@ -0,0 +1,140 @@
+package bwapiproxy.core.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import bwapiproxy.core.util.IntHashMap;
+/**
+ * The waiting commands of a priority class, kept in a FIFO queue per squad.
+ * 
+ * Commands are taken from the squads in weighted round-robin order: each squad in turn
+ * gives up to its weight in commands, so that a large squad cannot hold back the others.
+ * 
+ * Only accessed by the thread sending the commands, except for the statistics.
+ */
+class PriorityLane {
+
+	/**
+	 * The waiting commands of a squad.
+	 */
+	private static class Squad {
+
+		/** commands in the order they were added */
+		private ArrayDeque<Command> commands = new ArrayDeque<Command>();
+
+		/** number of commands taken from the squad per turn */
+		private int weight = 1;
+
+		/** whether the squad is in the round-robin list */
+		private boolean active = false;
+	}
+
+	/** share of a message for the class */
+	private int weight;
+
+	/** squads by ID */
+	private IntHashMap<Squad> squads = new IntHashMap<Squad>();
+
+	/** squads with waiting commands, in round-robin order */
+	private ArrayList<Squad> active = new ArrayList<Squad>();
+
+	/** index of the squad whose turn it is */
+	private int cursor = 0;
+
+	/** number of commands taken from the current squad in its turn */
+	private int taken = 0;
+
+	/** number of commands sent */
+	private AtomicLong sent = new AtomicLong();
+
+	/** total and longest time between adding and sending the commands, in nanoseconds */
+	private AtomicLong totalDelay = new AtomicLong();
+	private AtomicLong maxDelay = new AtomicLong();
+
+	PriorityLane(int weight) {
+		this.weight = weight;
+	}
+
+	int getWeight() {
+		return weight;
+	}
+
+	void setWeight(int weight) {
+		this.weight = Math.max(1, weight);
+	}
+
+	/**
+	 * Adds a command to the end of the squad's queue.
+	 */
+	void add(Command command, int squadID, int squadWeight) {
+		Squad squad = squads.get(squadID);
+		if (squad == null) {
+			squad = new Squad();
+			squads.put(squadID, squad);
+		}
+
+		squad.weight = Math.max(1, squadWeight);
+		squad.commands.add(command);
+
+		if (!squad.active) {
+			squad.active = true;
+			active.add(squad);
+		}
+	}
+
+	/**
+	 * Removes and returns the next command in round-robin order, or null if there is none.
+	 */
+	Command poll() {
+		while (!active.isEmpty()) {
+			if (cursor >= active.size()) {
+				cursor = 0;
+				taken = 0;
+			}
+
+			Squad squad = active.get(cursor);
+			Command command = squad.commands.poll();
+
+			if (squad.commands.isEmpty()) {
+				squad.active = false;
+				active.remove(cursor);
+				taken = 0;
+			}
+			else if (++taken >= squad.weight) {
+				cursor++;
+				taken = 0;
+			}
+
+			if (command != null) {
+				return command;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Records that a command of the class was sent after waiting for the given time.
+	 */
+	void recordSent(long delay) {
+		sent.incrementAndGet();
+		totalDelay.addAndGet(delay);
+
+		if (delay > maxDelay.get()) {
+			maxDelay.set(delay);
+		}
+	}
+
+	long getSentCount() {
+		return sent.get();
+	}
+
+	long getTotalDelay() {
+		return totalDelay.get();
+	}
+
+	long getMaxDelay() {
+		return maxDelay.get();
+	}
+}
@@ -0,0 +1,100 @@
+package bwapiproxy.core.path;
+
+import bwapiproxy.core.util.BitGrid;
+/**
+ * Clearance of each tile of a map: the size of the largest walkable square whose top
+ * left tile is the tile. A unit of size s (in tiles) can stand on a tile if the
+ * clearance of the tile is at least s, so a single map serves units of every size.
+ *
+ * Clearances are computed from the bottom right corner of the map with
+ * c(x, y) = 1 + min(c(x+1, y), c(x, y+1), c(x+1, y+1)) for walkable tiles, and are
+ * capped at MAX_CLEARANCE.
+ */
+public class ClearanceMap {
+
+	/** largest clearance stored, larger units are treated as this size */
+	public static final int MAX_CLEARANCE = 16;
+
+	private int width;
+	private int height;
+
+	/** clearance per tile, row by row */
+	private byte[] clearance;
+
+	/**
+	 * Computes the clearances of a walkable grid.
+	 */
+	public ClearanceMap(BitGrid walkable) {
+		width = walkable.getWidth();
+		height = walkable.getHeight();
+		clearance = new byte[width * height];
+
+		update(walkable, 0, 0, width, height);
+	}
+
+	/**
+	 * Recomputes the clearances after the tiles of the rectangle changed in the walkable
+	 * grid. The tiles above and left of the rectangle depend on it, so they are computed
+	 * again as well.
+	 *
+	 * The clearances are written in place, and the path finders of Game share this map
+	 * without locking, so no path finder may search during an update: every path finder
+	 * acquired from Game must have been released first. Paths cached before the update
+	 * may cross the changed tiles, so the caller must clear the PathCache afterwards
+	 * (Game.getPathCache().clear()).
+	 */
+	public void update(BitGrid walkable, int x, int y, int w, int h) {
+		int x0 = Math.max(0, x - MAX_CLEARANCE);
+		int y0 = Math.max(0, y - MAX_CLEARANCE);
+		int x1 = Math.min(width, x + w);
+		int y1 = Math.min(height, y + h);
+
+		for (int ty=y1-1; ty>=y0; ty--) {
+			for (int tx=x1-1; tx>=x0; tx--) {
+				int value = 0;
+
+				if (walkable.get(tx, ty)) {
+					int right = getClearance(tx + 1, ty);
+					int down = getClearance(tx, ty + 1);
+					int diagonal = getClearance(tx + 1, ty + 1);
+					value = Math.min(MAX_CLEARANCE, 1 + Math.min(right, Math.min(down, diagonal)));
+				}
+
+				clearance[ty * width + tx] = (byte)value;
+			}
+		}
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the clearance of the tile, 0 for blocked tiles and tiles off the map.
+	 */
+	public int getClearance(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return 0;
+		}
+
+		return clearance[y * width + x];
+	}
+
+	/**
+	 * Returns true if a unit of the given size can stand on the tile.
+	 */
+	public boolean isPassable(int x, int y, int size) {
+		return getClearance(x, y) >= Math.min(size, MAX_CLEARANCE);
+	}
+
+	/**
+	 * Returns the clearance of a tile by index (y * width + x), the tile must be on the map.
+	 */
+	int get(int index) {
+		return clearance[index];
+	}
+}
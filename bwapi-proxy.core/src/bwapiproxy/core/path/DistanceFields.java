@@ -0,0 +1,299 @@
+package bwapiproxy.core.path;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import bwapiproxy.core.util.BitGrid;
+import bwapiproxy.core.util.IntBucketQueue;
+import bwapiproxy.core.wmes.BaseLocationWME;
+import bwapiproxy.core.wmes.ChokePointWME;
+import bwapiproxy.core.wmes.StartingLocationWME;
+/**
+ * Ground distances from every starting location, base location and chokepoint to every
+ * tile of the map, so that "how far is this tile from my base" is an array read.
+ *
+ * Each location has a field with a cell per tile, computed with a Dijkstra search over
+ * the walkable tiles with the costs of PathFinder. Distances are stored in tenths of
+ * a tile in a char[], the unsigned 16 bit type, so a field of a 256x256 map takes 128 KB.
+ * Distances over 6553 tiles are stored as MAX_DISTANCE, and tiles that cannot be reached
+ * as UNREACHABLE.
+ *
+ * The fields are computed in parallel on a fork-join pool when the game starts, and are
+ * never modified afterwards, so they can be read by any thread.
+ */
+public class DistanceFields {
+
+	/**
+	 * The kinds of locations that have fields.
+	 */
+	public enum Source {
+		StartingLocation,
+		BaseLocation,
+		ChokePoint
+	}
+
+	/** stored distance of tiles that cannot be reached */
+	public static final char UNREACHABLE = 0xFFFF;
+
+	/** largest stored distance, in tenths of a tile */
+	public static final char MAX_DISTANCE = 0xFFFE;
+
+	/** pool computing the fields of all games */
+	private static final ForkJoinPool pool = new ForkJoinPool();
+
+	private int width;
+	private int height;
+
+	/** the fields of each kind of source, by index of the location */
+	private char[][][] fields = new char[Source.values().length][][];
+
+	/**
+	 * Computes the fields of the locations, returning once all fields are computed.
+	 */
+	public DistanceFields(BitGrid walkable, List<StartingLocationWME> starts, List<BaseLocationWME> bases,
+			List<ChokePointWME> chokes) {
+		this.width = walkable.getWidth();
+		this.height = walkable.getHeight();
+
+		int count = starts.size() + bases.size() + chokes.size();
+		int[] xs = new int[count];
+		int[] ys = new int[count];
+		int next = 0;
+
+		for (StartingLocationWME start : starts) {
+			xs[next] = start.getX();
+			ys[next++] = start.getY();
+		}
+
+		for (BaseLocationWME base : bases) {
+			xs[next] = base.getX();
+			ys[next++] = base.getY();
+		}
+
+		for (ChokePointWME choke : chokes) {
+			xs[next] = choke.getX();
+			ys[next++] = choke.getY();
+		}
+
+		// the tasks read the walkable tiles a byte per tile, which is faster than the bit grid
+		boolean[] passable = new boolean[width * height];
+		for (int y=0; y<height; y++) {
+			for (int x=0; x<width; x++) {
+				passable[y * width + x] = walkable.get(x, y);
+			}
+		}
+
+		char[][] computed = new char[count][];
+		pool.invoke(new FieldTask(passable, width, height, xs, ys, computed, 0, count));
+
+		fields[Source.StartingLocation.ordinal()] = copy(computed, 0, starts.size());
+		fields[Source.BaseLocation.ordinal()] = copy(computed, starts.size(), bases.size());
+		fields[Source.ChokePoint.ordinal()] = copy(computed, starts.size() + bases.size(), chokes.size());
+	}
+
+	/**
+	 * Returns the number of fields of a kind of location.
+	 */
+	public int getFieldCount(Source source) {
+		return fields[source.ordinal()].length;
+	}
+
+	/**
+	 * Returns the ground distance in tiles from a location to the tile, by index of the
+	 * location in the Game list of its kind, or Double.POSITIVE_INFINITY if the tile cannot
+	 * be reached.
+	 */
+	public double getDistance(Source source, int index, int x, int y) {
+		char distance = getStoredDistance(source, index, x, y);
+		return distance == UNREACHABLE ? Double.POSITIVE_INFINITY : distance / 10.0;
+	}
+
+	/**
+	 * Returns the stored distance from a location to the tile, in tenths of a tile, or
+	 * UNREACHABLE, also for tiles off the map.
+	 */
+	public char getStoredDistance(Source source, int index, int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return UNREACHABLE;
+		}
+
+		return fields[source.ordinal()][index][y * width + x];
+	}
+
+	/**
+	 * Returns the index of the closest location of a kind to the tile by ground, or -1
+	 * if none can be reached.
+	 */
+	public int getClosest(Source source, int x, int y) {
+		int closest = -1;
+		char best = UNREACHABLE;
+
+		for (int i=0; i<getFieldCount(source); i++) {
+			char distance = getStoredDistance(source, i, x, y);
+			if (distance < best) {
+				best = distance;
+				closest = i;
+			}
+		}
+
+		return closest;
+	}
+
+	/**
+	 * Returns a field, with a cell per tile row by row. Must not be modified.
+	 */
+	public char[] getField(Source source, int index) {
+		return fields[source.ordinal()][index];
+	}
+
+	private static char[][] copy(char[][] computed, int from, int count) {
+		char[][] result = new char[count][];
+		System.arraycopy(computed, from, result, 0, count);
+		return result;
+	}
+
+	/**
+	 * Computes the fields of a range of locations, splitting the range until a task has a
+	 * single location.
+	 */
+	private static class FieldTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private boolean[] passable;
+		private int width;
+		private int height;
+		private int[] xs;
+		private int[] ys;
+		private char[][] fields;
+		private int from;
+		private int to;
+
+		FieldTask(boolean[] passable, int width, int height, int[] xs, int[] ys, char[][] fields, int from, int to) {
+			this.passable = passable;
+			this.width = width;
+			this.height = height;
+			this.xs = xs;
+			this.ys = ys;
+			this.fields = fields;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void compute() {
+			if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new FieldTask(passable, width, height, xs, ys, fields, from, middle),
+						new FieldTask(passable, width, height, xs, ys, fields, middle, to));
+			}
+			else if (to > from) {
+				fields[from] = computeField(passable, width, height, xs[from], ys[from]);
+			}
+		}
+	}
+
+	/**
+	 * Runs a Dijkstra search from the location over the walkable tiles. A location on a
+	 * tile that is not walkable, such as the center of a choke next to a cliff, starts
+	 * from the closest walkable tile.
+	 *
+	 * @param passable - the walkable tiles, row by row
+	 */
+	static char[] computeField(boolean[] passable, int width, int height, int sourceX, int sourceY) {
+		int[] cost = new int[width * height];
+		char[] field = new char[width * height];
+
+		for (int i=0; i<cost.length; i++) {
+			cost[i] = Integer.MAX_VALUE;
+			field[i] = UNREACHABLE;
+		}
+
+		int start = findWalkable(passable, width, height, sourceX, sourceY);
+		if (start < 0) {
+			return field;
+		}
+
+		IntBucketQueue open = new IntBucketQueue(14);
+		cost[start] = 0;
+		open.add(start, 0);
+
+		while (!open.isEmpty()) {
+			int tile = open.poll();
+
+			// a copy added before the tile's cost improved
+			if (field[tile] != UNREACHABLE) {
+				continue;
+			}
+
+			int g = cost[tile];
+			field[tile] = (char)Math.min(g, MAX_DISTANCE);
+
+			int x = tile % width;
+			boolean left = x > 0 && passable[tile - 1];
+			boolean right = x < width - 1 && passable[tile + 1];
+			boolean up = tile >= width && passable[tile - width];
+			boolean down = tile + width < passable.length && passable[tile + width];
+
+			if (left) {
+				relax(tile - 1, g + 10, cost, open);
+			}
+
+			if (right) {
+				relax(tile + 1, g + 10, cost, open);
+			}
+
+			if (up) {
+				relax(tile - width, g + 10, cost, open);
+
+				// diagonal steps may not cut the corner of a blocked tile
+				if (left && passable[tile - width - 1]) {
+					relax(tile - width - 1, g + 14, cost, open);
+				}
+
+				if (right && passable[tile - width + 1]) {
+					relax(tile - width + 1, g + 14, cost, open);
+				}
+			}
+
+			if (down) {
+				relax(tile + width, g + 10, cost, open);
+
+				if (left && passable[tile + width - 1]) {
+					relax(tile + width - 1, g + 14, cost, open);
+				}
+
+				if (right && passable[tile + width + 1]) {
+					relax(tile + width + 1, g + 14, cost, open);
+				}
+			}
+		}
+
+		return field;
+	}
+
+	private static void relax(int tile, int g, int[] cost, IntBucketQueue open) {
+		if (g < cost[tile]) {
+			cost[tile] = g;
+			open.add(tile, g);
+		}
+	}
+
+	/**
+	 * Returns the closest walkable tile to the position within a few tiles, or -1.
+	 */
+	private static int findWalkable(boolean[] passable, int width, int height, int x, int y) {
+		for (int radius=0; radius<=4; radius++) {
+			for (int ty=y-radius; ty<=y+radius; ty++) {
+				for (int tx=x-radius; tx<=x+radius; tx++) {
+					boolean ring = Math.max(Math.abs(tx - x), Math.abs(ty - y)) == radius;
+					if (ring && tx >= 0 && ty >= 0 && tx < width && ty < height && passable[ty * width + tx]) {
+						return ty * width + tx;
+					}
+				}
+			}
+		}
+
+		return -1;
+	}
+}
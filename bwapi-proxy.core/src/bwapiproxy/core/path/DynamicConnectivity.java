@@ -0,0 +1,251 @@
+package bwapiproxy.core.path;
+
+import bwapiproxy.core.util.FloodFill;
+import bwapiproxy.core.wmes.MapWME;
+/**
+ * Connected components of the walkable tiles of a map while buildings block some of them,
+ * for bots that need to know whether a wall-in closes a path.
+ *
+ * Each walkable tile has a label, and labels are the elements of a union-find structure,
+ * so two tiles are connected if their labels have the same root. Unblocking tiles only
+ * merges components: the tiles get new labels that are united with the labels of their
+ * neighbours, which takes near constant time per tile. Blocking tiles may split a
+ * component, which union-find cannot undo, so the tiles next to the blocked rectangle
+ * are flood filled again with new labels, in time proportional to the size of the
+ * components around the rectangle.
+ *
+ * Tiles count the buildings on them, so buildings that overlap can be removed in any order.
+ *
+ * Not thread safe, a connectivity is updated and read by the thread tracking the buildings.
+ */
+public class DynamicConnectivity {
+
+	private MapWME map;
+
+	private int width;
+	private int height;
+
+	/** label of each tile, -1 for tiles that are blocked or not walkable */
+	private int[] labels;
+
+	/** number of buildings blocking each tile */
+	private short[] blockers;
+
+	/** union-find parent of each label */
+	private int[] parents;
+
+	/** number of labels used */
+	private int labelCount = 0;
+
+	/** relabels the components around blocked tiles */
+	private FloodFill floodFill;
+
+	/**
+	 * Starts with the connected components of the map, without buildings.
+	 */
+	public DynamicConnectivity(MapWME map) {
+		this.map = map;
+		this.width = map.getMapWidth();
+		this.height = map.getMapHeight();
+
+		labels = new int[width * height];
+		blockers = new short[width * height];
+		floodFill = new FloodFill(width, height);
+		parents = new int[Math.max(16, map.getComponentCount() * 2)];
+
+		for (int y=0; y<height; y++) {
+			for (int x=0; x<width; x++) {
+				labels[y * width + x] = map.getComponent(x, y);
+			}
+		}
+
+		labelCount = map.getComponentCount();
+		for (int i=0; i<labelCount; i++) {
+			parents[i] = i;
+		}
+	}
+
+	/**
+	 * Returns true if there is a ground path between the tiles avoiding the blocked tiles.
+	 */
+	public boolean isReachable(int ax, int ay, int bx, int by) {
+		int component = getComponent(ax, ay);
+		return component >= 0 && component == getComponent(bx, by);
+	}
+
+	/**
+	 * Returns the component of the tile, or -1 if the tile is blocked, not walkable or not
+	 * on the map. Component numbers change when tiles are blocked or unblocked.
+	 */
+	public int getComponent(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return -1;
+		}
+
+		int label = labels[y * width + x];
+		return label >= 0 ? find(label) : -1;
+	}
+
+	/**
+	 * Returns true if a building blocks the tile.
+	 */
+	public boolean isBlocked(int x, int y) {
+		return blockers[y * width + x] > 0;
+	}
+
+	/**
+	 * Blocks the tiles of a building.
+	 */
+	public void block(int x, int y, int w, int h) {
+		int x0 = Math.max(0, x);
+		int y0 = Math.max(0, y);
+		int x1 = Math.min(width, x + w);
+		int y1 = Math.min(height, y + h);
+		boolean changed = false;
+
+		for (int ty=y0; ty<y1; ty++) {
+			for (int tx=x0; tx<x1; tx++) {
+				int tile = ty * width + tx;
+				if (blockers[tile]++ == 0 && labels[tile] >= 0) {
+					labels[tile] = -1;
+					changed = true;
+				}
+			}
+		}
+
+		if (!changed) {
+			return;
+		}
+
+		// the components around the building may have been split, fill them again. The
+		// labels given by the fills are new, so tiles with older labels are not filled yet
+		int firstNew = labelCount;
+		for (int ty=y0-1; ty<=y1; ty++) {
+			for (int tx=x0-1; tx<=x1; tx++) {
+				boolean border = ty == y0 - 1 || ty == y1 || tx == x0 - 1 || tx == x1;
+				if (border && tx >= 0 && ty >= 0 && tx < width && ty < height) {
+					int tile = ty * width + tx;
+
+					if (labels[tile] >= 0 && labels[tile] < firstNew) {
+						floodFill.fill(labels, tile, 0, firstNew - 1, newLabel());
+					}
+				}
+			}
+		}
+
+		compactIfNeeded();
+	}
+
+	/**
+	 * Removes a building, unblocking the tiles that no other building blocks.
+	 */
+	public void unblock(int x, int y, int w, int h) {
+		int x0 = Math.max(0, x);
+		int y0 = Math.max(0, y);
+		int x1 = Math.min(width, x + w);
+		int y1 = Math.min(height, y + h);
+
+		for (int ty=y0; ty<y1; ty++) {
+			for (int tx=x0; tx<x1; tx++) {
+				int tile = ty * width + tx;
+				if (blockers[tile] == 0 || --blockers[tile] > 0 || !map.isWalkable(tx, ty)) {
+					continue;
+				}
+
+				int label = newLabel();
+				labels[tile] = label;
+
+				if (tx > 0) {
+					union(label, labels[tile - 1]);
+				}
+
+				if (tx < width - 1) {
+					union(label, labels[tile + 1]);
+				}
+
+				if (ty > 0) {
+					union(label, labels[tile - width]);
+				}
+
+				if (ty < height - 1) {
+					union(label, labels[tile + width]);
+				}
+			}
+		}
+
+		compactIfNeeded();
+	}
+
+	private int newLabel() {
+		if (labelCount == parents.length) {
+			int[] newParents = new int[parents.length * 2];
+			System.arraycopy(parents, 0, newParents, 0, labelCount);
+			parents = newParents;
+		}
+
+		parents[labelCount] = labelCount;
+		return labelCount++;
+	}
+
+	/**
+	 * Returns the root of a label, halving the path to it.
+	 */
+	private int find(int label) {
+		while (parents[label] != label) {
+			parents[label] = parents[parents[label]];
+			label = parents[label];
+		}
+
+		return label;
+	}
+
+	private void union(int label, int other) {
+		if (other < 0) {
+			return;
+		}
+
+		int root = find(label);
+		int otherRoot = find(other);
+
+		// keep the older root, so that most tiles stay one step from their root
+		if (root < otherRoot) {
+			parents[otherRoot] = root;
+		}
+		else if (otherRoot < root) {
+			parents[root] = otherRoot;
+		}
+	}
+
+	/**
+	 * Relabels every tile with its root once most labels are no longer used, so that the
+	 * union-find arrays do not grow during a long game.
+	 */
+	private void compactIfNeeded() {
+		if (labelCount < labels.length) {
+			return;
+		}
+
+		int[] roots = new int[labelCount];
+		for (int i=0; i<labelCount; i++) {
+			roots[i] = -1;
+		}
+
+		int count = 0;
+		for (int tile=0; tile<labels.length; tile++) {
+			if (labels[tile] >= 0) {
+				int root = find(labels[tile]);
+				if (roots[root] < 0) {
+					roots[root] = count++;
+				}
+
+				labels[tile] = roots[root];
+			}
+		}
+
+		for (int i=0; i<count; i++) {
+			parents[i] = i;
+		}
+
+		labelCount = count;
+	}
+}
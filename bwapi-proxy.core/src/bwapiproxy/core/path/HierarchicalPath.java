@@ -0,0 +1,128 @@
+package bwapiproxy.core.path;
+/**
+ * A long path planned on the RegionGraph: the start, the chokes the path goes through,
+ * and the goal. The tile paths between consecutive waypoints are the segments of the path,
+ * and are only searched when asked for, so a unit crossing the map searches the segment
+ * it is on rather than the whole path, and a path that is abandoned costs nothing more.
+ *
+ * Segments are searched with the path finder given to getSegment, and are kept once
+ * found. A path should be refined by one thread at a time.
+ */
+public class HierarchicalPath {
+
+	/** the waypoints, in tiles */
+	private int[] xs;
+	private int[] ys;
+
+	/** the estimated length in tiles */
+	private double length;
+
+	/** the unit size the segments are searched for */
+	private int size;
+
+	/** the segments found so far, null for segments that have not been searched */
+	private Path[] segments;
+
+	/** true for segments that were searched without finding a path */
+	private boolean[] failed;
+
+	HierarchicalPath(int[] xs, int[] ys, double length, int size) {
+		this.xs = xs;
+		this.ys = ys;
+		this.length = length;
+		this.size = size;
+
+		segments = new Path[xs.length - 1];
+		failed = new boolean[xs.length - 1];
+	}
+
+	/**
+	 * Returns the number of waypoints, including the start and the goal.
+	 */
+	public int getWaypointCount() {
+		return xs.length;
+	}
+
+	public int getWaypointX(int i) {
+		return xs[i];
+	}
+
+	public int getWaypointY(int i) {
+		return ys[i];
+	}
+
+	/**
+	 * Returns the number of segments, one less than the number of waypoints.
+	 */
+	public int getSegmentCount() {
+		return segments.length;
+	}
+
+	/**
+	 * Returns the estimated length of the path in tiles: the distances between the chokes
+	 * plus the straight line distances to the start and goal.
+	 */
+	public double getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns true if the segment has been searched.
+	 */
+	public boolean isRefined(int segment) {
+		return segments[segment] != null || failed[segment];
+	}
+
+	/**
+	 * Returns the tile path from waypoint i to waypoint i + 1, searching it if it has not
+	 * been searched yet, or null if there is none, e.g. because the unit does not fit
+	 * through the choke.
+	 */
+	public Path getSegment(int segment, PathFinder finder) {
+		if (!isRefined(segment)) {
+			Path path = finder.findPath(xs[segment], ys[segment], xs[segment + 1], ys[segment + 1], size);
+
+			// a search that gave up may succeed later
+			if (path == null && !finder.isAborted()) {
+				failed[segment] = true;
+			}
+
+			segments[segment] = path;
+		}
+
+		return segments[segment];
+	}
+
+	/**
+	 * Returns the segment a unit at the position should follow, given the segment it
+	 * followed until now: the next segment once the unit is within the reached distance
+	 * of the end of its segment.
+	 */
+	public int getCurrentSegment(int x, int y, int segment, double reached) {
+		while (segment < segments.length - 1) {
+			double dx = xs[segment + 1] - x;
+			double dy = ys[segment + 1] - y;
+
+			if (dx * dx + dy * dy > reached * reached) {
+				break;
+			}
+
+			segment++;
+		}
+
+		return segment;
+	}
+
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int i=0; i<xs.length; i++) {
+			if (i > 0) {
+				result.append(" -> ");
+			}
+
+			result.append(xs[i]).append(',').append(ys[i]);
+		}
+
+		return result.toString();
+	}
+}
@@ -0,0 +1,61 @@
+package bwapiproxy.core.path;
+/**
+ * A path on the tile grid, from the start tile to the goal tile, with a tile per step.
+ *
+ * Paths are immutable and shared through the path cache, so they can be kept and read
+ * by any thread.
+ */
+public class Path {
+
+	/** the tiles of the path, packed as (y << 16) | x */
+	private int[] tiles;
+
+	/** length of the path in tiles, diagonal steps count sqrt(2) */
+	private double length;
+
+	Path(int[] tiles, double length) {
+		this.tiles = tiles;
+		this.length = length;
+	}
+
+	/**
+	 * Returns the number of tiles in the path, including the start and goal tiles.
+	 */
+	public int size() {
+		return tiles.length;
+	}
+
+	/**
+	 * Returns the x coordinate of the i-th tile.
+	 */
+	public int getX(int i) {
+		return tiles[i] & 0xFFFF;
+	}
+
+	/**
+	 * Returns the y coordinate of the i-th tile.
+	 */
+	public int getY(int i) {
+		return tiles[i] >>> 16;
+	}
+
+	/**
+	 * Returns the length of the path in tiles.
+	 */
+	public double getLength() {
+		return length;
+	}
+
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int i=0; i<tiles.length; i++) {
+			if (i > 0) {
+				result.append(' ');
+			}
+
+			result.append(getX(i)).append(',').append(getY(i));
+		}
+
+		return result.toString();
+	}
+}
@@ -0,0 +1,78 @@
+package bwapiproxy.core.path;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+/**
+ * Least recently used cache of paths, keyed by start tile, goal tile and unit size.
+ *
+ * Units of a group usually ask for the same paths in the same frames, so a small cache
+ * avoids most repeated searches. Searches that found no path are cached as well.
+ *
+ * The cache is shared by the path finders of all threads, and is synchronized.
+ */
+public class PathCache {
+
+	/** cached value for searches that found no path */
+	static final Path NO_PATH = new Path(new int[0], 0);
+
+	private LinkedHashMap<Long, Path> paths;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	public PathCache(final int capacity) {
+		paths = new LinkedHashMap<Long, Path>(capacity * 4 / 3 + 1, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			protected boolean removeEldestEntry(Map.Entry<Long, Path> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached path, NO_PATH if the search found no path, or null if the path
+	 * is not cached.
+	 */
+	synchronized Path get(long key) {
+		Path path = paths.get(key);
+		if (path != null) {
+			hits++;
+		}
+		else {
+			misses++;
+		}
+
+		return path;
+	}
+
+	synchronized void put(long key, Path path) {
+		paths.put(key, path);
+	}
+
+	/**
+	 * Removes all paths, e.g. after the walkable tiles changed.
+	 */
+	public synchronized void clear() {
+		paths.clear();
+	}
+
+	public synchronized int size() {
+		return paths.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the key of a search.
+	 */
+	static long getKey(int startX, int startY, int goalX, int goalY, int size) {
+		return ((long)size << 48) | ((long)startY << 36) | ((long)startX << 24) | (goalY << 12) | goalX;
+	}
+}
@@ -0,0 +1,291 @@
+package bwapiproxy.core.path;
+
+import bwapiproxy.core.util.IntBucketQueue;
+import bwapiproxy.core.wmes.MapWME;
+/**
+ * A* search on the tile grid of a map, for units of any size.
+ *
+ * Tiles are connected to their 8 neighbours, straight steps cost 10 and diagonal steps
+ * cost 14, and diagonal steps may not cut the corner of a blocked tile. A unit of size s
+ * occupies the s x s tiles whose top left tile is its position, see ClearanceMap.
+ *
+ * The search state is kept in arrays with a cell per tile that are reused by every
+ * search: each search has a generation number, and a tile's cost and parent are only
+ * valid if its stamp is the current generation, so nothing is cleared between searches.
+ * The heuristic is consistent, so the estimated cost of the tiles expanded never
+ * decreases and rises by at most two diagonal steps from a tile to its neighbours, and
+ * the open list is an IntBucketQueue with constant time operations. A search allocates
+ * nothing but the path found.
+ *
+ * If the path finder has the map, goals in another connected component of the terrain
+ * than the start fail at once (see MapWME.isReachable), instead of after a search of
+ * every tile reachable from the start.
+ *
+ * A path finder is not thread safe, a thread acquires one from Game.acquirePathFinder
+ * and releases it when done. The clearance map and the path cache are shared.
+ */
+public class PathFinder {
+
+	/** cost of a straight and of a diagonal step */
+	private static final int STRAIGHT = 10;
+	private static final int DIAGONAL = 14;
+
+	/** the neighbour offsets, straight steps first */
+	private static final int[] DX = { 1, -1, 0, 0, 1, 1, -1, -1 };
+	private static final int[] DY = { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+	private ClearanceMap clearance;
+
+	/** the shared cache, or null */
+	private PathCache cache;
+
+	/** the map, for the connected components of its terrain, or null */
+	private MapWME map;
+
+	private int width;
+	private int height;
+
+	/** cost from the start to each tile */
+	private int[] cost;
+
+	/** the tile each tile was reached from */
+	private int[] parent;
+
+	/** generation in which each tile was reached */
+	private int[] visited;
+
+	/** generation in which each tile was expanded */
+	private int[] closed;
+
+	/** the current search */
+	private int generation = 0;
+
+	private IntBucketQueue open = new IntBucketQueue(2 * DIAGONAL);
+
+	/** maximum number of tiles expanded by a search */
+	private int maxExpanded = Integer.MAX_VALUE;
+
+	/** number of tiles expanded by the last search */
+	private int expanded = 0;
+
+	/** true if the last search stopped at maxExpanded */
+	private boolean aborted = false;
+
+	/**
+	 * Creates a path finder.
+	 *
+	 * @param cache - the path cache, or null to not cache paths
+	 */
+	public PathFinder(ClearanceMap clearance, PathCache cache) {
+		this(clearance, cache, null);
+	}
+
+	/**
+	 * Creates a path finder that rejects unreachable goals without searching.
+	 *
+	 * @param cache - the path cache, or null to not cache paths
+	 * @param map - the map the clearance map was computed from
+	 */
+	public PathFinder(ClearanceMap clearance, PathCache cache, MapWME map) {
+		this.clearance = clearance;
+		this.cache = cache;
+		this.map = map;
+
+		width = clearance.getWidth();
+		height = clearance.getHeight();
+		cost = new int[width * height];
+		parent = new int[width * height];
+		visited = new int[width * height];
+		closed = new int[width * height];
+	}
+
+	/**
+	 * Returns a path for a unit of size 1, or null if there is none.
+	 */
+	public Path findPath(int startX, int startY, int goalX, int goalY) {
+		return findPath(startX, startY, goalX, goalY, 1);
+	}
+
+	/**
+	 * Returns a path for a unit of the given size in tiles, or null if there is none.
+	 *
+	 * The start tile does not need to be passable, since the unit is already there, but
+	 * the goal tile does.
+	 */
+	public Path findPath(int startX, int startY, int goalX, int goalY, int size) {
+		size = Math.max(1, Math.min(size, ClearanceMap.MAX_CLEARANCE));
+		expanded = 0;
+		aborted = false;
+
+		if (!isOnMap(startX, startY) || !clearance.isPassable(goalX, goalY, size)) {
+			return null;
+		}
+
+		// a unit on a tile that is not walkable may still step off it, so only walkable starts are checked
+		if (map != null && map.isWalkable(startX, startY) && !map.isReachable(startX, startY, goalX, goalY)) {
+			return null;
+		}
+
+		long key = PathCache.getKey(startX, startY, goalX, goalY, size);
+		if (cache != null) {
+			Path path = cache.get(key);
+			if (path != null) {
+				return path == PathCache.NO_PATH ? null : path;
+			}
+		}
+
+		Path path = search(startY * width + startX, goalY * width + goalX, size);
+
+		// a search that gave up may find the path with a larger limit
+		if (cache != null && !aborted) {
+			cache.put(key, path == null ? PathCache.NO_PATH : path);
+		}
+
+		return path;
+	}
+
+	/**
+	 * Returns true if a unit of the given size can stand on the tile.
+	 */
+	public boolean isPassable(int x, int y, int size) {
+		return clearance.isPassable(x, y, size);
+	}
+
+	/**
+	 * Sets the maximum number of tiles a search expands before giving up, which bounds
+	 * the time of a search.
+	 */
+	public void setMaxExpanded(int maxExpanded) {
+		this.maxExpanded = maxExpanded;
+	}
+
+	/**
+	 * Returns the number of tiles expanded by the last search, 0 if the path was cached.
+	 */
+	public int getExpanded() {
+		return expanded;
+	}
+
+	/**
+	 * Returns true if the last search gave up before finding a path.
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	public ClearanceMap getClearanceMap() {
+		return clearance;
+	}
+
+	private Path search(int start, int goal, int size) {
+		if (++generation == Integer.MAX_VALUE) {
+			for (int i=0; i<visited.length; i++) {
+				visited[i] = 0;
+				closed[i] = 0;
+			}
+
+			generation = 1;
+		}
+
+		int goalX = goal % width;
+		int goalY = goal / width;
+
+		cost[start] = 0;
+		parent[start] = -1;
+		visited[start] = generation;
+
+		open.clear();
+		open.add(start, heuristic(start % width, start / width, goalX, goalY));
+
+		while (!open.isEmpty()) {
+			int node = open.poll();
+
+			// a copy added before the tile's cost improved
+			if (closed[node] == generation) {
+				continue;
+			}
+
+			closed[node] = generation;
+
+			if (node == goal) {
+				return getPath(start, goal);
+			}
+
+			if (++expanded > maxExpanded) {
+				aborted = true;
+				return null;
+			}
+
+			int x = node % width;
+			int y = node / width;
+
+			for (int d=0; d<8; d++) {
+				int nx = x + DX[d];
+				int ny = y + DY[d];
+
+				if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+					continue;
+				}
+
+				int next = ny * width + nx;
+				if (closed[next] == generation || clearance.get(next) < size) {
+					continue;
+				}
+
+				boolean diagonal = d >= 4;
+				if (diagonal && (clearance.get(y * width + nx) < size || clearance.get(ny * width + x) < size)) {
+					continue;
+				}
+
+				int g = cost[node] + (diagonal ? DIAGONAL : STRAIGHT);
+				if (visited[next] != generation || g < cost[next]) {
+					cost[next] = g;
+					parent[next] = node;
+					visited[next] = generation;
+					open.add(next, g + heuristic(nx, ny, goalX, goalY));
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the octile distance between two tiles.
+	 */
+	private static int heuristic(int x, int y, int goalX, int goalY) {
+		int dx = Math.abs(x - goalX);
+		int dy = Math.abs(y - goalY);
+		return STRAIGHT * Math.max(dx, dy) + (DIAGONAL - STRAIGHT) * Math.min(dx, dy);
+	}
+
+	private Path getPath(int start, int goal) {
+		int count = 1;
+		for (int node=goal; node!=start; node=parent[node]) {
+			count++;
+		}
+
+		int[] tiles = new int[count];
+		int diagonals = 0;
+		int node = goal;
+
+		for (int i=count-1; i>=0; i--) {
+			int x = node % width;
+			int y = node / width;
+			tiles[i] = (y << 16) | x;
+
+			if (i > 0 && parent[node] % width != x && parent[node] / width != y) {
+				diagonals++;
+			}
+
+			node = parent[node];
+		}
+
+		double length = (count - 1 - diagonals) + diagonals * Math.sqrt(2);
+		return new Path(tiles, length);
+	}
+
+	private boolean isOnMap(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+}
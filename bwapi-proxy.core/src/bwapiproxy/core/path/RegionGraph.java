@@ -0,0 +1,498 @@
+package bwapiproxy.core.path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bwapiproxy.core.util.BitGrid;
+import bwapiproxy.core.util.FloodFill;
+import bwapiproxy.core.util.IntBucketQueue;
+import bwapiproxy.core.wmes.BaseLocationWME;
+import bwapiproxy.core.wmes.ChokePointWME;
+/**
+ * Regions of a map and the chokepoints between them, for planning long paths on a small
+ * graph instead of the tile grid.
+ *
+ * The walkable tiles around each chokepoint, within half the choke width plus a tile,
+ * are the choke's tiles. The other walkable tiles are split into regions, connected
+ * groups of tiles that do not cross a choke, and each choke connects the regions next
+ * to its tiles. The distances between the chokes of each region are computed when the
+ * graph is built, with a Dijkstra search from each choke over its regions.
+ *
+ * Long paths are planned by findPath: a search over the chokes, from the chokes of the
+ * start region to the chokes of the goal region, gives the chokes the path goes through.
+ * The tile paths between them are only searched when asked for, see HierarchicalPath.
+ *
+ * The graph is built once per game and never modified, so it can be read by any thread.
+ * Distances are in tiles.
+ */
+public class RegionGraph {
+
+	/** region of tiles that are not walkable */
+	public static final int BLOCKED = -1;
+
+	/** distance between chokes that are not connected through a region */
+	public static final double UNREACHABLE = Double.POSITIVE_INFINITY;
+
+	private int width;
+	private int height;
+
+	/** region per tile, BLOCKED, or -2 - choke for the tiles of a choke */
+	private int[] tiles;
+
+	/** number of regions */
+	private int regionCount;
+
+	/** the chokes, and the walkable tile that paths go through for each */
+	private List<ChokePointWME> chokes;
+	private int[] chokeXs;
+	private int[] chokeYs;
+
+	/** the regions next to each choke, and the chokes of each region */
+	private int[][] chokeRegions;
+	private int[][] regionChokes;
+
+	/** distance between two chokes through their regions */
+	private double[][] chokeDistances;
+
+	/** region of each base location, or BLOCKED */
+	private int[] baseRegions;
+
+	/**
+	 * Builds the graph of a map.
+	 */
+	public RegionGraph(BitGrid walkable, List<ChokePointWME> chokes, List<BaseLocationWME> bases) {
+		this.width = walkable.getWidth();
+		this.height = walkable.getHeight();
+		this.chokes = new ArrayList<ChokePointWME>(chokes);
+		this.tiles = new int[width * height];
+
+		markChokes(walkable);
+		labelRegions();
+		connectChokes();
+		computeDistances();
+
+		baseRegions = new int[bases.size()];
+		for (int i=0; i<baseRegions.length; i++) {
+			baseRegions[i] = getRegion(bases.get(i).getX(), bases.get(i).getY());
+		}
+	}
+
+	public int getRegionCount() {
+		return regionCount;
+	}
+
+	/**
+	 * Returns the region of the tile, or BLOCKED. The tiles of a choke belong to the first
+	 * region next to the choke.
+	 */
+	public int getRegion(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return BLOCKED;
+		}
+
+		int tile = tiles[y * width + x];
+		if (tile <= -2) {
+			int[] regions = chokeRegions[-2 - tile];
+			return regions.length > 0 ? regions[0] : BLOCKED;
+		}
+
+		return tile;
+	}
+
+	/**
+	 * Returns the index of the choke whose tiles include the tile, or -1.
+	 */
+	public int getChoke(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return -1;
+		}
+
+		int tile = tiles[y * width + x];
+		return tile <= -2 ? -2 - tile : -1;
+	}
+
+	public List<ChokePointWME> getChokes() {
+		return chokes;
+	}
+
+	/**
+	 * Returns the regions next to a choke, usually two. Must not be modified.
+	 */
+	public int[] getChokeRegions(int choke) {
+		return chokeRegions[choke];
+	}
+
+	/**
+	 * Returns the chokes of a region. Must not be modified.
+	 */
+	public int[] getRegionChokes(int region) {
+		return regionChokes[region];
+	}
+
+	/**
+	 * Returns the distance between two chokes of the same region, or UNREACHABLE.
+	 */
+	public double getChokeDistance(int choke1, int choke2) {
+		return chokeDistances[choke1][choke2];
+	}
+
+	/**
+	 * Returns the region of a base location, by index in Game.getBaseLocations.
+	 */
+	public int getBaseRegion(int base) {
+		return baseRegions[base];
+	}
+
+	/**
+	 * Plans a path through the chokes between two tiles, or returns null if the goal
+	 * cannot be reached through the graph.
+	 *
+	 * The distances from the start and goal to the chokes of their regions are estimated
+	 * with the octile distance, so the chokes chosen are not always those of the shortest
+	 * path, but they are close to it.
+	 *
+	 * @param size - the unit size in tiles, used when the path is refined
+	 */
+	public HierarchicalPath findPath(int startX, int startY, int goalX, int goalY, int size) {
+		int startRegion = getRegion(startX, startY);
+		int goalRegion = getRegion(goalX, goalY);
+
+		if (startRegion == BLOCKED || goalRegion == BLOCKED) {
+			return null;
+		}
+
+		if (startRegion == goalRegion) {
+			return new HierarchicalPath(new int[] { startX, goalX }, new int[] { startY, goalY },
+					getOctile(startX, startY, goalX, goalY), size);
+		}
+
+		// Dijkstra over the chokes, the graph is small so the closest node is found by a scan
+		int count = chokes.size();
+		double[] distances = new double[count];
+		int[] previous = new int[count];
+		boolean[] done = new boolean[count];
+
+		for (int i=0; i<count; i++) {
+			distances[i] = UNREACHABLE;
+			previous[i] = -1;
+		}
+
+		for (int choke : getChokesNear(startX, startY, startRegion)) {
+			distances[choke] = getOctile(startX, startY, chokeXs[choke], chokeYs[choke]);
+		}
+
+		boolean[] goalChokes = new boolean[count];
+		for (int choke : getChokesNear(goalX, goalY, goalRegion)) {
+			goalChokes[choke] = true;
+		}
+
+		double best = UNREACHABLE;
+		int bestChoke = -1;
+
+		while (true) {
+			int next = -1;
+			for (int i=0; i<count; i++) {
+				if (!done[i] && distances[i] < UNREACHABLE && (next < 0 || distances[i] < distances[next])) {
+					next = i;
+				}
+			}
+
+			if (next < 0 || distances[next] >= best) {
+				break;
+			}
+
+			done[next] = true;
+
+			if (goalChokes[next]) {
+				double total = distances[next] + getOctile(chokeXs[next], chokeYs[next], goalX, goalY);
+				if (total < best) {
+					best = total;
+					bestChoke = next;
+				}
+			}
+
+			for (int i=0; i<count; i++) {
+				double distance = distances[next] + chokeDistances[next][i];
+				if (!done[i] && distance < distances[i]) {
+					distances[i] = distance;
+					previous[i] = next;
+				}
+			}
+		}
+
+		if (bestChoke < 0) {
+			return null;
+		}
+
+		int waypoints = 2;
+		for (int choke=bestChoke; choke>=0; choke=previous[choke]) {
+			waypoints++;
+		}
+
+		int[] xs = new int[waypoints];
+		int[] ys = new int[waypoints];
+		xs[0] = startX;
+		ys[0] = startY;
+		xs[waypoints - 1] = goalX;
+		ys[waypoints - 1] = goalY;
+
+		int i = waypoints - 2;
+		for (int choke=bestChoke; choke>=0; choke=previous[choke]) {
+			xs[i] = chokeXs[choke];
+			ys[i] = chokeYs[choke];
+			i--;
+		}
+
+		return new HierarchicalPath(xs, ys, best, size);
+	}
+
+	/**
+	 * Returns the chokes a path from the tile can start with: the tile's own choke, or the
+	 * chokes of its region.
+	 */
+	private int[] getChokesNear(int x, int y, int region) {
+		int choke = getChoke(x, y);
+		return choke >= 0 ? new int[] { choke } : regionChokes[region];
+	}
+
+	/**
+	 * Marks the walkable tiles around each choke, and picks the tile paths go through.
+	 */
+	private void markChokes(BitGrid walkable) {
+		for (int i=0; i<tiles.length; i++) {
+			tiles[i] = walkable.get(i % width, i / width) ? Integer.MAX_VALUE : BLOCKED;
+		}
+
+		chokeXs = new int[chokes.size()];
+		chokeYs = new int[chokes.size()];
+
+		for (int c=0; c<chokes.size(); c++) {
+			ChokePointWME choke = chokes.get(c);
+			int radius = choke.getWidth() / 2 + 1;
+			int bestDistance = Integer.MAX_VALUE;
+
+			chokeXs[c] = choke.getX();
+			chokeYs[c] = choke.getY();
+
+			for (int y=choke.getY()-radius; y<=choke.getY()+radius; y++) {
+				for (int x=choke.getX()-radius; x<=choke.getX()+radius; x++) {
+					int dx = x - choke.getX();
+					int dy = y - choke.getY();
+
+					if (x < 0 || y < 0 || x >= width || y >= height || dx * dx + dy * dy > radius * radius) {
+						continue;
+					}
+
+					// overlapping chokes keep the tiles of the first one
+					int tile = y * width + x;
+					if (tiles[tile] == Integer.MAX_VALUE) {
+						tiles[tile] = -2 - c;
+					}
+
+					// the walkable tile closest to the center
+					if (tiles[tile] != BLOCKED && dx * dx + dy * dy < bestDistance) {
+						bestDistance = dx * dx + dy * dy;
+						chokeXs[c] = x;
+						chokeYs[c] = y;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Numbers the connected groups of walkable tiles outside of the chokes.
+	 */
+	private void labelRegions() {
+		// the four neighbours, as diagonal steps may not cut corners
+		regionCount = new FloodFill(width, height).labelAll(tiles, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Finds the regions next to each choke.
+	 */
+	private void connectChokes() {
+		int count = chokes.size();
+		boolean[][] adjacent = new boolean[count][regionCount];
+
+		for (int tile=0; tile<tiles.length; tile++) {
+			if (tiles[tile] > -2) {
+				continue;
+			}
+
+			int choke = -2 - tiles[tile];
+			int x = tile % width;
+
+			if (x > 0 && tiles[tile - 1] >= 0) {
+				adjacent[choke][tiles[tile - 1]] = true;
+			}
+
+			if (x < width - 1 && tiles[tile + 1] >= 0) {
+				adjacent[choke][tiles[tile + 1]] = true;
+			}
+
+			if (tile >= width && tiles[tile - width] >= 0) {
+				adjacent[choke][tiles[tile - width]] = true;
+			}
+
+			if (tile + width < tiles.length && tiles[tile + width] >= 0) {
+				adjacent[choke][tiles[tile + width]] = true;
+			}
+		}
+
+		int[] chokeCounts = new int[regionCount];
+		chokeRegions = new int[count][];
+
+		for (int c=0; c<count; c++) {
+			int regions = 0;
+			for (int r=0; r<regionCount; r++) {
+				if (adjacent[c][r]) {
+					regions++;
+					chokeCounts[r]++;
+				}
+			}
+
+			chokeRegions[c] = new int[regions];
+			regions = 0;
+			for (int r=0; r<regionCount; r++) {
+				if (adjacent[c][r]) {
+					chokeRegions[c][regions++] = r;
+				}
+			}
+		}
+
+		regionChokes = new int[regionCount][];
+		for (int r=0; r<regionCount; r++) {
+			regionChokes[r] = new int[chokeCounts[r]];
+			chokeCounts[r] = 0;
+		}
+
+		for (int c=0; c<count; c++) {
+			for (int r : chokeRegions[c]) {
+				regionChokes[r][chokeCounts[r]++] = c;
+			}
+		}
+	}
+
+	/**
+	 * Computes the distances between the chokes of each region, with a Dijkstra search
+	 * from each choke that stays in the choke's regions and the tiles of their chokes.
+	 */
+	private void computeDistances() {
+		int count = chokes.size();
+		chokeDistances = new double[count][count];
+
+		int[] cost = new int[tiles.length];
+		int[] visited = new int[tiles.length];
+		boolean[] allowed = new boolean[regionCount];
+		IntBucketQueue open = new IntBucketQueue(14);
+
+		for (int c=0; c<count; c++) {
+			for (int d=0; d<count; d++) {
+				chokeDistances[c][d] = c == d ? 0 : UNREACHABLE;
+			}
+
+			if (chokeRegions[c].length == 0) {
+				continue;
+			}
+
+			for (int r=0; r<regionCount; r++) {
+				allowed[r] = false;
+			}
+
+			for (int r : chokeRegions[c]) {
+				allowed[r] = true;
+			}
+
+			int generation = c + 1;
+			int start = chokeYs[c] * width + chokeXs[c];
+			cost[start] = 0;
+			visited[start] = generation;
+
+			open.clear();
+			open.add(start, 0);
+
+			while (!open.isEmpty()) {
+				int tile = open.poll();
+				if (visited[tile] == -generation) {
+					continue;
+				}
+
+				visited[tile] = -generation;
+				int x = tile % width;
+				int y = tile / width;
+
+				for (int dy=-1; dy<=1; dy++) {
+					for (int dx=-1; dx<=1; dx++) {
+						int nx = x + dx;
+						int ny = y + dy;
+						if ((dx == 0 && dy == 0) || nx < 0 || ny < 0 || nx >= width || ny >= height) {
+							continue;
+						}
+
+						int next = ny * width + nx;
+						if (visited[next] == -generation || !isAllowed(tiles[next], allowed)) {
+							continue;
+						}
+
+						boolean diagonal = dx != 0 && dy != 0;
+						if (diagonal && (tiles[y * width + nx] == BLOCKED || tiles[ny * width + x] == BLOCKED)) {
+							continue;
+						}
+
+						int g = cost[tile] + (diagonal ? 14 : 10);
+						if (visited[next] != generation || g < cost[next]) {
+							cost[next] = g;
+							visited[next] = generation;
+							open.add(next, g);
+						}
+					}
+				}
+			}
+
+			for (int d=0; d<count; d++) {
+				int target = chokeYs[d] * width + chokeXs[d];
+				if (d != c && visited[target] == -generation) {
+					chokeDistances[c][d] = cost[target] / 10.0;
+				}
+			}
+		}
+
+		// the searches are not symmetric at the edges of their regions, use the shorter
+		for (int c=0; c<count; c++) {
+			for (int d=c+1; d<count; d++) {
+				double distance = Math.min(chokeDistances[c][d], chokeDistances[d][c]);
+				chokeDistances[c][d] = distance;
+				chokeDistances[d][c] = distance;
+			}
+		}
+	}
+
+	/**
+	 * Returns true if a search over the allowed regions may enter the tile: a tile of an
+	 * allowed region, or of a choke next to one.
+	 */
+	private boolean isAllowed(int tile, boolean[] allowed) {
+		if (tile >= 0) {
+			return allowed[tile];
+		}
+
+		if (tile == BLOCKED) {
+			return false;
+		}
+
+		for (int r : chokeRegions[-2 - tile]) {
+			if (allowed[r]) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static double getOctile(int x0, int y0, int x1, int y1) {
+		int dx = Math.abs(x1 - x0);
+		int dy = Math.abs(y1 - y0);
+		return Math.max(dx, dy) + (Math.sqrt(2) - 1) * Math.min(dx, dy);
+	}
+}
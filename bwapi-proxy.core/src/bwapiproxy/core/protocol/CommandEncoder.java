@@ -0,0 +1,147 @@
+package bwapiproxy.core.protocol;
+
+import java.nio.ByteBuffer;
+/**
+ * Writes command responses, as described in FrameFormat.
+ *
+ * Commands are written as ASCII straight into a reusable buffer, without creating Strings.
+ * A response is limited both in bytes and in commands, so that it fits into the 
+ * ClientModule's receive buffer and command table: add returns false once a command
+ * does not fit, and the command must then be sent in a later response.
+ *
+ * A response is written by calling begin, then add for each command, then finish. The
+ * buffer returned by finish is valid until begin is called again.
+ */
+public class CommandEncoder {
+
+	/** the response header */
+	private static final byte[] HEADER = { 'c', 'o', 'm', 'm', 'a', 'n', 'd', 's' };
+
+	/** the longest command: separator, then 5 ints of at most 11 characters and their separators */
+	private static final int MAX_COMMAND_SIZE = 5 * 12;
+
+	/** the response being written */
+	private byte[] data;
+
+	/** the response as a buffer */
+	private ByteBuffer buffer;
+
+	/** index of the next byte to write */
+	private int position;
+
+	/** maximum number of commands per response */
+	private int maxCommands;
+
+	/** number of commands in the current response */
+	private int commandCount;
+
+	/**
+	 * Creates an encoder with the ClientModule's limits.
+	 */
+	public CommandEncoder() {
+		this(FrameFormat.COMMAND_BUFFER_SIZE, FrameFormat.MAX_COMMANDS);
+	}
+
+	/**
+	 * Creates an encoder for responses of at most the given number of bytes and commands.
+	 */
+	public CommandEncoder(int maxBytes, int maxCommands) {
+		this.data = new byte[maxBytes];
+		this.buffer = ByteBuffer.wrap(data);
+		this.maxCommands = maxCommands;
+	}
+
+	/**
+	 * Starts a new response.
+	 */
+	public void begin() {
+		System.arraycopy(HEADER, 0, data, 0, HEADER.length);
+		position = HEADER.length;
+		commandCount = 0;
+	}
+
+	/**
+	 * Adds a command to the response, returns false if the response is full, in which
+	 * case nothing is written.
+	 */
+	public boolean add(int command, int unitID, int arg0, int arg1, int arg2) {
+		if (commandCount >= maxCommands) {
+			return false;
+		}
+
+		// only measure the command if it could be too long
+		if (data.length - position < MAX_COMMAND_SIZE) {
+			int size = 5 + length(command) + length(unitID) + length(arg0) + length(arg1) + length(arg2);
+			if (size > data.length - position) {
+				return false;
+			}
+		}
+
+		data[position++] = ':';
+		writeInt(command);
+		data[position++] = ';';
+		writeInt(unitID);
+		data[position++] = ';';
+		writeInt(arg0);
+		data[position++] = ';';
+		writeInt(arg1);
+		data[position++] = ';';
+		writeInt(arg2);
+
+		commandCount++;
+		return true;
+	}
+
+	/**
+	 * Returns the number of commands in the current response.
+	 */
+	public int getCommandCount() {
+		return commandCount;
+	}
+
+	/**
+	 * Completes the response, and returns it positioned at its start.
+	 */
+	public ByteBuffer finish() {
+		buffer.clear();
+		buffer.limit(position);
+		return buffer;
+	}
+
+	/**
+	 * Writes an integer in decimal.
+	 */
+	private void writeInt(int value) {
+		long v = value;
+		if (v < 0) {
+			data[position++] = '-';
+			v = -v;
+		}
+
+		int end = position + length(v);
+		for (int i=end-1; i>=position; i--) {
+			data[i] = (byte)('0' + v % 10);
+			v /= 10;
+		}
+
+		position = end;
+	}
+
+	/**
+	 * Returns the number of characters of an integer in decimal.
+	 */
+	private static int length(long value) {
+		int length = 1;
+		if (value < 0) {
+			length++;
+			value = -value;
+		}
+
+		while (value >= 10) {
+			value /= 10;
+			length++;
+		}
+
+		return length;
+	}
+}
@@ -0,0 +1,124 @@
+package bwapiproxy.core.protocol;
+
+import java.nio.ByteBuffer;
+/**
+ * Writes binary game update frames, as described in FrameFormat.
+ *
+ * This is the client side of the binary protocol, used by StarCraft stand-ins. A frame
+ * is written by calling begin, then addUnit for each unit and removeUnit for each
+ * destroyed unit, then finish. The encoder reuses its buffers between frames.
+ */
+public class FrameEncoder {
+
+	/** the frame being written */
+	private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+	/** number of units in the current frame */
+	private int unitCount;
+
+	/** IDs of the units destroyed in the current frame */
+	private int[] destroyed = new int[64];
+
+	/** number of destroyed units in the current frame */
+	private int destroyedCount;
+
+	/**
+	 * Starts a new full frame with the player's status.
+	 */
+	public void begin(int minerals, int gas, int supplyUsed, int supplyTotal, int[] research, int[] upgrades) {
+		begin(FrameFormat.FRAME_FULL, minerals, gas, supplyUsed, supplyTotal, research, upgrades);
+	}
+
+	/**
+	 * Starts a new frame of the given type (FRAME_FULL or FRAME_DELTA) with the player's status.
+	 */
+	public void begin(byte frameType, int minerals, int gas, int supplyUsed, int supplyTotal, int[] research, int[] upgrades) {
+		buffer.clear();
+		buffer.putInt(0);
+		buffer.put(frameType);
+		buffer.putInt(minerals);
+		buffer.putInt(gas);
+		buffer.putInt(supplyUsed);
+		buffer.putInt(supplyTotal);
+
+		for (int i=0; i<FrameFormat.RESEARCH_COUNT; i++) {
+			buffer.put((byte)research[i]);
+		}
+
+		for (int i=0; i<FrameFormat.UPGRADE_COUNT; i++) {
+			buffer.put((byte)upgrades[i]);
+		}
+
+		buffer.putInt(0);
+		unitCount = 0;
+		destroyedCount = 0;
+	}
+
+	/**
+	 * Adds a unit to the frame.
+	 *
+	 * @param unit - the unit attributes, indexed by the FrameFormat field constants
+	 */
+	public void addUnit(int[] unit) {
+		ensureCapacity(FrameFormat.UNIT_RECORD_SIZE);
+
+		for (int i=0; i<FrameFormat.UNIT_FIELDS; i++) {
+			switch (FrameFormat.UNIT_FIELD_WIDTHS[i]) {
+				case 1:
+					buffer.put((byte)unit[i]);
+					break;
+				case 2:
+					buffer.putShort((short)unit[i]);
+					break;
+				default:
+					buffer.putInt(unit[i]);
+					break;
+			}
+		}
+
+		unitCount++;
+	}
+
+	/**
+	 * Adds a destroyed unit to the frame.
+	 */
+	public void removeUnit(int unitID) {
+		if (destroyedCount == destroyed.length) {
+			int[] larger = new int[destroyed.length * 2];
+			System.arraycopy(destroyed, 0, larger, 0, destroyedCount);
+			destroyed = larger;
+		}
+
+		destroyed[destroyedCount++] = unitID;
+	}
+
+	/**
+	 * Completes the frame and returns it, ready to be written to the socket.
+	 *
+	 * The buffer is only valid until begin is called again.
+	 */
+	public ByteBuffer finish() {
+		ensureCapacity(4 + 4 * destroyedCount);
+		buffer.putInt(destroyedCount);
+		for (int i=0; i<destroyedCount; i++) {
+			buffer.putInt(destroyed[i]);
+		}
+
+		buffer.putInt(0, buffer.position() - 4);
+		buffer.putInt(4 + FrameFormat.PLAYER_SIZE + 1, unitCount);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Grows the buffer if fewer than count bytes are left.
+	 */
+	private void ensureCapacity(int count) {
+		if (buffer.remaining() < count) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + count));
+			buffer.flip();
+			larger.put(buffer);
+			buffer = larger;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package bwapiproxy.core.protocol;
+/**
+ * Constants describing the wire formats used for per-frame game updates.
+ *
+ * The format is selected by the ProxyBot during the handshake, as the fifth
+ * character of the bot options message. Clients that do not understand the
+ * option ignore it and keep sending text updates, so text remains the default.
+ *
+ * Text format (one line per frame):
+ *    s;minerals;gas;supplyUsed;supplyTotal;research;upgrades:unit:unit...
+ *
+ *    where each unit is the 19 UNIT_FIELDS separated by ';'
+ *
+ * Binary format (one length-prefixed frame per frame, big-endian):
+ *    int     payload length (excluding this int)
+ *    byte    frame type (FRAME_FULL or FRAME_DELTA)
+ *    int     minerals, gas, supplyUsed, supplyTotal
+ *    byte[]  research progress (RESEARCH_COUNT bytes)
+ *    byte[]  upgrade progress (UPGRADE_COUNT bytes)
+ *    int     unit count
+ *    unit records, UNIT_RECORD_SIZE bytes each, fields in UNIT_FIELDS order
+ *            with the widths given by UNIT_FIELD_WIDTHS
+ *    int     destroyed unit count
+ *    int[]   destroyed unit IDs
+ *
+ * Delta format: binary frames where only the first frame is a full frame. The following
+ * frames are delta frames, which only contain the units that were created or changed
+ * since the previous frame, and the IDs of the units that were destroyed or are no
+ * longer visible. Units that are not mentioned keep their previous state.
+ *
+ * Command responses (one per frame, in every format):
+ *    commands:command;unitID;arg0;arg1;arg2:command;unitID;arg0;arg1;arg2...
+ *
+ *    the ClientModule reads a response with a single recv of COMMAND_BUFFER_SIZE bytes and
+ *    keeps at most MAX_COMMANDS commands, see CommandEncoder
+ */
+public class FrameFormat {
+
+	/** option character for text updates */
+	public static final char FORMAT_TEXT = '0';
+
+	/** option character for binary updates */
+	public static final char FORMAT_BINARY = '1';
+
+	/** option character for binary updates with delta-encoded units */
+	public static final char FORMAT_DELTA = '2';
+
+	/** frame type: the frame contains every unit */
+	public static final byte FRAME_FULL = 0;
+
+	/** frame type: the frame contains the units that changed since the previous frame */
+	public static final byte FRAME_DELTA = 1;
+
+	/** number of research slots sent per frame */
+	public static final int RESEARCH_COUNT = 47;
+
+	/** number of upgrade slots sent per frame */
+	public static final int UPGRADE_COUNT = 63;
+
+	/** size of the ClientModule's buffer for command responses, in bytes */
+	public static final int COMMAND_BUFFER_SIZE = 4096;
+
+	/** maximum number of commands the ClientModule reads from a response */
+	public static final int MAX_COMMANDS = 100;
+
+	/**
+	 * Unit fields, in the order they are sent.
+	 */
+	public static final int ID = 0;
+	public static final int PLAYER = 1;
+	public static final int TYPE = 2;
+	public static final int X = 3;
+	public static final int Y = 4;
+	public static final int HIT_POINTS = 5;
+	public static final int SHIELDS = 6;
+	public static final int ENERGY = 7;
+	public static final int BUILD_TIMER = 8;
+	public static final int TRAIN_TIMER = 9;
+	public static final int RESEARCH_TIMER = 10;
+	public static final int UPGRADE_TIMER = 11;
+	public static final int ORDER_TIMER = 12;
+	public static final int ORDER = 13;
+	public static final int RESOURCES = 14;
+	public static final int ADDON_ID = 15;
+	public static final int MINE_COUNT = 16;
+	public static final int VELOCITY_X = 17;
+	public static final int VELOCITY_Y = 18;
+
+	/** number of attributes per unit */
+	public static final int UNIT_FIELDS = 19;
+
+	/**
+	 * Width in bytes of each unit field in the binary format. Velocities are signed,
+	 * all other fields are unsigned.
+	 */
+	public static final int[] UNIT_FIELD_WIDTHS = {
+		4, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 4, 4, 1, 2, 2
+	};
+
+	/** size of a unit record in the binary format, the sum of UNIT_FIELD_WIDTHS */
+	public static final int UNIT_RECORD_SIZE;
+
+	static {
+		int size = 0;
+		for (int width : UNIT_FIELD_WIDTHS) {
+			size += width;
+		}
+
+		UNIT_RECORD_SIZE = size;
+	}
+
+	/**
+	 * Largest payload length accepted for a binary frame. Far more than a frame with every
+	 * unit StarCraft allows, so a larger length means the stream is corrupt.
+	 */
+	public static final int MAX_FRAME_SIZE = 1024 * 1024;
+
+	/** size of the player section in the binary format */
+	public static final int PLAYER_SIZE = 16 + RESEARCH_COUNT + UPGRADE_COUNT;
+
+	private FrameFormat() {
+	}
+}
@@ -0,0 +1,335 @@
+package bwapiproxy.core.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+/**
+ * Reads the messages sent by the StarCraft client.
+ *
+ * The handshake is always sent as text lines, while the per-frame updates are either
+ * text lines or length-prefixed binary frames (see FrameFormat). Both are read through
+ * the same buffer, so that bytes read ahead while looking for the end of a line are
+ * not lost when the client switches to binary frames.
+ *
+ * A reader either reads from a stream, blocking until a message is complete, or is fed
+ * from a non-blocking channel with read(channel), in which case complete messages are
+ * taken with the poll methods, which return null while a message is incomplete.
+ */
+public class FrameReader {
+
+	/** the stream to read from, or null if the reader is fed from a channel */
+	private InputStream in;
+
+	/** buffered bytes, valid between start and end */
+	private byte[] buffer = new byte[64 * 1024];
+
+	/** index of the first unread byte */
+	private int start = 0;
+
+	/** index after the last buffered byte */
+	private int end = 0;
+
+	/** index after the terminator of the line found by findLine */
+	private int lineEnd = 0;
+
+	/** number of bytes after start that have been checked for a line terminator */
+	private int scanned = 0;
+
+	/** view of the buffer returned by readFrame */
+	private ByteBuffer frame = ByteBuffer.wrap(buffer);
+
+	/** view of the buffer for reading from channels */
+	private ByteBuffer input = ByteBuffer.wrap(buffer);
+
+	public FrameReader(InputStream in) {
+		this.in = in;
+	}
+
+	/**
+	 * Creates a reader that is fed with read(channel).
+	 */
+	public FrameReader() {
+	}
+
+	/**
+	 * Reads the bytes available from the channel into the buffer, and returns the number
+	 * of bytes read, or -1 if the channel has reached end-of-stream.
+	 *
+	 * Buffers returned by earlier reads are no longer valid.
+	 */
+	public int read(ReadableByteChannel channel) throws IOException {
+		if (end == buffer.length) {
+			makeRoom(1);
+		}
+
+		input.limit(buffer.length);
+		input.position(end);
+
+		int read = channel.read(input);
+		if (read > 0) {
+			end += read;
+		}
+
+		return read;
+	}
+
+	/**
+	 * Returns a complete buffered line, or null if the line has not been received yet.
+	 */
+	public String pollLine() throws IOException {
+		int length = findLine();
+		if (length < 0) {
+			return null;
+		}
+
+		String line = new String(buffer, start, length, "US-ASCII");
+		consume(lineEnd);
+		return line;
+	}
+
+	/**
+	 * Points the cursor at a complete buffered line without copying it, returns false if the 
+	 * line has not been received yet.
+	 *
+	 * The cursor is only valid until the next read.
+	 */
+	public boolean pollLine(TextCursor cursor) {
+		int length = findLine();
+		if (length < 0) {
+			return false;
+		}
+
+		cursor.reset(buffer, start, length);
+		consume(lineEnd);
+		return true;
+	}
+
+	/**
+	 * Returns a complete buffered binary frame, positioned at the start of the payload, or
+	 * null if the frame has not been received yet.
+	 *
+	 * The returned buffer is only valid until the next read.
+	 *
+	 * @throws IOException if the length of the frame is invalid
+	 */
+	public ByteBuffer pollFrame() throws IOException {
+		int length = getFrameLength();
+		if (length < 0 || end - start < 4 + length) {
+			return null;
+		}
+
+		frame.limit(start + 4 + length);
+		frame.position(start + 4);
+		consume(start + 4 + length);
+		return frame;
+	}
+
+	/**
+	 * Returns true if a complete line is buffered.
+	 */
+	public boolean hasLine() {
+		return findLine() >= 0;
+	}
+
+	/**
+	 * Returns true if the buffered bytes start with the ASCII prefix, without consuming
+	 * them, e.g. to check which message of a handshake a line is.
+	 */
+	public boolean startsWith(String prefix) {
+		if (end - start < prefix.length()) {
+			return false;
+		}
+
+		for (int i=0; i<prefix.length(); i++) {
+			if (buffer[start + i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if a complete binary frame is buffered.
+	 *
+	 * @throws IOException if the length of the frame is invalid
+	 */
+	public boolean hasFrame() throws IOException {
+		int length = getFrameLength();
+		return length >= 0 && end - start >= 4 + length;
+	}
+
+	/**
+	 * Reads a line of text, or returns null if the stream has ended.
+	 *
+	 * The line terminator is not included.
+	 */
+	public String readLine() throws IOException {
+		int length = nextLine();
+		if (length < 0) {
+			return null;
+		}
+
+		String line = new String(buffer, start, length, "US-ASCII");
+		consume(lineEnd);
+		return line;
+	}
+
+	/**
+	 * Reads a line of text into the cursor without copying it, returns false if the stream
+	 * has ended.
+	 *
+	 * The cursor is only valid until the next read.
+	 */
+	public boolean readLine(TextCursor cursor) throws IOException {
+		int length = nextLine();
+		if (length < 0) {
+			return false;
+		}
+
+		cursor.reset(buffer, start, length);
+		consume(lineEnd);
+		return true;
+	}
+
+	/**
+	 * Buffers the next line and returns its length without the terminator, or -1 if the
+	 * stream has ended. The line starts at start, and lineEnd is set to the index after
+	 * the terminator.
+	 */
+	private int nextLine() throws IOException {
+		while (true) {
+			int length = findLine();
+			if (length >= 0) {
+				return length;
+			}
+
+			if (!fill(1)) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Looks for the end of the line at start in the buffered bytes, and returns the length
+	 * of the line without the terminator, or -1 if it has not been received yet. lineEnd is 
+	 * set to the index after the terminator.
+	 */
+	private int findLine() {
+		for (int i=start + scanned; i<end; i++) {
+			if (buffer[i] == '\n') {
+				lineEnd = i + 1;
+				return (i > start && buffer[i - 1] == '\r') ? i - 1 - start : i - start;
+			}
+		}
+
+		scanned = end - start;
+		return -1;
+	}
+
+	/**
+	 * Returns the payload length of the buffered frame, or -1 if the length has not been
+	 * received yet. A negative length or one over FrameFormat.MAX_FRAME_SIZE would wait
+	 * for bytes that never come, so it is rejected.
+	 */
+	private int getFrameLength() throws IOException {
+		if (end - start < 4) {
+			return -1;
+		}
+
+		int length = ((buffer[start] & 0xFF) << 24)
+			 | ((buffer[start + 1] & 0xFF) << 16)
+			 | ((buffer[start + 2] & 0xFF) << 8)
+			 | (buffer[start + 3] & 0xFF);
+
+		if (length < 0 || length > FrameFormat.MAX_FRAME_SIZE) {
+			throw new IOException("Invalid frame length " + length);
+		}
+
+		return length;
+	}
+
+	/**
+	 * Marks the bytes before the given index as read.
+	 */
+	private void consume(int index) {
+		start = index;
+		scanned = 0;
+	}
+
+	/**
+	 * Reads a binary frame, or returns null if the stream has ended.
+	 *
+	 * The returned buffer is positioned at the start of the payload and is only valid until
+	 * the next read.
+	 *
+	 * @throws IOException if reading fails or the length of the frame is invalid
+	 */
+	public ByteBuffer readFrame() throws IOException {
+		if (!ensure(4)) {
+			return null;
+		}
+
+		int length = getFrameLength();
+		if (length < 0 || !ensure(4 + length)) {
+			return null;
+		}
+
+		return pollFrame();
+	}
+
+	/**
+	 * Makes sure that count bytes are buffered, returns false if the stream ends first.
+	 */
+	private boolean ensure(int count) throws IOException {
+		while (end - start < count) {
+			if (!fill(count - (end - start))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads at least one more byte into the buffer, making room for needed bytes.
+	 * Returns false if the stream has ended.
+	 */
+	private boolean fill(int needed) throws IOException {
+		if (buffer.length - end < needed) {
+			makeRoom(needed);
+		}
+
+		int read = in.read(buffer, end, buffer.length - end);
+		if (read < 0) {
+			return false;
+		}
+
+		end += read;
+		return true;
+	}
+
+	/**
+	 * Moves the unread bytes to the start of the buffer, growing it if there is no room
+	 * for needed more bytes.
+	 */
+	private void makeRoom(int needed) {
+		int remaining = end - start;
+
+		if (buffer.length - remaining < needed) {
+			byte[] larger = new byte[Math.max(buffer.length * 2, remaining + needed)];
+			System.arraycopy(buffer, start, larger, 0, remaining);
+			buffer = larger;
+			frame = ByteBuffer.wrap(buffer);
+			input = ByteBuffer.wrap(buffer);
+		}
+		else {
+			System.arraycopy(buffer, start, buffer, 0, remaining);
+		}
+
+		lineEnd -= start;
+		start = 0;
+		end = remaining;
+	}
+}
@@ -0,0 +1,163 @@
+package bwapiproxy.core.protocol;
+/**
+ * Cursor over the bytes of a text message, such as a per-frame update line.
+ *
+ * Fields are parsed in place, in a single pass, without creating intermediate Strings.
+ * Fields are separated by ';' and sections (players, units) are separated by ':'.
+ * A cursor can be reset and reused for every frame.
+ */
+public class TextCursor {
+
+	/** the message bytes */
+	private byte[] data;
+
+	/** index of the next unread byte */
+	private int position;
+
+	/** index after the last byte of the message */
+	private int limit;
+
+	/** the separator that ended the last field, or 0 if the message ended */
+	private byte separator;
+
+	public TextCursor() {
+		data = new byte[0];
+	}
+
+	/**
+	 * Creates a cursor over a copy of the given text.
+	 */
+	public TextCursor(String text) {
+		int length = text.length();
+		byte[] bytes = new byte[length];
+		for (int i=0; i<length; i++) {
+			bytes[i] = (byte)text.charAt(i);
+		}
+
+		reset(bytes, 0, length);
+	}
+
+	/**
+	 * Points the cursor at a new message.
+	 */
+	public void reset(byte[] data, int offset, int length) {
+		this.data = data;
+		this.position = offset;
+		this.limit = offset + length;
+		this.separator = 0;
+	}
+
+	/**
+	 * Returns the message bytes, the unread bytes are between getPosition and getLimit.
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+	/**
+	 * Returns the index of the next unread byte.
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns the index after the last byte of the message.
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Returns true if there are unread bytes.
+	 */
+	public boolean hasMore() {
+		return position < limit;
+	}
+
+	/**
+	 * Returns the separator that ended the last field read, ':' or ';', or 0 if
+	 * the message ended.
+	 */
+	public byte getSeparator() {
+		return separator;
+	}
+
+	/**
+	 * Parses an integer field and moves past the separator that follows it.
+	 *
+	 * Non-digit characters in the field are ignored, an empty field is 0.
+	 */
+	public int nextInt() {
+		boolean negative = false;
+		int value = 0;
+
+		if (position < limit && data[position] == '-') {
+			negative = true;
+			position++;
+		}
+
+		while (position < limit) {
+			byte b = data[position++];
+
+			if (b >= '0' && b <= '9') {
+				value = value * 10 + (b - '0');
+			}
+			else if (b == ';' || b == ':') {
+				separator = b;
+				return negative ? -value : value;
+			}
+		}
+
+		separator = 0;
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses a single digit, without moving past any separator.
+	 *
+	 * Returns 0 if the next character is not a digit, in which case the cursor does not move.
+	 */
+	public int nextDigit() {
+		if (position < limit) {
+			byte b = data[position];
+
+			if (b >= '0' && b <= '9') {
+				position++;
+				return b - '0';
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Moves past the next separator, skipping the rest of the current field.
+	 */
+	public void skipField() {
+		while (position < limit) {
+			byte b = data[position++];
+
+			if (b == ';' || b == ':') {
+				separator = b;
+				return;
+			}
+		}
+
+		separator = 0;
+	}
+
+	/**
+	 * Moves past the next ':', skipping the rest of the current section.
+	 */
+	public void skipSection() {
+		while (position < limit) {
+			if (data[position++] == ':') {
+				separator = ':';
+				return;
+			}
+		}
+
+		separator = 0;
+	}
+}
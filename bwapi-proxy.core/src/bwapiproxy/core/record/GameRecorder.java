@@ -0,0 +1,339 @@
+package bwapiproxy.core.record;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+/**
+ * Records the messages of a game to a file, so that games can be replayed later.
+ *
+ * Recording does not block the game: records are appended to an in-memory block, and full
+ * blocks are compressed and written by a background thread. If the writer falls behind
+ * and all blocks are waiting to be written, records are dropped and counted instead, and
+ * a GAP record with the number of records dropped is written before the next record that
+ * is kept, so that readers know the recording is incomplete there. RecordingReader reads
+ * the recordings.
+ *
+ * File format (big-endian):
+ *    byte[4] MAGIC
+ *    byte    VERSION
+ *    blocks:
+ *       int     compressed length
+ *       int     uncompressed length
+ *       byte[]  block, compressed with Deflater
+ *
+ * A block holds whole records:
+ *    byte    record type (LINE, OPTIONS, TEXT_UPDATE, BINARY_UPDATE, COMMANDS, GAP)
+ *    long    time of the record, in microseconds since the recording started
+ *    int     length
+ *    byte[]  the message, as sent over the connection without line terminators or 
+ *            frame length prefixes, or for GAP records the int number of records dropped
+ */
+public class GameRecorder {
+
+	/** file signature */
+	public static final byte[] MAGIC = { 'B', 'W', 'P', 'R' };
+
+	/** file format version */
+	public static final byte VERSION = 2;
+
+	/** a handshake line from the client */
+	public static final byte LINE = 0;
+
+	/** the bot options sent to the client */
+	public static final byte OPTIONS = 1;
+
+	/** a text update */
+	public static final byte TEXT_UPDATE = 2;
+
+	/** a binary update frame */
+	public static final byte BINARY_UPDATE = 3;
+
+	/** a command response */
+	public static final byte COMMANDS = 4;
+
+	/** records were dropped before the next record */
+	public static final byte GAP = 5;
+
+	/** size of the record header */
+	static final int RECORD_HEADER_SIZE = 13;
+
+	/** size of the block header */
+	static final int BLOCK_HEADER_SIZE = 8;
+
+	/** uncompressed size at which a block is written */
+	private static final int BLOCK_SIZE = 256 * 1024;
+
+	/** number of blocks that can be waiting to be written */
+	private static final int BLOCK_COUNT = 8;
+
+	/**
+	 * Records waiting to be written.
+	 */
+	private static class Block {
+		private byte[] data;
+		private int length = 0;
+
+		private Block(int capacity) {
+			data = new byte[capacity];
+		}
+	}
+
+	/** blocks that can be filled, with room for the block close may add */
+	private ArrayBlockingQueue<Block> free = new ArrayBlockingQueue<Block>(BLOCK_COUNT + 1);
+
+	/** blocks waiting to be written, a block without data ends the recording */
+	private ArrayBlockingQueue<Block> full = new ArrayBlockingQueue<Block>(BLOCK_COUNT + 2);
+
+	/** the block being filled, or null if all blocks are waiting to be written */
+	private Block current;
+
+	/** when the recording started */
+	private long startTime = System.nanoTime();
+
+	/** number of records dropped because the writer fell behind */
+	private AtomicLong dropped = new AtomicLong();
+
+	/** number of records dropped since the last GAP record */
+	private int gap = 0;
+
+	/** number of bytes written to the file */
+	private AtomicLong written = new AtomicLong();
+
+	private FileChannel file;
+
+	private Thread writer;
+
+	private boolean closed = false;
+
+	/**
+	 * Creates the recording file, and starts the writer.
+	 */
+	public GameRecorder(File path) throws IOException {
+		file = new FileOutputStream(path).getChannel();
+
+		ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1);
+		header.put(MAGIC);
+		header.put(VERSION);
+		header.flip();
+		write(header);
+
+		for (int i=0; i<BLOCK_COUNT; i++) {
+			free.add(new Block(BLOCK_SIZE + 64 * 1024));
+		}
+
+		current = free.poll();
+
+		writer = new Thread("GameRecorder " + path.getName()) {
+			public void run() {
+				writeBlocks();
+			}
+		};
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Records a message. Records must be added by one thread at a time.
+	 */
+	public void record(byte type, byte[] data, int offset, int length) {
+		if (closed) {
+			return;
+		}
+
+		if (current == null) {
+			current = free.poll();
+			if (current == null) {
+				dropped.incrementAndGet();
+				gap++;
+				return;
+			}
+		}
+
+		Block block = current;
+		if (gap > 0) {
+			appendGap(block);
+		}
+
+		append(block, type, data, offset, length);
+
+		if (block.length >= BLOCK_SIZE) {
+			full.add(block);
+			current = free.poll();
+		}
+	}
+
+	/**
+	 * Appends a GAP record with the number of records dropped since the last one.
+	 */
+	private void appendGap(Block block) {
+		byte[] count = new byte[4];
+		putInt(count, 0, gap);
+		append(block, GAP, count, 0, count.length);
+		gap = 0;
+	}
+
+	private void append(Block block, byte type, byte[] data, int offset, int length) {
+		int size = RECORD_HEADER_SIZE + length;
+		if (block.data.length - block.length < size) {
+			byte[] larger = new byte[Math.max(block.data.length * 2, block.length + size)];
+			System.arraycopy(block.data, 0, larger, 0, block.length);
+			block.data = larger;
+		}
+
+		long time = (System.nanoTime() - startTime) / 1000;
+		int position = block.length;
+		block.data[position] = type;
+		putInt(block.data, position + 1, (int)(time >>> 32));
+		putInt(block.data, position + 5, (int)time);
+		putInt(block.data, position + 9, length);
+		System.arraycopy(data, offset, block.data, position + RECORD_HEADER_SIZE, length);
+		block.length += size;
+	}
+
+	/**
+	 * Records the remaining bytes of the buffer, without changing its position. The buffer
+	 * must be backed by an array.
+	 */
+	public void record(byte type, ByteBuffer data) {
+		record(type, data.array(), data.arrayOffset() + data.position(), data.remaining());
+	}
+
+	/**
+	 * Records a text message.
+	 */
+	public void record(byte type, String text) {
+		int length = text.length();
+		byte[] data = new byte[length];
+		for (int i=0; i<length; i++) {
+			data[i] = (byte)text.charAt(i);
+		}
+
+		record(type, data, 0, length);
+	}
+
+	/**
+	 * Ends the recording. The remaining records are written and the file is closed in the 
+	 * background, see waitUntilWritten.
+	 */
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+
+		// records dropped at the end of the recording are marked in a block of their own
+		if (gap > 0) {
+			if (current == null) {
+				current = new Block(RECORD_HEADER_SIZE + 4);
+			}
+
+			appendGap(current);
+		}
+
+		if (current != null && current.length > 0) {
+			full.add(current);
+		}
+
+		current = null;
+		full.add(new Block(0));
+	}
+
+	/**
+	 * Waits until the recording has been closed and completely written.
+	 */
+	public void waitUntilWritten() throws InterruptedException {
+		writer.join();
+	}
+
+	/**
+	 * Returns the number of records dropped because the writer fell behind.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Returns the number of bytes written to the file.
+	 */
+	public long getBytesWritten() {
+		return written.get();
+	}
+
+	/**
+	 * Compresses and writes the full blocks, until the recording is closed.
+	 */
+	private void writeBlocks() {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		byte[] compressed = new byte[BLOCK_SIZE];
+		ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+
+		try {
+			while (true) {
+				Block block = full.take();
+				if (block.length == 0) {
+					break;
+				}
+
+				deflater.reset();
+				deflater.setInput(block.data, 0, block.length);
+				deflater.finish();
+
+				int length = 0;
+				while (!deflater.finished()) {
+					if (length == compressed.length) {
+						byte[] larger = new byte[compressed.length * 2];
+						System.arraycopy(compressed, 0, larger, 0, length);
+						compressed = larger;
+					}
+
+					length += deflater.deflate(compressed, length, compressed.length - length);
+				}
+
+				header.clear();
+				header.putInt(length);
+				header.putInt(block.length);
+				header.flip();
+				write(header);
+				write(ByteBuffer.wrap(compressed, 0, length));
+
+				block.length = 0;
+				free.add(block);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+		finally {
+			deflater.end();
+
+			try {
+				file.close();
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void write(ByteBuffer data) throws IOException {
+		while (data.hasRemaining()) {
+			written.addAndGet(file.write(data));
+		}
+	}
+
+	private static void putInt(byte[] data, int index, int value) {
+		data[index] = (byte)(value >>> 24);
+		data[index + 1] = (byte)(value >>> 16);
+		data[index + 2] = (byte)(value >>> 8);
+		data[index + 3] = (byte)value;
+	}
+}
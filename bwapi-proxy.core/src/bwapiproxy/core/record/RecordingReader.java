@@ -0,0 +1,260 @@
+package bwapiproxy.core.record;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+/**
+ * Reads the records of a recording written by GameRecorder.
+ *
+ * The file is memory-mapped in windows, so that large recordings are streamed from the
+ * page cache without reading them into the heap, and only one block is decompressed at 
+ * a time:
+ *
+ *    RecordingReader reader = new RecordingReader(file);
+ *    while (reader.next()) {
+ *        ... reader.getType(), reader.getData()
+ *    }
+ *    reader.close();
+ *
+ * Records that the recorder dropped are reported by GAP records, see getGapSize. After a
+ * gap, delta updates cannot be applied to the state rebuilt from the earlier records.
+ */
+public class RecordingReader {
+
+	/** size of the mapped windows */
+	private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+	/** size of the mapped windows of this reader */
+	private int windowSize;
+
+	private RandomAccessFile file;
+
+	private FileChannel channel;
+
+	/** size of the file */
+	private long size;
+
+	/** the mapped window of the file */
+	private MappedByteBuffer window;
+
+	/** offset of the window in the file */
+	private long windowOffset;
+
+	/** offset of the next block in the file */
+	private long blockOffset;
+
+	/** compressed bytes of the current block */
+	private byte[] compressed = new byte[64 * 1024];
+
+	/** the decompressed records of the current block */
+	private byte[] block = new byte[512 * 1024];
+
+	/** length of the current block */
+	private int blockLength = 0;
+
+	/** offset of the next record in the block */
+	private int position = 0;
+
+	private Inflater inflater = new Inflater();
+
+	/** the current record */
+	private byte type;
+	private long time;
+	private ByteBuffer data = ByteBuffer.wrap(block);
+
+	/** number of records dropped before the current record */
+	private long droppedCount = 0;
+
+	/**
+	 * Opens a recording.
+	 */
+	public RecordingReader(File path) throws IOException {
+		this(path, WINDOW_SIZE);
+	}
+
+	/**
+	 * Opens a recording, mapping windows of the given size.
+	 */
+	RecordingReader(File path, int windowSize) throws IOException {
+		this.windowSize = windowSize;
+		file = new RandomAccessFile(path, "r");
+		channel = file.getChannel();
+		size = channel.size();
+
+		int headerSize = GameRecorder.MAGIC.length + 1;
+		map(0, headerSize);
+
+		for (int i=0; i<GameRecorder.MAGIC.length; i++) {
+			if (window.get(i) != GameRecorder.MAGIC[i]) {
+				close();
+				throw new IOException("Not a recording: " + path);
+			}
+		}
+
+		if (window.get(GameRecorder.MAGIC.length) != GameRecorder.VERSION) {
+			close();
+			throw new IOException("Unsupported recording version: " + window.get(GameRecorder.MAGIC.length));
+		}
+
+		blockOffset = headerSize;
+	}
+
+	/**
+	 * Moves to the next record, returns false at the end of the recording.
+	 */
+	public boolean next() throws IOException {
+		while (position >= blockLength) {
+			if (!readBlock()) {
+				return false;
+			}
+		}
+
+		type = block[position];
+		time = ((long)getInt(block, position + 1) << 32) | (getInt(block, position + 5) & 0xFFFFFFFFL);
+		int length = getInt(block, position + 9);
+
+		data.limit(position + GameRecorder.RECORD_HEADER_SIZE + length);
+		data.position(position + GameRecorder.RECORD_HEADER_SIZE);
+		position += GameRecorder.RECORD_HEADER_SIZE + length;
+
+		if (type == GameRecorder.GAP) {
+			droppedCount += getGapSize();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the type of the record, see GameRecorder.
+	 */
+	public byte getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the time of the record, in microseconds since the recording started.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Returns the number of records dropped before the next record, if the current record
+	 * is a GAP record, or 0.
+	 */
+	public int getGapSize() {
+		return type == GameRecorder.GAP ? getInt(block, data.position()) : 0;
+	}
+
+	/**
+	 * Returns the number of records the recorder dropped up to the current record.
+	 */
+	public long getDroppedCount() {
+		return droppedCount;
+	}
+
+	/**
+	 * Returns the message of the record. The buffer is only valid until next is called.
+	 */
+	public ByteBuffer getData() {
+		return data;
+	}
+
+	/**
+	 * Returns the message of the record as text.
+	 */
+	public String getText() {
+		return new String(block, data.position(), data.remaining(), Charset.forName("US-ASCII"));
+	}
+
+	public void close() throws IOException {
+		inflater.end();
+		window = null;
+		file.close();
+	}
+
+	/**
+	 * Decompresses the next block, returns false at the end of the file. A block that has
+	 * not been completely written, at the end of the recording of a game that did not end
+	 * cleanly, is ignored.
+	 */
+	private boolean readBlock() throws IOException {
+		if (blockOffset + GameRecorder.BLOCK_HEADER_SIZE > size) {
+			return false;
+		}
+
+		map(blockOffset, GameRecorder.BLOCK_HEADER_SIZE);
+		int compressedLength = window.getInt((int)(blockOffset - windowOffset));
+		int uncompressedLength = window.getInt((int)(blockOffset - windowOffset) + 4);
+		long dataOffset = blockOffset + GameRecorder.BLOCK_HEADER_SIZE;
+
+		if (compressedLength < 0 || uncompressedLength < 0 || dataOffset + compressedLength > size) {
+			return false;
+		}
+
+		map(dataOffset, compressedLength);
+		if (compressed.length < compressedLength) {
+			compressed = new byte[compressedLength];
+		}
+
+		window.position((int)(dataOffset - windowOffset));
+		window.get(compressed, 0, compressedLength);
+
+		if (block.length < uncompressedLength) {
+			block = new byte[uncompressedLength];
+			data = ByteBuffer.wrap(block);
+		}
+
+		inflater.reset();
+		inflater.setInput(compressed, 0, compressedLength);
+
+		try {
+			int length = 0;
+			while (length < uncompressedLength && !inflater.finished()) {
+				int inflated = inflater.inflate(block, length, uncompressedLength - length);
+				if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+
+				length += inflated;
+			}
+
+			if (length != uncompressedLength) {
+				throw new IOException("Corrupt block at " + blockOffset);
+			}
+		}
+		catch (DataFormatException e) {
+			throw new IOException("Corrupt block at " + blockOffset + ": " + e.getMessage());
+		}
+
+		blockOffset = dataOffset + compressedLength;
+		blockLength = uncompressedLength;
+		position = 0;
+		return true;
+	}
+
+	/**
+	 * Makes sure the mapped window covers length bytes at the offset.
+	 */
+	private void map(long offset, int length) throws IOException {
+		if (window != null && offset >= windowOffset && offset + length <= windowOffset + window.capacity()) {
+			return;
+		}
+
+		windowOffset = offset;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(size - offset, Math.max(windowSize, length)));
+	}
+
+	private static int getInt(byte[] data, int index) {
+		return ((data[index] & 0xFF) << 24)
+			 | ((data[index + 1] & 0xFF) << 16)
+			 | ((data[index + 2] & 0xFF) << 8)
+			 | (data[index + 3] & 0xFF);
+	}
+}
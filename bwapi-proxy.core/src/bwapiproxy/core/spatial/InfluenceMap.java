@@ -0,0 +1,265 @@
+package bwapiproxy.core.spatial;
+
+import java.util.List;
+
+import bwapiproxy.core.util.IntHashMap;
+import bwapiproxy.core.wmes.unit.UnitWME;
+import bwapiproxy.core.wmes.unit.UnitWME.Category;
+/**
+ * Influence of the player, enemy and allied units on each tile of the map.
+ *
+ * Each of the three categories has a layer, a float[] with a cell per tile, and each unit
+ * adds a stencil to the layer of its category around its position: strength on its own
+ * tile and strength / distance on the tiles within the radius.
+ *
+ * The layers are updated incrementally. The map remembers where it stamped each unit, and
+ * an update only removes and adds the stencils of the units that moved, appeared or
+ * disappeared since the previous update, so a frame where most units stand still costs
+ * little more than a lookup per unit. The layers hold the sums of the stencils, and
+ * queries clamp them to the maximum influence.
+ *
+ * Adding and removing floats would drift, so the stencil values are rounded to multiples
+ * of 1 / STENCIL_SCALE. Sums of such values below 2^24 / STENCIL_SCALE are exact floats, so
+ * removing a stencil restores the layer exactly, however long the game.
+ *
+ * Not thread safe: a bot or the GUI keeps its own map and updates it with the units of
+ * each snapshot it reads.
+ */
+public class InfluenceMap {
+
+	/** the stencil values are multiples of 1 / STENCIL_SCALE */
+	public static final int STENCIL_SCALE = 4096;
+
+	/** the categories that have layers */
+	private static final Category[] CATEGORIES = { Category.Player, Category.Enemy, Category.Ally };
+
+	private int width;
+	private int height;
+
+	/** the layers, by category ordinal, null for categories without a layer */
+	private float[][] layers = new float[Category.values().length][];
+
+	/** the stencil, (2 * radius + 1)^2 values centered on the unit */
+	private int radius;
+	private float[] stencil;
+
+	/** largest influence returned by queries */
+	private float maxInfluence = 1;
+
+	/** where each unit was stamped, by unit ID */
+	private IntHashMap<Stamp> stamps = new IntHashMap<Stamp>(512);
+
+	/** the game frame of the last update */
+	private int frame = -1;
+
+	/** number of updates, used to find the units that were not seen */
+	private int update = 0;
+
+	/** IDs of the units that are gone, reused by every update */
+	private int[] goneIDs = new int[16];
+
+	/**
+	 * Where a unit was stamped.
+	 */
+	private static class Stamp {
+		int x;
+		int y;
+		float[] layer;
+
+		/** the update in which the unit was last seen */
+		int seen;
+	}
+
+	/**
+	 * Creates a map with the stencil of the GUI overlay: 0.5 on the unit's tile and
+	 * 0.5 / distance within 5 tiles.
+	 */
+	public InfluenceMap(int width, int height) {
+		this(width, height, 5, 0.5f);
+	}
+
+	/**
+	 * Creates a map with a stencil of the given radius and strength.
+	 */
+	public InfluenceMap(int width, int height, int radius, float strength) {
+		this.width = width;
+		this.height = height;
+		this.radius = radius;
+
+		for (Category category : CATEGORIES) {
+			layers[category.ordinal()] = new float[width * height];
+		}
+
+		int size = 2 * radius + 1;
+		stencil = new float[size * size];
+
+		for (int dy=-radius; dy<=radius; dy++) {
+			for (int dx=-radius; dx<=radius; dx++) {
+				double distance = Math.sqrt(dx * dx + dy * dy);
+				float value = 0;
+
+				if (distance == 0) {
+					value = strength;
+				}
+				else if (distance < radius) {
+					value = (float)(strength / distance);
+				}
+
+				stencil[(dy + radius) * size + dx + radius] = Math.round(value * STENCIL_SCALE) / (float)STENCIL_SCALE;
+			}
+		}
+	}
+
+	/**
+	 * Updates the layers with the units of a frame. Units of other categories than
+	 * player, enemy and ally are ignored. Updating twice with the same frame does nothing.
+	 */
+	public void update(int gameFrame, List<? extends UnitWME> units) {
+		if (gameFrame == frame) {
+			return;
+		}
+
+		frame = gameFrame;
+		update++;
+
+		for (int i=0; i<units.size(); i++) {
+			UnitWME unit = units.get(i);
+			float[] layer = layers[unit.getCategory().ordinal()];
+			if (layer == null) {
+				continue;
+			}
+
+			Stamp stamp = stamps.get(unit.getID());
+			if (stamp == null) {
+				stamp = new Stamp();
+				stamp.x = unit.getX();
+				stamp.y = unit.getY();
+				stamp.layer = layer;
+				stamps.put(unit.getID(), stamp);
+				apply(layer, stamp.x, stamp.y, 1);
+			}
+			else if (stamp.x != unit.getX() || stamp.y != unit.getY() || stamp.layer != layer) {
+				apply(stamp.layer, stamp.x, stamp.y, -1);
+				stamp.x = unit.getX();
+				stamp.y = unit.getY();
+				stamp.layer = layer;
+				apply(layer, stamp.x, stamp.y, 1);
+			}
+
+			stamp.seen = update;
+		}
+
+		// remove the units that are gone, after iterating as the map cannot be modified while iterating
+		int gone = 0;
+		for (int slot=0; slot<stamps.getCapacity(); slot++) {
+			Stamp stamp = stamps.getValueAt(slot);
+			if (stamp != null && stamp.seen != update) {
+				apply(stamp.layer, stamp.x, stamp.y, -1);
+
+				if (gone == goneIDs.length) {
+					int[] ids = new int[gone * 2];
+					System.arraycopy(goneIDs, 0, ids, 0, gone);
+					goneIDs = ids;
+				}
+
+				goneIDs[gone++] = stamps.getKeyAt(slot);
+			}
+		}
+
+		for (int i=0; i<gone; i++) {
+			stamps.remove(goneIDs[i]);
+		}
+	}
+
+	/**
+	 * Recomputes the layers from the stamped positions, e.g. after the layers returned by
+	 * getLayer were modified by mistake.
+	 */
+	public void rebuild() {
+		for (Category category : CATEGORIES) {
+			float[] layer = layers[category.ordinal()];
+			for (int i=0; i<layer.length; i++) {
+				layer[i] = 0;
+			}
+		}
+
+		for (int slot=0; slot<stamps.getCapacity(); slot++) {
+			Stamp stamp = stamps.getValueAt(slot);
+			if (stamp != null) {
+				apply(stamp.layer, stamp.x, stamp.y, 1);
+			}
+		}
+	}
+
+	/**
+	 * Returns the influence of a category on the tile, between 0 and the maximum
+	 * influence, 0 for tiles off the map and categories without a layer.
+	 */
+	public float getInfluence(Category category, int x, int y) {
+		float[] layer = layers[category.ordinal()];
+		if (layer == null || x < 0 || y < 0 || x >= width || y >= height) {
+			return 0;
+		}
+
+		return Math.max(0, Math.min(maxInfluence, layer[y * width + x]));
+	}
+
+	/**
+	 * Returns the player influence minus the enemy influence on the tile, between minus
+	 * and plus the maximum influence.
+	 */
+	public float getBalance(int x, int y) {
+		return getInfluence(Category.Player, x, y) - getInfluence(Category.Enemy, x, y);
+	}
+
+	/**
+	 * Returns the layer of a category, the unclamped sums of the stencils row by row, or
+	 * null for categories without a layer. Must not be modified.
+	 */
+	public float[] getLayer(Category category) {
+		return layers[category.ordinal()];
+	}
+
+	public float getMaxInfluence() {
+		return maxInfluence;
+	}
+
+	/**
+	 * Sets the largest influence returned by getInfluence.
+	 */
+	public void setMaxInfluence(float maxInfluence) {
+		this.maxInfluence = maxInfluence;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Adds or subtracts the stencil centered on the tile.
+	 */
+	private void apply(float[] layer, int x, int y, int sign) {
+		int size = 2 * radius + 1;
+		int x0 = Math.max(0, x - radius);
+		int x1 = Math.min(width - 1, x + radius);
+		int y0 = Math.max(0, y - radius);
+		int y1 = Math.min(height - 1, y + radius);
+
+		for (int ty=y0; ty<=y1; ty++) {
+			int row = ty * width;
+			int stencilRow = (ty - y + radius) * size - x + radius;
+
+			for (int tx=x0; tx<=x1; tx++) {
+				layer[row + tx] += sign * stencil[stencilRow + tx];
+			}
+		}
+	}
+}
@@ -0,0 +1,439 @@
+package bwapiproxy.core.spatial;
+
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Immutable k-d tree of points that rarely change, such as mineral patches and base
+ * locations, for nearest neighbour queries.
+ *
+ * The tree is stored in arrays: the points of a range are split at the median along x
+ * or y, alternating with depth, and the median is stored in the middle of the range, so
+ * the children of a node are the two halves of its range and no node objects are needed.
+ *
+ * Every point has an int key, such as a unit ID, and points are removed by key. Removing
+ * points does not rebuild the tree, it returns a tree sharing the arrays of this one with
+ * the removed points marked, and the tree is only rebuilt once half of its points have
+ * been removed. Trees are never modified, so they can be read by any thread.
+ *
+ * Coordinates and distances are in tiles.
+ */
+public class PointTree<T> {
+
+	/** the points in tree order */
+	private int[] xs;
+	private int[] ys;
+	private int[] keys;
+	private Object[] items;
+
+	/** the keys in ascending order, and the index of each in the tree */
+	private int[] sortedKeys;
+	private int[] keyIndices;
+
+	/** the removed points, a bit per point in tree order */
+	private long[] removed;
+
+	/** number of points that have not been removed */
+	private int size;
+
+	/**
+	 * Creates a tree of the given points, the arrays are not kept.
+	 */
+	public PointTree(int[] keys, int[] xs, int[] ys, T[] items) {
+		int count = keys.length;
+		this.xs = xs.clone();
+		this.ys = ys.clone();
+		this.keys = keys.clone();
+		this.items = items.clone();
+		this.removed = new long[(count + 63) >>> 6];
+		this.size = count;
+
+		build(0, count, true);
+		indexKeys();
+	}
+
+	/**
+	 * Creates a tree without any points.
+	 */
+	@SuppressWarnings("unchecked")
+	public PointTree() {
+		this(new int[0], new int[0], new int[0], (T[])new Object[0]);
+	}
+
+	/**
+	 * Returns the number of points in the tree.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the tree has a point with the key.
+	 */
+	public boolean contains(int key) {
+		int index = indexOf(key);
+		return index >= 0 && !isRemoved(index);
+	}
+
+	/**
+	 * Returns the item of the point with the key, or null if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int key) {
+		int index = indexOf(key);
+		return index >= 0 && !isRemoved(index) ? (T)items[index] : null;
+	}
+
+	/**
+	 * Adds the keys of the points of the tree to the list.
+	 */
+	public void getKeys(List<Integer> result) {
+		for (int i=0; i<keys.length; i++) {
+			if (!isRemoved(i)) {
+				result.add(keys[i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns a tree without the points with the given keys, keys that are not in the tree
+	 * are ignored. Returns this tree if no point is removed.
+	 */
+	@SuppressWarnings("unchecked")
+	public PointTree<T> remove(int[] removedKeys, int count) {
+		long[] mask = null;
+		int removedCount = 0;
+
+		for (int i=0; i<count; i++) {
+			int index = indexOf(removedKeys[i]);
+			if (index < 0 || isRemoved(index) || (mask != null && (mask[index >>> 6] & (1L << index)) != 0)) {
+				continue;
+			}
+
+			if (mask == null) {
+				mask = removed.clone();
+			}
+
+			mask[index >>> 6] |= 1L << index;
+			removedCount++;
+		}
+
+		if (mask == null) {
+			return this;
+		}
+
+		int remaining = size - removedCount;
+
+		// rebuild once half of the points are gone, so queries do not walk dead branches
+		if (remaining * 2 < keys.length) {
+			int[] newKeys = new int[remaining];
+			int[] newXs = new int[remaining];
+			int[] newYs = new int[remaining];
+			Object[] newItems = new Object[remaining];
+			int next = 0;
+
+			for (int i=0; i<keys.length; i++) {
+				if ((mask[i >>> 6] & (1L << i)) == 0) {
+					newKeys[next] = keys[i];
+					newXs[next] = xs[i];
+					newYs[next] = ys[i];
+					newItems[next] = items[i];
+					next++;
+				}
+			}
+
+			return new PointTree<T>(newKeys, newXs, newYs, (T[])newItems);
+		}
+
+		PointTree<T> tree = new PointTree<T>(this);
+		tree.removed = mask;
+		tree.size = remaining;
+		return tree;
+	}
+
+	/**
+	 * Copies the arrays of another tree, which are shared as they are never modified.
+	 */
+	private PointTree(PointTree<T> tree) {
+		this.xs = tree.xs;
+		this.ys = tree.ys;
+		this.keys = tree.keys;
+		this.items = tree.items;
+		this.sortedKeys = tree.sortedKeys;
+		this.keyIndices = tree.keyIndices;
+		this.removed = tree.removed;
+		this.size = tree.size;
+	}
+
+	/**
+	 * Returns the item of the closest point to the position within the maximum distance,
+	 * or null if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	public T nearest(double x, double y, double maxDistance) {
+		double[] best = { maxDistance * maxDistance };
+		int index = nearest(0, keys.length, true, x, y, best, -1);
+		return index >= 0 ? (T)items[index] : null;
+	}
+
+	/**
+	 * Adds the items of the k closest points to the position within the maximum distance
+	 * to the result, closest first, and returns the number of items added.
+	 */
+	@SuppressWarnings("unchecked")
+	public int nearest(double x, double y, int k, double maxDistance, List<? super T> result) {
+		if (k <= 0) {
+			return 0;
+		}
+
+		// the closest points found, sorted by distance
+		int[] found = new int[k];
+		double[] distances = new double[k];
+		int[] count = { 0 };
+
+		nearest(0, keys.length, true, x, y, maxDistance * maxDistance, found, distances, count);
+
+		for (int i=0; i<count[0]; i++) {
+			result.add((T)items[found[i]]);
+		}
+
+		return count[0];
+	}
+
+	/**
+	 * Adds the items of the points within the radius of the position to the result, and
+	 * returns the number of items added. The items are not sorted.
+	 */
+	public int inRadius(double x, double y, double radius, List<? super T> result) {
+		return inRadius(0, keys.length, true, x, y, radius * radius, result);
+	}
+
+	/**
+	 * Sorts the points of a range into a subtree.
+	 */
+	private void build(int from, int to, boolean splitX) {
+		if (to - from <= 1) {
+			return;
+		}
+
+		int median = (from + to) >>> 1;
+		select(from, to, median, splitX);
+		build(from, median, !splitX);
+		build(median + 1, to, !splitX);
+	}
+
+	/**
+	 * Moves the point of the given rank along the axis to its place in the range, with
+	 * smaller points before it and larger points after it (quickselect).
+	 */
+	private void select(int from, int to, int rank, boolean splitX) {
+		int[] axis = splitX ? xs : ys;
+		int left = from;
+		int right = to - 1;
+
+		while (left < right) {
+			int pivot = axis[(left + right) >>> 1];
+			int i = left;
+			int j = right;
+
+			while (i <= j) {
+				while (axis[i] < pivot) {
+					i++;
+				}
+
+				while (axis[j] > pivot) {
+					j--;
+				}
+
+				if (i <= j) {
+					swap(i++, j--);
+				}
+			}
+
+			if (rank <= j) {
+				right = j;
+			}
+			else if (rank >= i) {
+				left = i;
+			}
+			else {
+				return;
+			}
+		}
+	}
+
+	private void swap(int i, int j) {
+		int x = xs[i];
+		xs[i] = xs[j];
+		xs[j] = x;
+
+		int y = ys[i];
+		ys[i] = ys[j];
+		ys[j] = y;
+
+		int key = keys[i];
+		keys[i] = keys[j];
+		keys[j] = key;
+
+		Object item = items[i];
+		items[i] = items[j];
+		items[j] = item;
+	}
+
+	/**
+	 * Builds the key lookup arrays.
+	 */
+	private void indexKeys() {
+		int count = keys.length;
+		long[] pairs = new long[count];
+
+		for (int i=0; i<count; i++) {
+			pairs[i] = ((long)keys[i] << 32) | i;
+		}
+
+		Arrays.sort(pairs);
+		sortedKeys = new int[count];
+		keyIndices = new int[count];
+
+		for (int i=0; i<count; i++) {
+			sortedKeys[i] = (int)(pairs[i] >> 32);
+			keyIndices[i] = (int)pairs[i];
+		}
+	}
+
+	/**
+	 * Returns the tree index of the point with the key, or -1.
+	 */
+	private int indexOf(int key) {
+		int i = Arrays.binarySearch(sortedKeys, key);
+		return i >= 0 ? keyIndices[i] : -1;
+	}
+
+	private boolean isRemoved(int index) {
+		return (removed[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Searches a subtree for a point closer than best[0], and returns the closest point
+	 * found or the given best index.
+	 */
+	private int nearest(int from, int to, boolean splitX, double x, double y, double[] best, int bestIndex) {
+		if (from >= to) {
+			return bestIndex;
+		}
+
+		int median = (from + to) >>> 1;
+
+		if (!isRemoved(median)) {
+			double dx = xs[median] - x;
+			double dy = ys[median] - y;
+			double distance = dx * dx + dy * dy;
+
+			if (distance <= best[0]) {
+				best[0] = distance;
+				bestIndex = median;
+			}
+		}
+
+		double offset = splitX ? x - xs[median] : y - ys[median];
+
+		// search the side of the position first, the other side only if it can be closer
+		if (offset < 0) {
+			bestIndex = nearest(from, median, !splitX, x, y, best, bestIndex);
+			if (offset * offset <= best[0]) {
+				bestIndex = nearest(median + 1, to, !splitX, x, y, best, bestIndex);
+			}
+		}
+		else {
+			bestIndex = nearest(median + 1, to, !splitX, x, y, best, bestIndex);
+			if (offset * offset <= best[0]) {
+				bestIndex = nearest(from, median, !splitX, x, y, best, bestIndex);
+			}
+		}
+
+		return bestIndex;
+	}
+
+	/**
+	 * Searches a subtree for the k closest points, keeping the found points sorted by
+	 * distance. Points further than the k-th point found, or than the limit if fewer
+	 * points have been found, are skipped.
+	 */
+	private void nearest(int from, int to, boolean splitX, double x, double y, double limit,
+			int[] found, double[] distances, int[] count) {
+
+		if (from >= to) {
+			return;
+		}
+
+		int k = found.length;
+		int median = (from + to) >>> 1;
+
+		if (!isRemoved(median)) {
+			double dx = xs[median] - x;
+			double dy = ys[median] - y;
+			double distance = dx * dx + dy * dy;
+
+			if (distance <= limit && (count[0] < k || distance < distances[k - 1])) {
+				int i = Math.min(count[0], k - 1);
+				while (i > 0 && distances[i - 1] > distance) {
+					found[i] = found[i - 1];
+					distances[i] = distances[i - 1];
+					i--;
+				}
+
+				found[i] = median;
+				distances[i] = distance;
+				if (count[0] < k) {
+					count[0]++;
+				}
+			}
+		}
+
+		double offset = splitX ? x - xs[median] : y - ys[median];
+		int nearFrom = offset < 0 ? from : median + 1;
+		int nearTo = offset < 0 ? median : to;
+		int farFrom = offset < 0 ? median + 1 : from;
+		int farTo = offset < 0 ? to : median;
+
+		nearest(nearFrom, nearTo, !splitX, x, y, limit, found, distances, count);
+
+		double bound = count[0] < k ? limit : distances[k - 1];
+		if (offset * offset <= bound) {
+			nearest(farFrom, farTo, !splitX, x, y, limit, found, distances, count);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private int inRadius(int from, int to, boolean splitX, double x, double y, double radiusSquared,
+			List<? super T> result) {
+
+		if (from >= to) {
+			return 0;
+		}
+
+		int added = 0;
+		int median = (from + to) >>> 1;
+
+		if (!isRemoved(median)) {
+			double dx = xs[median] - x;
+			double dy = ys[median] - y;
+
+			if (dx * dx + dy * dy <= radiusSquared) {
+				result.add((T)items[median]);
+				added++;
+			}
+		}
+
+		double offset = splitX ? x - xs[median] : y - ys[median];
+
+		if (offset <= 0 || offset * offset <= radiusSquared) {
+			added += inRadius(from, median, !splitX, x, y, radiusSquared, result);
+		}
+
+		if (offset >= 0 || offset * offset <= radiusSquared) {
+			added += inRadius(median + 1, to, !splitX, x, y, radiusSquared, result);
+		}
+
+		return added;
+	}
+}
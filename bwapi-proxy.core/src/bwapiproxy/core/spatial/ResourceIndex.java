@@ -0,0 +1,192 @@
+package bwapiproxy.core.spatial;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bwapiproxy.core.util.IntHashMap;
+import bwapiproxy.core.wmes.BaseLocationWME;
+import bwapiproxy.core.wmes.StartingLocationWME;
+import bwapiproxy.core.wmes.unit.GeyserWME;
+import bwapiproxy.core.wmes.unit.MineralWME;
+import bwapiproxy.core.wmes.unit.UnitWME;
+/**
+ * Nearest neighbour index of the things that do not move during a game: mineral patches,
+ * geysers, base locations and starting locations.
+ *
+ * Each kind has a PointTree. The base and starting location trees are built once, and the
+ * resource trees are built from the first frame with resources and then only change when
+ * a resource disappears, e.g. a mineral patch that is mined out, or when a resource that
+ * was not indexed appears. Geysers stay in the game when depleted and stay indexed.
+ *
+ * Resources are indexed by unit ID, resolve them with GameSnapshot.getUnit.
+ *
+ * An index is never modified, update returns a new index when the resources change, so
+ * an index can be read by any thread. Game publishes its index with every snapshot.
+ */
+public class ResourceIndex {
+
+	private PointTree<Integer> minerals;
+	private PointTree<Integer> geysers;
+	private PointTree<BaseLocationWME> baseLocations;
+	private PointTree<StartingLocationWME> startingLocations;
+
+	/**
+	 * Creates an index of the locations, without resources.
+	 */
+	public ResourceIndex(List<BaseLocationWME> bases, List<StartingLocationWME> starts) {
+		int[] keys = new int[bases.size()];
+		int[] xs = new int[bases.size()];
+		int[] ys = new int[bases.size()];
+		for (int i=0; i<keys.length; i++) {
+			keys[i] = i;
+			xs[i] = bases.get(i).getX();
+			ys[i] = bases.get(i).getY();
+		}
+
+		baseLocations = new PointTree<BaseLocationWME>(keys, xs, ys,
+				bases.toArray(new BaseLocationWME[bases.size()]));
+
+		keys = new int[starts.size()];
+		xs = new int[starts.size()];
+		ys = new int[starts.size()];
+		for (int i=0; i<keys.length; i++) {
+			keys[i] = i;
+			xs[i] = starts.get(i).getX();
+			ys[i] = starts.get(i).getY();
+		}
+
+		startingLocations = new PointTree<StartingLocationWME>(keys, xs, ys,
+				starts.toArray(new StartingLocationWME[starts.size()]));
+
+		minerals = new PointTree<Integer>();
+		geysers = new PointTree<Integer>();
+	}
+
+	private ResourceIndex(ResourceIndex index) {
+		this.minerals = index.minerals;
+		this.geysers = index.geysers;
+		this.baseLocations = index.baseLocations;
+		this.startingLocations = index.startingLocations;
+	}
+
+	/**
+	 * Returns the index for the resources of a frame: this index if the resources have not
+	 * changed, otherwise a new one.
+	 */
+	public ResourceIndex update(List<MineralWME> mineralList, List<GeyserWME> geyserList) {
+		PointTree<Integer> newMinerals = update(minerals, mineralList);
+		PointTree<Integer> newGeysers = update(geysers, geyserList);
+
+		if (newMinerals == minerals && newGeysers == geysers) {
+			return this;
+		}
+
+		ResourceIndex index = new ResourceIndex(this);
+		index.minerals = newMinerals;
+		index.geysers = newGeysers;
+		return index;
+	}
+
+	/**
+	 * Returns the tree for the resources of a frame, checking each resource against the
+	 * tree. Only frames where resources appear or disappear build anything.
+	 */
+	private static PointTree<Integer> update(PointTree<Integer> tree, List<? extends UnitWME> resources) {
+		int indexed = 0;
+		boolean added = false;
+
+		for (int i=0; i<resources.size(); i++) {
+			if (tree.contains(resources.get(i).getID())) {
+				indexed++;
+			}
+			else {
+				added = true;
+			}
+		}
+
+		if (added) {
+			int[] keys = new int[resources.size()];
+			int[] xs = new int[resources.size()];
+			int[] ys = new int[resources.size()];
+			Integer[] items = new Integer[resources.size()];
+
+			for (int i=0; i<keys.length; i++) {
+				keys[i] = resources.get(i).getID();
+				xs[i] = resources.get(i).getX();
+				ys[i] = resources.get(i).getY();
+				items[i] = keys[i];
+			}
+
+			return new PointTree<Integer>(keys, xs, ys, items);
+		}
+
+		if (indexed == tree.size()) {
+			return tree;
+		}
+
+		// some resources are gone, find which
+		ArrayList<Integer> keys = new ArrayList<Integer>(tree.size());
+		tree.getKeys(keys);
+
+		IntHashMap<UnitWME> present = new IntHashMap<UnitWME>(resources.size());
+		for (UnitWME resource : resources) {
+			present.put(resource.getID(), resource);
+		}
+
+		int[] removed = new int[keys.size()];
+		int count = 0;
+		for (Integer key : keys) {
+			if (!present.containsKey(key)) {
+				removed[count++] = key;
+			}
+		}
+
+		return tree.remove(removed, count);
+	}
+
+	public PointTree<Integer> getMinerals() {
+		return minerals;
+	}
+
+	public PointTree<Integer> getGeysers() {
+		return geysers;
+	}
+
+	public PointTree<BaseLocationWME> getBaseLocations() {
+		return baseLocations;
+	}
+
+	public PointTree<StartingLocationWME> getStartingLocations() {
+		return startingLocations;
+	}
+
+	/**
+	 * Returns the ID of the closest mineral patch within the maximum distance, or -1.
+	 */
+	public int nearestMineral(double x, double y, double maxDistance) {
+		Integer id = minerals.nearest(x, y, maxDistance);
+		return id != null ? id : -1;
+	}
+
+	/**
+	 * Returns the ID of the closest geyser within the maximum distance, or -1.
+	 */
+	public int nearestGeyser(double x, double y, double maxDistance) {
+		Integer id = geysers.nearest(x, y, maxDistance);
+		return id != null ? id : -1;
+	}
+
+	/**
+	 * Returns the closest base location, or null if there are none.
+	 */
+	public BaseLocationWME nearestBaseLocation(double x, double y) {
+		return baseLocations.nearest(x, y, Double.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the closest starting location, or null if there are none.
+	 */
+	public StartingLocationWME nearestStartingLocation(double x, double y) {
+		return startingLocations.nearest(x, y, Double.MAX_VALUE);
+	}
+}
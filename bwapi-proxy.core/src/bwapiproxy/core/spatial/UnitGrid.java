@@ -0,0 +1,331 @@
+package bwapiproxy.core.spatial;
+
+import java.util.List;
+
+import bwapiproxy.core.wmes.unit.UnitWME;
+import bwapiproxy.core.wmes.unit.UnitWME.Category;
+/**
+ * Spatial index of the units of a frame, for finding the units near a position without
+ * scanning every unit.
+ *
+ * The map is divided into square cells of CELL_SIZE tiles, and the units are sorted by
+ * cell with a counting sort, so building the index is linear in the number of units and
+ * does not allocate once the arrays have grown to the unit count. The positions, players
+ * and categories of the units are kept in arrays next to each other, so queries filter
+ * units without touching the unit objects, and each cell has a mask of the categories of
+ * its units, so cells without matching units are skipped without looking at their units.
+ *
+ * Queries take a category mask (see mask) and a player ID, or ANY_PLAYER, and add the
+ * units found to a list supplied by the caller, so they do not allocate either.
+ *
+ * Coordinates and distances are in tiles, like the unit positions.
+ */
+public class UnitGrid {
+
+	/** log2 of the cell size */
+	private static final int CELL_SHIFT = 2;
+
+	/** cell size in tiles */
+	public static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+	/** player ID matching units of any player */
+	public static final int ANY_PLAYER = -1;
+
+	/** category mask matching every unit */
+	public static final int ALL_CATEGORIES = (1 << Category.values().length) - 1;
+
+	/** grid size in cells */
+	private int columns;
+	private int rows;
+
+	/** index of the first unit of each cell in the sorted arrays, with an extra entry for the end */
+	private int[] cellStart;
+
+	/** the categories of the units of each cell */
+	private int[] cellCategories;
+
+	/** the units sorted by cell, and their attributes */
+	private UnitWME[] units = new UnitWME[0];
+	private int[] xs = new int[0];
+	private int[] ys = new int[0];
+	private int[] players = new int[0];
+	private int[] categories = new int[0];
+
+	/** the cell of each unit in the order they were added, used while building */
+	private int[] unitCells = new int[0];
+
+	/** number of units */
+	private int size = 0;
+
+	/**
+	 * Creates an index for a map of the given size in tiles.
+	 */
+	public UnitGrid(int mapWidth, int mapHeight) {
+		columns = Math.max(1, (mapWidth + CELL_SIZE - 1) >> CELL_SHIFT);
+		rows = Math.max(1, (mapHeight + CELL_SIZE - 1) >> CELL_SHIFT);
+		cellStart = new int[columns * rows + 1];
+		cellCategories = new int[columns * rows];
+	}
+
+	/**
+	 * Returns the category mask matching the given categories.
+	 */
+	public static int mask(Category... categories) {
+		int mask = 0;
+		for (Category category : categories) {
+			mask |= 1 << category.ordinal();
+		}
+
+		return mask;
+	}
+
+	/**
+	 * Replaces the indexed units.
+	 */
+	public void build(List<? extends UnitWME> unitList) {
+		size = unitList.size();
+		ensureCapacity(size);
+
+		// count the units of each cell
+		int cellCount = columns * rows;
+		for (int i=0; i<cellCount; i++) {
+			cellStart[i] = 0;
+			cellCategories[i] = 0;
+		}
+
+		cellStart[cellCount] = 0;
+
+		for (int i=0; i<size; i++) {
+			UnitWME unit = unitList.get(i);
+			int cell = getCell(unit.getX(), unit.getY());
+			unitCells[i] = cell;
+			cellStart[cell + 1]++;
+		}
+
+		for (int i=0; i<cellCount; i++) {
+			cellStart[i + 1] += cellStart[i];
+		}
+
+		// place the units, using the start of each cell as its insert position
+		for (int i=0; i<size; i++) {
+			UnitWME unit = unitList.get(i);
+			int index = cellStart[unitCells[i]]++;
+
+			units[index] = unit;
+			xs[index] = unit.getX();
+			ys[index] = unit.getY();
+			players[index] = unit.getPlayerID();
+			categories[index] = 1 << unit.getCategory().ordinal();
+			cellCategories[unitCells[i]] |= categories[index];
+		}
+
+		// the insert positions are now the starts of the next cells
+		for (int i=cellCount; i>0; i--) {
+			cellStart[i] = cellStart[i - 1];
+		}
+
+		cellStart[0] = 0;
+
+		// do not keep units of earlier frames alive
+		for (int i=size; i<units.length && units[i] != null; i++) {
+			units[i] = null;
+		}
+	}
+
+	/**
+	 * Returns the number of indexed units.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds the units within the radius of the position to the result, and returns the
+	 * number of units added.
+	 */
+	public int inRadius(double x, double y, double radius, int categoryMask, int playerID,
+			List<? super UnitWME> result) {
+
+		double radiusSquared = radius * radius;
+		int found = 0;
+
+		int column0 = getColumn((int)Math.floor(x - radius));
+		int column1 = getColumn((int)Math.ceil(x + radius));
+		int row0 = getRow((int)Math.floor(y - radius));
+		int row1 = getRow((int)Math.ceil(y + radius));
+
+		for (int row=row0; row<=row1; row++) {
+			int end = cellStart[row * columns + column1 + 1];
+
+			// the cells of a row are contiguous
+			for (int i=cellStart[row * columns + column0]; i<end; i++) {
+				if ((categories[i] & categoryMask) == 0 || (playerID != ANY_PLAYER && players[i] != playerID)) {
+					continue;
+				}
+
+				double dx = xs[i] - x;
+				double dy = ys[i] - y;
+				if (dx * dx + dy * dy <= radiusSquared) {
+					result.add(units[i]);
+					found++;
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Adds the units inside the rectangle to the result, and returns the number of units
+	 * added. The rectangle includes its edges.
+	 */
+	public int inRectangle(int x0, int y0, int x1, int y1, int categoryMask, int playerID,
+			List<? super UnitWME> result) {
+
+		int found = 0;
+		int column0 = getColumn(x0);
+		int column1 = getColumn(x1);
+
+		for (int row=getRow(y0); row<=getRow(y1); row++) {
+			int end = cellStart[row * columns + column1 + 1];
+
+			for (int i=cellStart[row * columns + column0]; i<end; i++) {
+				if ((categories[i] & categoryMask) == 0 || (playerID != ANY_PLAYER && players[i] != playerID)) {
+					continue;
+				}
+
+				if (xs[i] >= x0 && xs[i] <= x1 && ys[i] >= y0 && ys[i] <= y1) {
+					result.add(units[i]);
+					found++;
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the number of units within the radius of the position.
+	 */
+	public int countInRadius(double x, double y, double radius, int categoryMask, int playerID) {
+		double radiusSquared = radius * radius;
+		int found = 0;
+
+		int column0 = getColumn((int)Math.floor(x - radius));
+		int column1 = getColumn((int)Math.ceil(x + radius));
+		int row0 = getRow((int)Math.floor(y - radius));
+		int row1 = getRow((int)Math.ceil(y + radius));
+
+		for (int row=row0; row<=row1; row++) {
+			int end = cellStart[row * columns + column1 + 1];
+
+			for (int i=cellStart[row * columns + column0]; i<end; i++) {
+				if ((categories[i] & categoryMask) == 0 || (playerID != ANY_PLAYER && players[i] != playerID)) {
+					continue;
+				}
+
+				double dx = xs[i] - x;
+				double dy = ys[i] - y;
+				if (dx * dx + dy * dy <= radiusSquared) {
+					found++;
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the closest unit to the position within the maximum distance, or null if
+	 * there is none.
+	 *
+	 * Searches rings of cells around the position's cell, and stops once no unit in the
+	 * next ring can be closer than the closest unit found.
+	 */
+	public UnitWME nearest(double x, double y, double maxDistance, int categoryMask, int playerID) {
+		int centerColumn = getColumn((int)Math.floor(x));
+		int centerRow = getRow((int)Math.floor(y));
+		int maxRing = Math.max(columns, rows);
+
+		double bestSquared = maxDistance * maxDistance;
+		int best = -1;
+
+		for (int ring=0; ring<=maxRing; ring++) {
+			// units in this ring are at least (ring - 1) cells away
+			double ringDistance = (ring - 1) * (double)CELL_SIZE;
+			if (ring > 1 && ringDistance * ringDistance > bestSquared) {
+				break;
+			}
+
+			int column0 = centerColumn - ring;
+			int column1 = centerColumn + ring;
+
+			for (int row=centerRow-ring; row<=centerRow+ring; row++) {
+				if (row < 0 || row >= rows) {
+					continue;
+				}
+
+				// the first and last row of the ring are complete, the others only have their ends
+				boolean edge = (row == centerRow - ring || row == centerRow + ring);
+				int step = edge ? 1 : Math.max(1, column1 - column0);
+
+				for (int column=column0; column<=column1; column+=step) {
+					if (column < 0 || column >= columns) {
+						continue;
+					}
+
+					int cell = row * columns + column;
+					if ((cellCategories[cell] & categoryMask) == 0) {
+						continue;
+					}
+
+					for (int i=cellStart[cell]; i<cellStart[cell + 1]; i++) {
+						if ((categories[i] & categoryMask) == 0 || (playerID != ANY_PLAYER && players[i] != playerID)) {
+							continue;
+						}
+
+						double dx = xs[i] - x;
+						double dy = ys[i] - y;
+						double distance = dx * dx + dy * dy;
+
+						if (distance <= bestSquared) {
+							bestSquared = distance;
+							best = i;
+						}
+					}
+				}
+			}
+		}
+
+		return best >= 0 ? units[best] : null;
+	}
+
+	private int getCell(int x, int y) {
+		return getRow(y) * columns + getColumn(x);
+	}
+
+	/**
+	 * Returns the column of the x coordinate, positions off the map are in the edge cells.
+	 */
+	private int getColumn(int x) {
+		return Math.max(0, Math.min(columns - 1, x >> CELL_SHIFT));
+	}
+
+	private int getRow(int y) {
+		return Math.max(0, Math.min(rows - 1, y >> CELL_SHIFT));
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (xs.length >= capacity) {
+			return;
+		}
+
+		capacity = Math.max(capacity, xs.length * 3 / 2);
+		units = new UnitWME[capacity];
+		xs = new int[capacity];
+		ys = new int[capacity];
+		players = new int[capacity];
+		categories = new int[capacity];
+		unitCells = new int[capacity];
+	}
+}
@@ -0,0 +1,311 @@
+package bwapiproxy.core.util;
+/**
+ * Two dimensional grid of bits, such as the walkable tiles of a map.
+ *
+ * The bits are packed into a flat long[], 64 cells per word, and every row starts at a
+ * new word. Operations over a row or a rectangle test a word at a time rather than a
+ * cell at a time, which is what makes grids useful for spatial algorithms: testing
+ * whether a 4x3 building fits takes three word tests.
+ *
+ * Cells outside of the grid are treated as clear: get returns false for them, and
+ * ranges are clipped to the grid.
+ */
+public class BitGrid {
+
+	/** the cells, row by row */
+	private long[] words;
+
+	private int width;
+	private int height;
+
+	/** number of words per row */
+	private int rowWords;
+
+	/**
+	 * Creates a grid with every cell clear.
+	 */
+	public BitGrid(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.rowWords = (width + 63) >>> 6;
+		this.words = new long[rowWords * height];
+	}
+
+	/**
+	 * Creates a copy of a grid.
+	 */
+	public BitGrid(BitGrid grid) {
+		this.width = grid.width;
+		this.height = grid.height;
+		this.rowWords = grid.rowWords;
+		this.words = grid.words.clone();
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns true if the cell is set, false if it is clear or outside of the grid.
+	 */
+	public boolean get(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return false;
+		}
+
+		return (words[y * rowWords + (x >>> 6)] & (1L << x)) != 0;
+	}
+
+	/**
+	 * Sets or clears a cell, which must be on the grid.
+	 */
+	public void set(int x, int y, boolean value) {
+		int index = y * rowWords + (x >>> 6);
+
+		if (value) {
+			words[index] |= 1L << x;
+		}
+		else {
+			words[index] &= ~(1L << x);
+		}
+	}
+
+	/**
+	 * Sets or clears every cell of a rectangle.
+	 */
+	public void fill(int x, int y, int w, int h, boolean value) {
+		int x0 = Math.max(0, x);
+		int x1 = Math.min(width, x + w);
+		int y1 = Math.min(height, y + h);
+
+		if (x0 >= x1) {
+			return;
+		}
+
+		int firstWord = x0 >>> 6;
+		int lastWord = (x1 - 1) >>> 6;
+
+		for (int row=Math.max(0, y); row<y1; row++) {
+			int base = row * rowWords;
+
+			for (int i=firstWord; i<=lastWord; i++) {
+				long mask = getMask(i, firstWord, lastWord, x0, x1);
+
+				if (value) {
+					words[base + i] |= mask;
+				}
+				else {
+					words[base + i] &= ~mask;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if every cell of the rectangle is set. Rectangles that are not
+	 * entirely on the grid are not set.
+	 */
+	public boolean isSet(int x, int y, int w, int h) {
+		if (x < 0 || y < 0 || x + w > width || y + h > height) {
+			return false;
+		}
+
+		for (int row=y; row<y+h; row++) {
+			if (!isRowSet(row, x, x + w)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if every cell of the rectangle is clear.
+	 */
+	public boolean isClear(int x, int y, int w, int h) {
+		int y0 = Math.max(0, y);
+		int y1 = Math.min(height, y + h);
+
+		for (int row=y0; row<y1; row++) {
+			if (!isRowClear(row, x, x + w)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if every cell of a row from x0 (inclusive) to x1 (exclusive) is set.
+	 */
+	public boolean isRowSet(int y, int x0, int x1) {
+		if (y < 0 || y >= height || x0 < 0 || x1 > width) {
+			return false;
+		}
+
+		if (x0 >= x1) {
+			return true;
+		}
+
+		int base = y * rowWords;
+		int firstWord = x0 >>> 6;
+		int lastWord = (x1 - 1) >>> 6;
+
+		for (int i=firstWord; i<=lastWord; i++) {
+			long mask = getMask(i, firstWord, lastWord, x0, x1);
+			if ((words[base + i] & mask) != mask) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if every cell of a row from x0 (inclusive) to x1 (exclusive) is clear.
+	 */
+	public boolean isRowClear(int y, int x0, int x1) {
+		x0 = Math.max(0, x0);
+		x1 = Math.min(width, x1);
+
+		if (y < 0 || y >= height || x0 >= x1) {
+			return true;
+		}
+
+		int base = y * rowWords;
+		int firstWord = x0 >>> 6;
+		int lastWord = (x1 - 1) >>> 6;
+
+		for (int i=firstWord; i<=lastWord; i++) {
+			if ((words[base + i] & getMask(i, firstWord, lastWord, x0, x1)) != 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the number of set cells in the rectangle.
+	 */
+	public int count(int x, int y, int w, int h) {
+		int x0 = Math.max(0, x);
+		int x1 = Math.min(width, x + w);
+		int y1 = Math.min(height, y + h);
+
+		if (x0 >= x1) {
+			return 0;
+		}
+
+		int firstWord = x0 >>> 6;
+		int lastWord = (x1 - 1) >>> 6;
+		int count = 0;
+
+		for (int row=Math.max(0, y); row<y1; row++) {
+			int base = row * rowWords;
+
+			for (int i=firstWord; i<=lastWord; i++) {
+				count += Long.bitCount(words[base + i] & getMask(i, firstWord, lastWord, x0, x1));
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the number of set cells.
+	 */
+	public int count() {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the x of the first set cell of the row at or after x, or -1 if there is none.
+	 */
+	public int nextSet(int y, int x) {
+		return next(y, x, 0);
+	}
+
+	/**
+	 * Returns the x of the first clear cell of the row at or after x, or -1 if there is none.
+	 */
+	public int nextClear(int y, int x) {
+		return next(y, x, -1L);
+	}
+
+	/**
+	 * Finds the next cell that differs from the given word pattern (0 finds set cells,
+	 * -1 finds clear cells).
+	 */
+	private int next(int y, int x, long pattern) {
+		x = Math.max(0, x);
+		if (y < 0 || y >= height || x >= width) {
+			return -1;
+		}
+
+		int base = y * rowWords;
+		int i = x >>> 6;
+		long word = (words[base + i] ^ pattern) & (-1L << x);
+
+		while (true) {
+			if (word != 0) {
+				int found = (i << 6) + Long.numberOfTrailingZeros(word);
+				return found < width ? found : -1;
+			}
+
+			if (++i == rowWords) {
+				return -1;
+			}
+
+			word = words[base + i] ^ pattern;
+		}
+	}
+
+	/**
+	 * Returns the words of the grid, for algorithms that process whole words. Row y starts
+	 * at getRowOffset(y), and bits past the width of the grid are always clear.
+	 */
+	public long[] getWords() {
+		return words;
+	}
+
+	/**
+	 * Returns the index of the first word of a row in getWords.
+	 */
+	public int getRowOffset(int y) {
+		return y * rowWords;
+	}
+
+	/**
+	 * Returns the number of words per row.
+	 */
+	public int getRowWords() {
+		return rowWords;
+	}
+
+	/**
+	 * Returns the mask of the cells from x0 to x1 within word i of a row.
+	 */
+	private static long getMask(int i, int firstWord, int lastWord, int x0, int x1) {
+		long mask = -1L;
+
+		if (i == firstWord) {
+			mask &= -1L << x0;
+		}
+
+		if (i == lastWord) {
+			mask &= -1L >>> (64 - (((x1 - 1) & 63) + 1));
+		}
+
+		return mask;
+	}
+}
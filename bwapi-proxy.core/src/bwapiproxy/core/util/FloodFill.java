@@ -0,0 +1,85 @@
+package bwapiproxy.core.util;
+/**
+ * Flood fill of the 4-connected tiles of a map, over an int[] with a label per tile row
+ * by row. Labels the connected components of the walkable tiles in MapWME, the regions
+ * in RegionGraph, and the split components in DynamicConnectivity.
+ *
+ * The stack is allocated once and reused by every fill. A tile is relabelled when it is
+ * pushed, so it is pushed at most once and the stack never holds more than a cell per
+ * tile.
+ */
+public class FloodFill {
+
+	private int width;
+
+	/** tiles whose neighbours have not been visited yet */
+	private int[] stack;
+
+	public FloodFill(int width, int height) {
+		this.width = width;
+		this.stack = new int[width * height];
+	}
+
+	/**
+	 * Labels each connected group of tiles with the unlabelled value, with consecutive
+	 * labels from 0, and returns the number of groups.
+	 */
+	public int labelAll(int[] labels, int unlabelled) {
+		int count = 0;
+
+		for (int start=0; start<labels.length; start++) {
+			if (labels[start] == unlabelled) {
+				fill(labels, start, unlabelled, unlabelled, count++);
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Sets the label of the start tile, and of the tiles connected to it through tiles
+	 * with labels between low and high, to the given label, which must not be between
+	 * low and high. Returns the number of tiles filled.
+	 */
+	public int fill(int[] labels, int start, int low, int high, int label) {
+		int top = 0;
+		int count = 1;
+		stack[top++] = start;
+		labels[start] = label;
+
+		while (top > 0) {
+			int tile = stack[--top];
+			int x = tile % width;
+
+			if (x > 0 && inRange(labels[tile - 1], low, high)) {
+				labels[tile - 1] = label;
+				stack[top++] = tile - 1;
+				count++;
+			}
+
+			if (x < width - 1 && inRange(labels[tile + 1], low, high)) {
+				labels[tile + 1] = label;
+				stack[top++] = tile + 1;
+				count++;
+			}
+
+			if (tile >= width && inRange(labels[tile - width], low, high)) {
+				labels[tile - width] = label;
+				stack[top++] = tile - width;
+				count++;
+			}
+
+			if (tile + width < labels.length && inRange(labels[tile + width], low, high)) {
+				labels[tile + width] = label;
+				stack[top++] = tile + width;
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	private static boolean inRange(int value, int low, int high) {
+		return value >= low && value <= high;
+	}
+}
@@ -0,0 +1,117 @@
+package bwapiproxy.core.util;
+/**
+ * Priority queue of primitive int values with small int priorities that never go below
+ * the priority last polled, such as the open list of an A* search with a consistent
+ * heuristic, where a tile's estimated cost is never lower than that of the tile it was
+ * reached from.
+ *
+ * Values are kept in a circular array of buckets, one per priority, so adding and polling
+ * take constant time instead of the log n of a heap. A value may be added with a priority
+ * at most maxIncrease above the priority last polled. Values of equal priority are polled
+ * last in, first out.
+ *
+ * The queue has no decrease-key: a value whose priority improves is added again, and the
+ * caller skips the stale copy when it is polled. The buckets only grow, so a queue that is
+ * cleared and reused does not allocate once it has reached its working size.
+ */
+public class IntBucketQueue {
+
+	/** the values of each bucket */
+	private int[][] buckets;
+
+	/** number of values in each bucket */
+	private int[] counts;
+
+	/** the number of buckets minus one */
+	private int mask;
+
+	/** the lowest priority that may have values, which is the priority last polled */
+	private int current = 0;
+
+	/** true until the first value is added after the queue is created or cleared */
+	private boolean cleared = true;
+
+	/** number of values */
+	private int size = 0;
+
+	/**
+	 * Creates a queue for priorities that increase by at most maxIncrease per poll.
+	 */
+	public IntBucketQueue(int maxIncrease) {
+		int bucketCount = Integer.highestOneBit(maxIncrease) << 1;
+		buckets = new int[bucketCount][16];
+		counts = new int[bucketCount];
+		mask = bucketCount - 1;
+	}
+
+	/**
+	 * Adds a value with a priority between the last polled priority and maxIncrease
+	 * above it. The first value added to a new or cleared queue may have any priority.
+	 */
+	public void add(int value, int priority) {
+		if (cleared) {
+			current = priority;
+			cleared = false;
+		}
+		else if (priority < current || priority - current > mask) {
+			throw new IllegalArgumentException("Priority " + priority + " is outside of " + current + " + " + mask);
+		}
+
+		int bucket = priority & mask;
+		int count = counts[bucket];
+
+		if (count == buckets[bucket].length) {
+			int[] values = new int[count * 2];
+			System.arraycopy(buckets[bucket], 0, values, 0, count);
+			buckets[bucket] = values;
+		}
+
+		buckets[bucket][count] = value;
+		counts[bucket] = count + 1;
+		size++;
+	}
+
+	/**
+	 * Removes and returns a value with the lowest priority, the queue must not be empty.
+	 */
+	public int poll() {
+		while (counts[current & mask] == 0) {
+			current++;
+		}
+
+		int bucket = current & mask;
+		size--;
+		return buckets[bucket][--counts[bucket]];
+	}
+
+	/**
+	 * Returns the priority of the next value polled, the queue must not be empty.
+	 */
+	public int peekPriority() {
+		while (counts[current & mask] == 0) {
+			current++;
+		}
+
+		return current;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all values, keeping the buckets.
+	 */
+	public void clear() {
+		for (int i=0; i<counts.length; i++) {
+			counts[i] = 0;
+		}
+
+		size = 0;
+		cleared = true;
+	}
+}
@@ -0,0 +1,215 @@
+package bwapiproxy.core.util;
+/**
+ * Hash map from primitive int keys to objects.
+ *
+ * Uses open addressing with linear probing, so lookups do not box the key and inserts
+ * of new keys only allocate when the table grows. Null values are not supported, a null
+ * value marks an empty slot.
+ *
+ * Slots can be iterated with getCapacity, getKeyAt and getValueAt. The map must not
+ * be modified while iterating.
+ */
+public class IntHashMap<V> {
+
+	/** the keys, valid where values is not null */
+	private int[] keys;
+
+	/** the values, null for empty slots */
+	private Object[] values;
+
+	/** number of entries */
+	private int size = 0;
+
+	/** number of entries at which the table grows */
+	private int threshold;
+
+	public IntHashMap() {
+		this(16);
+	}
+
+	/**
+	 * Creates a map that can hold the expected number of entries without growing.
+	 */
+	public IntHashMap(int expectedSize) {
+		int capacity = 16;
+		while (capacity * 3 / 4 < expectedSize) {
+			capacity *= 2;
+		}
+
+		allocate(capacity);
+	}
+
+	/**
+	 * Returns the value for the key, or null if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (values[slot] != null) {
+			if (keys[slot] == key) {
+				return (V)values[slot];
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns true if the map has a value for the key.
+	 */
+	public boolean containsKey(int key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Sets the value for the key, and returns the previous value or null.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Null values are not supported");
+		}
+
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (values[slot] != null) {
+			if (keys[slot] == key) {
+				V previous = (V)values[slot];
+				values[slot] = value;
+				return previous;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+
+		if (++size > threshold) {
+			grow();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Removes the value for the key, and returns it or null if there was none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(int key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (values[slot] != null) {
+			if (keys[slot] == key) {
+				V previous = (V)values[slot];
+				values[slot] = null;
+				size--;
+				shiftBack(slot);
+				return previous;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Removes all entries, keeping the allocated table.
+	 */
+	public void clear() {
+		for (int i=0; i<values.length; i++) {
+			values[i] = null;
+		}
+
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of entries.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of slots, for iterating over the entries.
+	 */
+	public int getCapacity() {
+		return values.length;
+	}
+
+	/**
+	 * Returns the key in the slot, only valid if getValueAt returns a value.
+	 */
+	public int getKeyAt(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * Returns the value in the slot, or null if the slot is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public V getValueAt(int slot) {
+		return (V)values[slot];
+	}
+
+	/**
+	 * Moves entries after a removed slot back, so that no probe sequence is broken.
+	 */
+	private void shiftBack(int free) {
+		int mask = keys.length - 1;
+		int slot = (free + 1) & mask;
+
+		while (values[slot] != null) {
+			int home = hash(keys[slot]) & mask;
+
+			// the entry can move to the free slot if its home is not between the two slots
+			if (((slot - home) & mask) >= ((slot - free) & mask)) {
+				keys[free] = keys[slot];
+				values[free] = values[slot];
+				values[slot] = null;
+				free = slot;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Doubles the table size.
+	 */
+	@SuppressWarnings("unchecked")
+	private void grow() {
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(keys.length * 2);
+		size = 0;
+
+		for (int i=0; i<oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				put(oldKeys[i], (V)oldValues[i]);
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new Object[capacity];
+		threshold = capacity * 3 / 4;
+	}
+
+	/**
+	 * Spreads the key bits, since IDs are often sequential.
+	 */
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,172 @@
+package bwapiproxy.core.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+/**
+ * Histogram of durations in nanoseconds, with log-linear buckets like an HDR histogram.
+ *
+ * Values below 2^PRECISION_BITS get a bucket each. Above that, every power of two range
+ * is split into 2^PRECISION_BITS buckets, so a value is known to within about 3%
+ * whatever its magnitude. Values up to MAX_VALUE (about 18 minutes) are recorded, larger
+ * values are counted as MAX_VALUE.
+ *
+ * Recording is a few shifts and a single array write, without allocation or locking, so
+ * that it can be done for every frame. A histogram must only be recorded to by one
+ * thread at a time, but can be read by any thread while it is recorded to.
+ */
+public class LatencyHistogram {
+
+	/** buckets per power of two */
+	private static final int PRECISION_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+
+	/** largest value recorded */
+	public static final long MAX_VALUE = (1L << 40) - 1;
+
+	/** number of buckets needed for MAX_VALUE */
+	private static final int BUCKET_COUNT = getIndex(MAX_VALUE) + 1;
+
+	/** number of values in each bucket */
+	private AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	/** totals, written by the recording thread only */
+	private volatile long count = 0;
+	private volatile long total = 0;
+	private volatile long max = 0;
+
+	/**
+	 * Records a duration in nanoseconds.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		else if (value > MAX_VALUE) {
+			value = MAX_VALUE;
+		}
+
+		int index = getIndex(value);
+		counts.lazySet(index, counts.get(index) + 1);
+
+		count = count + 1;
+		total = total + value;
+		if (value > max) {
+			max = value;
+		}
+	}
+
+	/**
+	 * Adds the values of another histogram to this one.
+	 */
+	public void add(LatencyHistogram histogram) {
+		for (int i=0; i<BUCKET_COUNT; i++) {
+			long added = histogram.counts.get(i);
+			if (added > 0) {
+				counts.lazySet(i, counts.get(i) + added);
+			}
+		}
+
+		count = count + histogram.count;
+		total = total + histogram.total;
+		max = Math.max(max, histogram.max);
+	}
+
+	/**
+	 * Removes all values.
+	 */
+	public void reset() {
+		for (int i=0; i<BUCKET_COUNT; i++) {
+			counts.lazySet(i, 0);
+		}
+
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+
+	/**
+	 * Returns the number of values recorded.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the largest value recorded, or 0.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the mean of the values, or 0 if there are none.
+	 */
+	public double getMean() {
+		long n = count;
+		return n > 0 ? (double)total / n : 0;
+	}
+
+	/**
+	 * Returns the value below which the given percentage of the values fall, as the upper
+	 * bound of the bucket holding it, or 0 if there are no values.
+	 *
+	 * @param percentile - between 0 and 100
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long n = 0;
+		for (int i=0; i<BUCKET_COUNT; i++) {
+			n += counts.get(i);
+		}
+
+		if (n == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long)Math.ceil(n * Math.min(100, Math.max(0, percentile)) / 100));
+		long seen = 0;
+
+		for (int i=0; i<BUCKET_COUNT; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(getUpperBound(i), max);
+			}
+		}
+
+		return max;
+	}
+
+	/**
+	 * Returns a one line summary in microseconds: count, mean, p50, p99 and max.
+	 */
+	public String getSummary() {
+		return String.format("%d values, mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us", getCount(),
+				getMean() / 1000, getValueAtPercentile(50) / 1000.0, getValueAtPercentile(99) / 1000.0,
+				getMax() / 1000.0);
+	}
+
+	/**
+	 * Returns the bucket of a value: values below SUB_BUCKETS are their own bucket, larger
+	 * values are bucketed by their top PRECISION_BITS + 1 bits.
+	 */
+	private static int getIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int)value;
+		}
+
+		int shift = 63 - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+		int mantissa = (int)(value >>> shift);
+		return (shift + 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+	}
+
+	/**
+	 * Returns the largest value of a bucket.
+	 */
+	private static long getUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		int shift = index / SUB_BUCKETS - 1;
+		long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
@@ -1,173 +1,354 @@
-package bwapiproxy.core.wmes;
-
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
-/**
- * Stores tile information about a map in StarCraft.
- * 
- * Note: internally in StarCraft, the height and walkable arrays have a higher
- *       resolution than the size tile in this class. Each tile is actually
- *       a 4x4 grid, but this has been abstracted away for simplicity for now.
- */
-public class MapWME {
-
-	/** the map name */
-	private String mapName;
-	
-	/** number of tiles wide */
-	private int mapWidth;
-
-	/** number of tiles high */
-	private int mapHeight;
-	
-	/** height array (valid values are 0,1,2) */
-	private int[][] height;
-	
-	/** buildable array */
-	private boolean[][] buildable;
-	
-	/** walkable array */
-	private boolean[][] walkable;
-		
-//	/** 
-//	 * Returns the map name.
-//	 */
-	public String getMapName() {
-		return mapName;
-	}
-
-	/**
-	 * Returns the map width (in tiles).
-	 */
-	public int getMapWidth() {
-		return mapWidth;
-	}
-
-	/**
-	 * Returns the map height (in tiles).
-	 */
-	public int getMapHeight() {
-		return mapHeight;
-	}
-	
-	/**
-	 * Returns true if the map is walkable and the given tile coordinates.
-	 */
-	public boolean isWalkable(int tx, int ty) {
-		return walkable[ty][tx];
-	}
-	
-	/**
-	 * Returns true if the map is buildable and the given tile coordinates.
-	 */
-	public boolean isBuildable(int tx, int ty) {
-		return buildable[ty][tx];
-	}
-
-	public boolean isBuildable(int tx, int ty, int width, int height) {
-		boolean result = true;
-
-		if (tx < 0 || ty < 0 || (tx + width) >= mapWidth || (ty + height) >= mapHeight) {
-			return false;
-		}
-		
-		for (int h=0; h<height; h++) {			
-			for (int w=0; w<width; w++) {
-				result &= buildable[ty + h][tx + w];
-			}
-		}
-		
-		return result;
-	}
-
-	
-	/**
-	 * Returns the height of the map at the given tile coordinates.
-	 */
-	public int getHeight(int tx, int ty) {
-		return height[ty][tx];
-	}
-	
-	/**
-	 * Creates a map based on the string recieved from the AIModule.
-	 * 
-	 * @param mapData - mapname:width:height:data
-	 * 
-	 *  Data is a character array where each tile is represented by 3 characters, 
-	 *  which specific height, buildable, walkable.
-	 */
-	public MapWME(String mapData) {
-		String[] map = mapData.split(":");
-		String data = map[3];
-
-		mapName = map[0];
-		mapWidth = Integer.parseInt(map[1]);
-		mapHeight = Integer.parseInt(map[2]);
-		
-		height = new int[mapHeight][mapWidth];
-		buildable = new boolean[mapHeight][mapWidth];
-		walkable = new boolean[mapHeight][mapWidth];
-		
-		int total = mapWidth * mapHeight;		
-		for (int i=0; i<total; i++) {
-			int w = i%mapWidth;
-			int h = i/mapWidth;
-			
-			String tile = data.substring(3*i, 3*i + 3);
-			
-			height[h][w] = Integer.parseInt(tile.substring(0,1));
-			buildable[h][w] = (1 == Integer.parseInt(tile.substring(1,2))); 
-			walkable[h][w] = (1 == Integer.parseInt(tile.substring(2,3))); 
- 		}		
-	}
-	
-	/**
-	 * Displays the main properties.
-	 */
-	public void print() {
-		System.out.println("Name: " + mapName);
-		System.out.println("Size: " + mapWidth + " x " + mapHeight);
-		
-		System.out.println("\nBuildable");
-	 	  System.out.println("---------");
-		for (int y=0; y<mapHeight; y++) {
-			for (int x=0; x<mapWidth; x++) {
-				System.out.print(buildable[y][x] ? " " : "X");
-			}			
-			
-			System.out.println();
-		}
-
-		System.out.println("\nWalkable");
-	 	  System.out.println("--------");
-		for (int y=0; y<mapHeight; y++) {
-			for (int x=0; x<mapWidth; x++) {
-				System.out.print(walkable[y][x] ? " " : "X");
-			}			
-			
-			System.out.println();
-		}
-
-		System.out.println("\nHeight");
-	 	  System.out.println("------");
-		for (int y=0; y<mapHeight; y++) {
-			for (int x=0; x<mapWidth; x++) {
-				switch (height[y][x]) {
-					case 2:
-						System.out.print(" " );
-						break;
-					case 1:
-						System.out.print("*" );
-						break;
-					case 0:
-						System.out.print("X" );
-						break;
-				}
-			}			
-			
-			System.out.println();
-		}
-	}
+package bwapiproxy.core.wmes;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+
+import bwapiproxy.core.util.BitGrid;
+import bwapiproxy.core.util.FloodFill;
+/**
+ * Stores tile information about a map in StarCraft.
+ * 
+ * Note: internally in StarCraft, the height and walkable arrays have a higher
+ *       resolution than the size tile in this class. Each tile is actually
+ *       a 4x4 grid of 8 pixel walk tiles. The tile walkability is sampled from the
+ *       top left walk tile of each tile, the complete walk tile grid is only 
+ *       available if the client sent it (see hasWalkTiles).
+ * 
+ * The walkable and buildable tiles are stored as BitGrids, and heights are packed 
+ * 2 bits per tile, so a 256x256 map takes 32 KB instead of about 390 KB. The grids can be used 
+ * directly for word-at-a-time row and rectangle tests.
+ * 
+ * The connected components of the walkable tiles are labelled when the map is loaded,
+ * so isReachable is an array read rather than a path search.
+ */
+public class MapWME {
+
+	/** the map name */
+	private String mapName;
+	
+	/** number of tiles wide */
+	private int mapWidth;
+
+	/** number of tiles high */
+	private int mapHeight;
+	
+	/** heights (valid values are 0,1,2), 2 bits per tile, 32 tiles per word, row by row */
+	private long[] height;
+	
+	/** buildable tiles */
+	private BitGrid buildable;
+	
+	/** walkable tiles */
+	private BitGrid walkable;
+
+	/** walkable walk tiles, 4x4 per tile, or null if the client did not send them */
+	private BitGrid walkTiles;
+
+	/** connected component of each walkable tile, -1 for tiles that are not walkable */
+	private int[] components;
+
+	/** number of connected components */
+	private int componentCount;
+		
+//	/** 
+//	 * Returns the map name.
+//	 */
+	public String getMapName() {
+		return mapName;
+	}
+
+	/**
+	 * Returns the map width (in tiles).
+	 */
+	public int getMapWidth() {
+		return mapWidth;
+	}
+
+	/**
+	 * Returns the map height (in tiles).
+	 */
+	public int getMapHeight() {
+		return mapHeight;
+	}
+	
+	/**
+	 * Returns true if the map is walkable and the given tile coordinates.
+	 */
+	public boolean isWalkable(int tx, int ty) {
+		return walkable.get(tx, ty);
+	}
+	
+	/**
+	 * Returns true if every tile of the rectangle is walkable.
+	 */
+	public boolean isWalkable(int tx, int ty, int width, int height) {
+		return walkable.isSet(tx, ty, width, height);
+	}
+	
+	/**
+	 * Returns true if the map is buildable and the given tile coordinates.
+	 */
+	public boolean isBuildable(int tx, int ty) {
+		return buildable.get(tx, ty);
+	}
+
+	/**
+	 * Returns true if every tile of the rectangle is buildable, and the rectangle is not
+	 * on the last row or column of the map.
+	 */
+	public boolean isBuildable(int tx, int ty, int width, int height) {
+		if (tx < 0 || ty < 0 || (tx + width) >= mapWidth || (ty + height) >= mapHeight) {
+			return false;
+		}
+		
+		return buildable.isSet(tx, ty, width, height);
+	}
+
+	/**
+	 * Returns the walkable tiles. The grid is shared and must not be modified.
+	 */
+	public BitGrid getWalkable() {
+		return walkable;
+	}
+
+	/**
+	 * Returns true if there is a ground path between the tiles, i.e. both tiles are
+	 * walkable and in the same connected component. Takes constant time.
+	 */
+	public boolean isReachable(int ax, int ay, int bx, int by) {
+		int component = getComponent(ax, ay);
+		return component >= 0 && component == getComponent(bx, by);
+	}
+
+	/**
+	 * Returns the connected component of the tile, or -1 if the tile is not walkable or 
+	 * not on the map. Walkable tiles are connected to their four neighbours, like the 
+	 * paths of PathFinder, which do not cut corners.
+	 */
+	public int getComponent(int tx, int ty) {
+		if (tx < 0 || ty < 0 || tx >= mapWidth || ty >= mapHeight) {
+			return -1;
+		}
+
+		return components[ty * mapWidth + tx];
+	}
+
+	/**
+	 * Returns the number of connected components of walkable tiles.
+	 */
+	public int getComponentCount() {
+		return componentCount;
+	}
+
+	/**
+	 * Returns the buildable tiles. The grid is shared and must not be modified.
+	 */
+	public BitGrid getBuildable() {
+		return buildable;
+	}
+	
+	/**
+	 * Returns true if the walk tile grid was sent by the client. Otherwise the walk tile
+	 * methods use the tile walkability for each of the walk tiles of a tile.
+	 */
+	public boolean hasWalkTiles() {
+		return walkTiles != null;
+	}
+
+	/**
+	 * Returns true if the walk tile (8x8 pixels) at the given walk tile coordinates is walkable.
+	 */
+	public boolean isWalkTileWalkable(int wx, int wy) {
+		if (walkTiles == null) {
+			return walkable.get(wx >> 2, wy >> 2);
+		}
+
+		return walkTiles.get(wx, wy);
+	}
+
+	/**
+	 * Returns the number of walkable walk tiles in the tile, between 0 and 16.
+	 */
+	public int getWalkableCount(int tx, int ty) {
+		if (walkTiles == null) {
+			return walkable.get(tx, ty) ? 16 : 0;
+		}
+
+		return walkTiles.count(tx << 2, ty << 2, 4, 4);
+	}
+
+	/**
+	 * Returns true if every walk tile of the tile is walkable, so that any unit can
+	 * cross the tile.
+	 */
+	public boolean isFullyWalkable(int tx, int ty) {
+		if (walkTiles == null) {
+			return walkable.get(tx, ty);
+		}
+
+		return walkTiles.isSet(tx << 2, ty << 2, 4, 4);
+	}
+
+	/**
+	 * Returns the walkable walk tiles, with 4 times the width and height of the map, or
+	 * null if the client did not send them. The grid is shared and must not be modified.
+	 */
+	public BitGrid getWalkTiles() {
+		return walkTiles;
+	}
+
+	/**
+	 * Returns the height of the map at the given tile coordinates.
+	 */
+	public int getHeight(int tx, int ty) {
+		if (tx < 0 || ty < 0 || tx >= mapWidth || ty >= mapHeight) {
+			throw new ArrayIndexOutOfBoundsException("Tile " + tx + "," + ty + " is not on the map");
+		}
+		
+		int tile = ty * mapWidth + tx;
+		return (int)(height[tile >>> 5] >>> ((tile & 31) << 1)) & 3;
+	}
+	
+	/**
+	 * Creates a map based on the string recieved from the AIModule.
+	 * 
+	 * @param mapData - mapname:width:height:data
+	 * 
+	 *  Data is a character array where each tile is represented by 3 characters, 
+	 *  which specific height, buildable, walkable.
+	 */
+	public MapWME(String mapData) {
+		this(mapData, null);
+	}
+
+	/**
+	 * Creates a map from the map string and the walk tile string recieved from the AIModule.
+	 * 
+	 * @param mapData - see MapWME(String)
+	 * @param walkData - WalkTiles:data, or null if the client did not send walk tiles
+	 * 
+	 *  Data is a string of hex digits, one per tile for each of the 4 walk tile rows
+	 *  of a tile row: walk tile row by walk tile row, 4 * mapHeight rows of mapWidth 
+	 *  digits. Bit i of a digit is set if the i-th walk tile from the left is walkable.
+	 */
+	public MapWME(String mapData, String walkData) {
+		String[] map = mapData.split(":");
+		String data = map[3];
+
+		mapName = map[0];
+		mapWidth = Integer.parseInt(map[1]);
+		mapHeight = Integer.parseInt(map[2]);
+		
+		int total = mapWidth * mapHeight;		
+		height = new long[(total + 31) >>> 5];
+		buildable = new BitGrid(mapWidth, mapHeight);
+		walkable = new BitGrid(mapWidth, mapHeight);
+		
+		for (int i=0; i<total; i++) {
+			int w = i%mapWidth;
+			int h = i/mapWidth;
+			
+			height[i >>> 5] |= (long)((data.charAt(3*i) - '0') & 3) << ((i & 31) << 1);
+			buildable.set(w, h, data.charAt(3*i + 1) == '1'); 
+			walkable.set(w, h, data.charAt(3*i + 2) == '1'); 
+ 		}		
+
+		if (walkData != null) {
+			readWalkTiles(walkData);
+		}
+
+		labelComponents();
+	}
+
+	/**
+	 * Numbers the connected components of the walkable tiles with a flood fill.
+	 */
+	private void labelComponents() {
+		int total = mapWidth * mapHeight;
+		components = new int[total];
+
+		for (int i=0; i<total; i++) {
+			components[i] = walkable.get(i % mapWidth, i / mapWidth) ? Integer.MAX_VALUE : -1;
+		}
+
+		componentCount = new FloodFill(mapWidth, mapHeight).labelAll(components, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Parses the walk tile data, each hex digit is written as 4 bits of a grid row.
+	 */
+	private void readWalkTiles(String walkData) {
+		walkTiles = new BitGrid(4 * mapWidth, 4 * mapHeight);
+		long[] words = walkTiles.getWords();
+		int start = walkData.indexOf(':') + 1;
+
+		if (walkData.length() - start < 4 * mapWidth * mapHeight) {
+			throw new IllegalArgumentException("Expected " + (4 * mapWidth * mapHeight) + " walk tile digits");
+		}
+
+		for (int wy=0; wy<4*mapHeight; wy++) {
+			int offset = walkTiles.getRowOffset(wy);
+			int row = start + wy * mapWidth;
+
+			for (int tx=0; tx<mapWidth; tx++) {
+				int digit = Character.digit(walkData.charAt(row + tx), 16);
+				if (digit < 0) {
+					throw new IllegalArgumentException("Invalid walk tile digit at " + (row + tx));
+				}
+
+				// 16 tiles per word
+				words[offset + (tx >>> 4)] |= (long)digit << ((tx & 15) << 2);
+			}
+		}
+	}
+	
+	/**
+	 * Displays the main properties.
+	 */
+	public void print() {
+		System.out.println("Name: " + mapName);
+		System.out.println("Size: " + mapWidth + " x " + mapHeight);
+		
+		System.out.println("\nBuildable");
+	 	  System.out.println("---------");
+		for (int y=0; y<mapHeight; y++) {
+			for (int x=0; x<mapWidth; x++) {
+				System.out.print(isBuildable(x, y) ? " " : "X");
+			}			
+			
+			System.out.println();
+		}
+
+		System.out.println("\nWalkable");
+	 	  System.out.println("--------");
+		for (int y=0; y<mapHeight; y++) {
+			for (int x=0; x<mapWidth; x++) {
+				System.out.print(isWalkable(x, y) ? " " : "X");
+			}			
+			
+			System.out.println();
+		}
+
+		System.out.println("\nHeight");
+	 	  System.out.println("------");
+		for (int y=0; y<mapHeight; y++) {
+			for (int x=0; x<mapWidth; x++) {
+				switch (getHeight(x, y)) {
+					case 2:
+						System.out.print(" " );
+						break;
+					case 1:
+						System.out.print("*" );
+						break;
+					case 0:
+						System.out.print("X" );
+						break;
+				}
+			}			
+			
+			System.out.println();
+		}
+	}
 }
\ No newline at end of file
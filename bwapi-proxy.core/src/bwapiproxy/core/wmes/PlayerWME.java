@@ -1,173 +1,223 @@
-package bwapiproxy.core.wmes;
-
-import java.util.ArrayList;
-
-
-import bwapiproxy.core.Constants.Race;
-import bwapiproxy.core.wmes.TechTypeWME.TechType;
-
-/**
- * Stores information about a player
- * 
- * Note: the supply used and supply total variables are double what you would expect, because
- *       small units are represented as 1 supply in StarCraft.
- */
-public class PlayerWME {
-
-	/** the player identifier */
-	private int playerID;
-
-	/** current mineral supply */
-	private int minerals;
-	
-	/** current gas supply */
-	private int gas;
-	
-	/** amount of supply used by the player */
-	private int supplyUsed;
-
-	/** amount of supply provided by the player */
-	private int supplyTotal;
-	
-	/** the players name */
-	private String name;
-	
-	/** the players race */
-	private String race;
-
-	private int raceID;
-	
-	/** the players type, see http://code.google.com/p/bwapi/wiki/PlayerTypes */
-	private int type;
-
-	/** specifies if the player is an ally */
-	private boolean ally;
-
-	private int[] researchProgress = new int[47];
-	private int[] upgradeProgress = new int[63];
-
-	/**
-	 * Parses the player data.
-	 */
-	public static ArrayList<PlayerWME> getPlayers(String playerData) {
-		ArrayList<PlayerWME> players = new ArrayList<PlayerWME>();
-		
-		String[] playerDatas = playerData.split(":");
-		boolean first = true;
-		
-		for (String data : playerDatas) {
-			if (first) {
-				first = false;
-				continue;
-			}
-
-			String[] attributes = data.split(";");
-			PlayerWME player = new PlayerWME();
-			player.playerID = Integer.parseInt(attributes[0]);			
-			player.race = attributes[1];		
-			player.raceID = Race.valueOf(player.race).ordinal();
-			player.name= attributes[2];			
-			player.type = Integer.parseInt(attributes[3]);			
-			player.ally = attributes[4].equals("1");						
-			players.add(player);
-		}		
-
-		return players;
-	}
-
-	/**
-	 * Updates the players attributes given the command data.
-	 * 
-	 * Expects a message of the form "status;minerals;gas;supplyUsed;SupplyTotal:..."
-	 */
-	public void update(String playerData) {		
-		String[] attributes = playerData.split(":")[0].split(";");
-		
-		minerals = Integer.parseInt(attributes[1]);
-		gas = Integer.parseInt(attributes[2]);
-		supplyUsed = Integer.parseInt(attributes[3]);
-		supplyTotal = Integer.parseInt(attributes[4]);
-		String researchUpdate = attributes[5];
-		String upgradeUpdate = attributes[6];
-
-		for (int i=0; i<researchProgress.length; i++) {
-			researchProgress[i] = Integer.parseInt("" + researchUpdate.charAt(i));
-		}
-		
-		for (int i=0; i<upgradeProgress.length; i++) {
-			upgradeProgress[i] = Integer.parseInt("" + upgradeUpdate.charAt(i));
-		}
-	}
-	
-	public boolean getResearchedSiege() {
-		return researchProgress[TechType.Tank_Siege_Mode.ordinal()] == 4;
-	}
-
-	public boolean getResearchedMines() {
-		return researchProgress[TechType.Spider_Mines.ordinal()] == 4;
-	}
-	
-	/**
-	 * Returns if the player is an ally.
-	 */
-	public boolean isAlly() {
-		return ally;
-	}
-	
-	/**
-	 * Returns the player's mineral count, only accurate for the bot player.
-	 */
-	public int getMinerals() {
-		return minerals;
-	}
-
-	/**
-	 * Returns the player's gas count, only accurate for the bot player.
-	 */
-	public int getGas() {
-		return gas;
-	}
-
-	/**
-	 * Gets the current supply used. (Its double the expected value)
-	 */
-	public int getSupplyUsed() {
-		return supplyUsed;
-	}
-
-	/**
-	 * Gets the current supply provided . (Its double the expected value)
-	 */
-	public int getSupplyTotal() {
-		return supplyTotal;
-	}
-
-	/** 
-	 * Returns a unique id for the player.
-	 */
-	public int getPlayerID() {
-		return playerID;
-	}
-
-	/**
-	 * Returns the players race.
-	 */
-	public String getRace() {
-		return race;
-	}
-	
-	/**
-	 * Returns the players race ID.
-	 */
-	public int getRaceID() {
-		return raceID;
-	}
-
-	public String toString() {
-		return 
-			"mins:" + minerals +
-			" gas:" + gas +
-			" supplyUsed:" + supplyUsed +
-			" supplyTotal:" + supplyTotal;
-	}
+package bwapiproxy.core.wmes;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+
+import bwapiproxy.core.Constants.Race;
+import bwapiproxy.core.protocol.TextCursor;
+import bwapiproxy.core.wmes.TechTypeWME.TechType;
+
+/**
+ * Stores information about a player
+ * 
+ * Note: the supply used and supply total variables are double what you would expect, because
+ *       small units are represented as 1 supply in StarCraft.
+ */
+public class PlayerWME {
+
+	/** the player identifier */
+	private int playerID;
+
+	/** current mineral supply */
+	private int minerals;
+	
+	/** current gas supply */
+	private int gas;
+	
+	/** amount of supply used by the player */
+	private int supplyUsed;
+
+	/** amount of supply provided by the player */
+	private int supplyTotal;
+	
+	/** the players name */
+	private String name;
+	
+	/** the players race */
+	private String race;
+
+	private int raceID;
+	
+	/** the players type, see http://code.google.com/p/bwapi/wiki/PlayerTypes */
+	private int type;
+
+	/** specifies if the player is an ally */
+	private boolean ally;
+
+	private int[] researchProgress = new int[47];
+	private int[] upgradeProgress = new int[63];
+
+	/**
+	 * Parses the player data.
+	 */
+	public static ArrayList<PlayerWME> getPlayers(String playerData) {
+		ArrayList<PlayerWME> players = new ArrayList<PlayerWME>();
+		
+		String[] playerDatas = playerData.split(":");
+		boolean first = true;
+		
+		for (String data : playerDatas) {
+			if (first) {
+				first = false;
+				continue;
+			}
+
+			String[] attributes = data.split(";");
+			PlayerWME player = new PlayerWME();
+			player.playerID = Integer.parseInt(attributes[0]);			
+			player.race = attributes[1];		
+			player.raceID = Race.valueOf(player.race).ordinal();
+			player.name= attributes[2];			
+			player.type = Integer.parseInt(attributes[3]);			
+			player.ally = attributes[4].equals("1");						
+			players.add(player);
+		}		
+
+		return players;
+	}
+
+	/**
+	 * Updates the players attributes given the command data.
+	 * 
+	 * Expects a message of the form "status;minerals;gas;supplyUsed;SupplyTotal:..."
+	 */
+	public void update(String playerData) {		
+		update(new TextCursor(playerData));
+	}
+
+	/**
+	 * Updates the players attributes from the player section of a text update, and
+	 * moves the cursor to the start of the unit section.
+	 * 
+	 * Expects a message of the form "status;minerals;gas;supplyUsed;SupplyTotal;research;upgrades:..."
+	 */
+	public void update(TextCursor playerData) {
+		playerData.skipField();
+		minerals = playerData.nextInt();
+		gas = playerData.nextInt();
+		supplyUsed = playerData.nextInt();
+		supplyTotal = playerData.nextInt();
+
+		for (int i=0; i<researchProgress.length; i++) {
+			researchProgress[i] = playerData.nextDigit();
+		}
+		
+		playerData.skipField();
+		for (int i=0; i<upgradeProgress.length; i++) {
+			upgradeProgress[i] = playerData.nextDigit();
+		}
+		
+		playerData.skipSection();
+	}
+
+	/**
+	 * Updates the players attributes given the player section of a binary update frame.
+	 * 
+	 * See FrameFormat for the layout.
+	 */
+	public void update(ByteBuffer playerData) {
+		minerals = playerData.getInt();
+		gas = playerData.getInt();
+		supplyUsed = playerData.getInt();
+		supplyTotal = playerData.getInt();
+
+		for (int i=0; i<researchProgress.length; i++) {
+			researchProgress[i] = playerData.get();
+		}
+
+		for (int i=0; i<upgradeProgress.length; i++) {
+			upgradeProgress[i] = playerData.get();
+		}
+	}
+	
+	/**
+	 * Copies the state of another player into this player, used to take snapshots of the game.
+	 */
+	public void copyFrom(PlayerWME player) {
+		playerID = player.playerID;
+		minerals = player.minerals;
+		gas = player.gas;
+		supplyUsed = player.supplyUsed;
+		supplyTotal = player.supplyTotal;
+		name = player.name;
+		race = player.race;
+		raceID = player.raceID;
+		type = player.type;
+		ally = player.ally;
+		System.arraycopy(player.researchProgress, 0, researchProgress, 0, researchProgress.length);
+		System.arraycopy(player.upgradeProgress, 0, upgradeProgress, 0, upgradeProgress.length);
+	}
+
+	public boolean getResearchedSiege() {
+		return researchProgress[TechType.Tank_Siege_Mode.ordinal()] == 4;
+	}
+
+	public boolean getResearchedMines() {
+		return researchProgress[TechType.Spider_Mines.ordinal()] == 4;
+	}
+	
+	/**
+	 * Returns if the player is an ally.
+	 */
+	public boolean isAlly() {
+		return ally;
+	}
+	
+	/**
+	 * Returns the player's mineral count, only accurate for the bot player.
+	 */
+	public int getMinerals() {
+		return minerals;
+	}
+
+	/**
+	 * Returns the player's gas count, only accurate for the bot player.
+	 */
+	public int getGas() {
+		return gas;
+	}
+
+	/**
+	 * Gets the current supply used. (Its double the expected value)
+	 */
+	public int getSupplyUsed() {
+		return supplyUsed;
+	}
+
+	/**
+	 * Gets the current supply provided . (Its double the expected value)
+	 */
+	public int getSupplyTotal() {
+		return supplyTotal;
+	}
+
+	/** 
+	 * Returns a unique id for the player.
+	 */
+	public int getPlayerID() {
+		return playerID;
+	}
+
+	/**
+	 * Returns the players race.
+	 */
+	public String getRace() {
+		return race;
+	}
+	
+	/**
+	 * Returns the players race ID.
+	 */
+	public int getRaceID() {
+		return raceID;
+	}
+
+	public String toString() {
+		return 
+			"mins:" + minerals +
+			" gas:" + gas +
+			" supplyUsed:" + supplyUsed +
+			" supplyTotal:" + supplyTotal;
+	}
 }
\ No newline at end of file
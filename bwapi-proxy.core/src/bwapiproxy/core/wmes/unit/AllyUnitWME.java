@@ -1,7 +1,11 @@
-package bwapiproxy.core.wmes.unit;
-/**
- * Represents an allied unit.
- */
-public class AllyUnitWME extends UnitWME {
-
-}
+package bwapiproxy.core.wmes.unit;
+/**
+ * Represents an allied unit.
+ */
+public class AllyUnitWME extends UnitWME {
+
+	@Override
+	public Category getCategory() {
+		return Category.Ally;
+	}
+}
@@ -1,7 +1,11 @@
-package bwapiproxy.core.wmes.unit;
-/**
- * Represents an enemy unit.
- */
-public class EnemyUnitWME extends UnitWME {
-
-}
+package bwapiproxy.core.wmes.unit;
+/**
+ * Represents an enemy unit.
+ */
+public class EnemyUnitWME extends UnitWME {
+
+	@Override
+	public Category getCategory() {
+		return Category.Enemy;
+	}
+}
@@ -1,7 +1,11 @@
-package bwapiproxy.core.wmes.unit;
-/**
- * Represents a geyser.
- */
-public class GeyserWME extends UnitWME {
-
+package bwapiproxy.core.wmes.unit;
+/**
+ * Represents a geyser.
+ */
+public class GeyserWME extends UnitWME {
+
+	@Override
+	public Category getCategory() {
+		return Category.Geyser;
+	}
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
-package bwapiproxy.core.wmes.unit;
-/**
- * Represents a mineral patch.
- */
-public class MineralWME extends UnitWME {
-
-}
+package bwapiproxy.core.wmes.unit;
+/**
+ * Represents a mineral patch.
+ */
+public class MineralWME extends UnitWME {
+
+	@Override
+	public Category getCategory() {
+		return Category.Mineral;
+	}
+}
@@ -1,8 +1,12 @@
-package bwapiproxy.core.wmes.unit;
-
-/**
- * Represents a bot-controlled unit.
- */
-public class PlayerUnitWME extends UnitWME {
-	
+package bwapiproxy.core.wmes.unit;
+
+/**
+ * Represents a bot-controlled unit.
+ */
+public class PlayerUnitWME extends UnitWME {
+
+	@Override
+	public Category getCategory() {
+		return Category.Player;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package bwapiproxy.core.wmes.unit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import bwapiproxy.core.util.IntHashMap;
+import bwapiproxy.core.wmes.PlayerWME;
+import bwapiproxy.core.wmes.UnitTypeWME;
+/**
+ * Long-lived table of the units in the game, indexed by unit ID.
+ *
+ * Each unit keeps the same UnitWME object for as long as it is in the game state, and the
+ * object is updated in place every frame, so references held by bots stay current. A unit
+ * only gets a new object if it changes category (e.g. a geyser becoming a refinery), in
+ * which case the old object is retired. Objects are also retired when their unit leaves
+ * the game state.
+ *
+ * Updating a frame:
+ *    beginFrame()
+ *    getUnit(...) for each unit in the frame, then read the attributes into the unit
+ *    removeUnit(...) for each destroyed unit (delta frames)
+ *    endFrame(full)
+ */
+public class UnitTable {
+
+	/** the units indexed by ID */
+	private IntHashMap<UnitWME> units = new IntHashMap<UnitWME>(512);
+
+	/** the units of the current frame, in the order they first appeared */
+	private ArrayList<UnitWME> unitList = new ArrayList<UnitWME>();
+
+	/** units created during the current frame */
+	private ArrayList<UnitWME> created = new ArrayList<UnitWME>();
+
+	/** unit types indexed by ID */
+	private UnitTypeWME[] types;
+
+	/** the bots player ID */
+	private int playerID;
+
+	/** players indexed by ID */
+	private PlayerWME[] players;
+
+	/** the frame being updated */
+	private int frame = 0;
+
+	public UnitTable(HashMap<Integer, UnitTypeWME> typeMap, int playerID, PlayerWME[] players) {
+		this.playerID = playerID;
+		this.players = players;
+
+		int maxID = 0;
+		for (Integer typeID : typeMap.keySet()) {
+			maxID = Math.max(maxID, typeID);
+		}
+
+		types = new UnitTypeWME[maxID + 1];
+		for (UnitTypeWME type : typeMap.values()) {
+			types[type.getId()] = type;
+		}
+	}
+
+	/**
+	 * Starts updating a new frame.
+	 */
+	public void beginFrame() {
+		frame++;
+		created.clear();
+	}
+
+	/**
+	 * Returns the object for the unit, creating it if the unit is new or changed category,
+	 * and marks the unit as present in the current frame.
+	 */
+	public UnitWME getUnit(int unitID, int pID, int typeID) {
+		UnitWME.Category category = UnitWME.getCategory(pID, typeID, playerID, players);
+		UnitWME unit = units.get(unitID);
+
+		if (unit == null || unit.getCategory() != category) {
+			if (unit != null) {
+				unit.retire();
+			}
+
+			unit = UnitWME.newUnit(category);
+			units.put(unitID, unit);
+			created.add(unit);
+		}
+
+		unit.setIdentity(unitID, pID, typeID, types);
+		unit.lastUpdate = frame;
+		return unit;
+	}
+
+	/**
+	 * Removes a unit from the table.
+	 */
+	public void removeUnit(int unitID) {
+		UnitWME unit = units.remove(unitID);
+		if (unit != null) {
+			unit.retire();
+		}
+	}
+
+	/**
+	 * Completes the frame and returns the units in the game state. The same list is 
+	 * returned and updated in place every frame.
+	 *
+	 * @param full - true if the frame contained every unit, in which case the units that
+	 *               were not in the frame are removed
+	 */
+	public ArrayList<UnitWME> endFrame(boolean full) {
+		int count = 0;
+
+		for (int i=0; i<unitList.size(); i++) {
+			UnitWME unit = unitList.get(i);
+			if (unit.isRetired()) {
+				continue;
+			}
+
+			if (full && unit.lastUpdate != frame) {
+				units.remove(unit.getID());
+				unit.retire();
+				continue;
+			}
+
+			unitList.set(count++, unit);
+		}
+
+		for (int i=unitList.size()-1; i>=count; i--) {
+			unitList.remove(i);
+		}
+
+		for (UnitWME unit : created) {
+			if (!unit.isRetired()) {
+				unitList.add(unit);
+			}
+		}
+
+		return unitList;
+	}
+
+	/**
+	 * Returns the unit with the given ID, or null if it is not in the game state.
+	 */
+	public UnitWME get(int unitID) {
+		return units.get(unitID);
+	}
+
+	/**
+	 * Returns the number of units.
+	 */
+	public int size() {
+		return units.size();
+	}
+}
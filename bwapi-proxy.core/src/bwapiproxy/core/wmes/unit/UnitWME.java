@@ -1,345 +1,554 @@
-package bwapiproxy.core.wmes.unit;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-
-import bwapiproxy.core.wmes.PlayerWME;
-import bwapiproxy.core.wmes.UnitTypeWME;
-import bwapiproxy.core.wmes.UnitTypeWME.UnitType;
-
-/**
- * Represents a unit in StarCraft.
- */
-public class UnitWME {
-
-	/** a unique identifier for referencing the unit */
-	protected int ID = -1;
-
-	/** the player the unit belongs too */
-	private int playerID;
-
-	/** the unit type */
-	private UnitTypeWME type;
-
-	/** x tile position */
-	private int x;
-
-	/** y tile position */
-	private int y;
-
-	/** x velocity in pixels per frame */
-	private double velocityX;
-
-	/** y velocity in pixels per frame */
-	private double velocityY;
-
-	/** unit hit points */
-	private int hitPoints;
-
-	/** unit shields */
-	private int shields;
-
-	/** unit energy */
-	private int energy;
-
-	/** an internal timer used in StarCraft */
-	private int orderTimer;
-
-	/** for vultures only */
-	protected int mineCount = 0;
-
-	private int buildTimer;
-	private int trainTimer;
-	private int researchTimer;
-	private int upgradeTimer;
-
-	/**
-	 * Order type currently being executed by the unit.
-	 * @See the Order enum in Constants.java
-	 */
-	private int order;
-
-	/** resources remaining, mineral count for patches, and gas for geysers */
-	private int resources;
-
-	private int addonID;
-
-	/**
-	 * Parses the unit data.
-	 */
-	public static ArrayList<UnitWME> getUnits(String unitData, HashMap<Integer, UnitTypeWME> types,
-			int playerID, PlayerWME[] players) {
-
-		ArrayList<UnitWME> units = new ArrayList<UnitWME>();
-		String[] unitDatas = unitData.split(":");
-		boolean first = true;
-
-		for (String data : unitDatas) {
-			if (first) {
-				first = false;
-				continue;
-			}
-
-			String[] attributes = data.split(";");
-			UnitWME unit = new UnitWME();
-			int pID = Integer.parseInt(attributes[1]);
-			int type = Integer.parseInt(attributes[2]);
-
-			if (pID == playerID) {
-				unit = new PlayerUnitWME();
-			}
-			else if (type == UnitType.Resource_Mineral_Field.ordinal()) {
-				unit = new MineralWME();
-			}
-			else if (type == UnitType.Resource_Vespene_Geyser.ordinal()) {
-				unit = new GeyserWME();
-			}
-			else if(pID != playerID && pID != 11 && !players[pID].isAlly()) {
-				unit = new EnemyUnitWME();
-			}
-			else if(pID != playerID && pID != 11 && players[pID].isAlly()) {
-				unit = new AllyUnitWME();
-			}
-
-			unit.ID = Integer.parseInt(attributes[0]);
-			unit.playerID = pID;
-			unit.type = types.get(type);
-			unit.x = Integer.parseInt(attributes[3]);
-			unit.y = Integer.parseInt(attributes[4]);
-			unit.hitPoints = Integer.parseInt(attributes[5]);
-			unit.shields = Integer.parseInt(attributes[6]);
-			unit.energy = Integer.parseInt(attributes[7]);
-			unit.buildTimer = Integer.parseInt(attributes[8]);
-			unit.trainTimer = Integer.parseInt(attributes[9]);
-			unit.researchTimer = Integer.parseInt(attributes[10]);
-			unit.upgradeTimer = Integer.parseInt(attributes[11]);
-			unit.orderTimer = Integer.parseInt(attributes[12]);
-			unit.order = Integer.parseInt(attributes[13]);
-			unit.resources = Integer.parseInt(attributes[14]);
-			unit.addonID = Integer.parseInt(attributes[15]);
-			unit.mineCount = Integer.parseInt(attributes[16]);
-			unit.velocityX = Integer.parseInt(attributes[17]);
-			unit.velocityY = Integer.parseInt(attributes[18]);
-			units.add(unit);
-		}
-
-		return units;
-	}
-
-	/**
-	 * Updates the unit list passed in.
-	 */
-	public static ArrayList<UnitWME> updateUnits(ArrayList<UnitWME> army, ArrayList<UnitWME> units) {
-
-		ArrayList<UnitWME> newArmy = new ArrayList<UnitWME>();
-
-		for (UnitWME soldier : army) {
-
-			for (UnitWME unit : units) {
-				if (unit.ID == soldier.ID) {
-					if (unit.hitPoints == 0) {
-			 			//System.out.println("this unit is dead, remove him and keep it moving.");
-						continue;
-					}
-
-					soldier.playerID = unit.playerID;
-					soldier.type = unit.type;
-					soldier.x = unit.x;
-					soldier.y = unit.y;
-					soldier.hitPoints = unit.hitPoints;
-					soldier.shields = unit.shields;
-					soldier.energy = unit.energy;
-					soldier.orderTimer = unit.orderTimer;
-					soldier.order = unit.order;
-					soldier.resources = unit.resources;
-					soldier.mineCount = unit.mineCount;
-					soldier.velocityX = unit.velocityX;
-					soldier.velocityY = unit.velocityY;
-					newArmy.add(soldier);
-				}
-			}
-		}
-
-		return newArmy;
-	}
-
-	public int getMineCount() {
-		return mineCount;
-	}
-
-	public int getAddonID() {
-		return addonID;
-	}
-
-	public boolean getIsBuilt() {
-		return buildTimer == 0;
-	}
-
-	public double distance(double x, double y) {
-		return Math.sqrt(Math.pow(this.x - x, 2) + Math.pow(this.y - y, 2));
-	}
-
-	/**
-	 * Returns the Euclidian distance to the specified unit.
-	 */
-	public double distance(UnitWME unit) {
-		double dx = unit.x - x;
-		double dy = unit.y - y;
-
-		return Math.sqrt(dx*dx + dy*dy);
-	}
-
-	/**
-	 * Returns the unit ID.
-	 */
-	public int getID() {
-		return ID;
-	}
-
-	/**
-	 * Returns if the unit is a worker type.
-	 */
-	public boolean getIsWorker() {
-		return type.isWorker();
-	}
-
-	/**
-	 * Returns whether the unit is a center type.
-	 */
-	public boolean getIsCenter() {
-		return type.isCenter();
-	}
-
-	/**
-	 * Returns the id of the player controlling the unit.
-	 * @return
-	 */
-	public int getPlayerID() {
-		return playerID;
-	}
-
-	/**
-	 * Returns the unit type.
-	 */
-	public UnitTypeWME getType() {
-		return type;
-	}
-
-	/**
-	 * Returns the type ID.
-	 */
-	public int getTypeID() {
-		return type.getId();
-	}
-
-	/**
-	 * Returns the units x position (tile coordinates)
-	 */
-	public int getX() {
-		return x;
-	}
-
-	/**
-	 * Returns the units y position (tile coordinates)
-	 */
-	public int getY() {
-		return y;
-	}
-
-	/**
-	 * Returns the units health
-	 */
-	public int getHitPoints() {
-		return hitPoints;
-	}
-
-	/**
-	 * Returns the units shield energy.
-	 */
-	public int getShields() {
-		return shields;
-	}
-
-	/**
-	 * Returns the amount of energy (mana) the unit has.
-	 */
-	public int getEnergy() {
-		return energy;
-	}
-
-	/**
-	 * Returns the ID of the order the unit is currently executing.
-	 */
-	public int getOrder() {
-		return order;
-	}
-
-	public void setOrder(int order) {
-		this.order = order;
-	}
-
-	public int getOrderTimer() {
-		return orderTimer;
-	}
-
-	public int getBuildTimer() {
-		return buildTimer;
-	}
-	public int getTrainTimer() {
-		return trainTimer;
-	}
-
-	public int getResearchTimer() {
-		return researchTimer;
-	}
-
-	public int getUpgradeTimer() {
-		return upgradeTimer;
-	}
-
-	/**
-	 * Specifies the amount of resources remaining (for mineral patches and geysers)
-	 */
-	public int getResources() {
-		return resources;
-	}
-
-	public String toString() {
-		return
-			"ID:" + ID +
-			" player:" + playerID +
-			" type:" + type.getName() +
-			" x:" + x +
-			" y:" + y +
-			" hitPoints:" + hitPoints +
-			" shields:" + shields +
-			" enemy:" + energy +
-			" orderTimer:" + orderTimer +
-			" order:" + order +
-			" resource:" + resources;
-		}
-
-	@Override
- 	public int hashCode() {
- 		final int prime = 31;
- 		int result = 1;
- 		result = prime * result + ID;
- 		return result;
- 	}
-
- 	@Override
- 	public boolean equals(Object obj) {
- 		if (this == obj)
- 			return true;
- 		if (obj == null)
- 			return false;
- 		if (getClass() != obj.getClass())
- 			return false;
- 		UnitWME other = (UnitWME) obj;
- 		if (ID != other.ID)
- 			return false;
- 		return true;
- 	}
-}
-
+package bwapiproxy.core.wmes.unit;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import bwapiproxy.core.protocol.TextCursor;
+import bwapiproxy.core.util.IntHashMap;
+import bwapiproxy.core.wmes.PlayerWME;
+import bwapiproxy.core.wmes.UnitTypeWME;
+import bwapiproxy.core.wmes.UnitTypeWME.UnitType;
+
+/**
+ * Represents a unit in StarCraft.
+ */
+public class UnitWME {
+
+	/** a unique identifier for referencing the unit */
+	protected int ID = -1;
+
+	/** the player the unit belongs too */
+	private int playerID;
+
+	/** the unit type */
+	private UnitTypeWME type;
+
+	/** x tile position */
+	private int x;
+
+	/** y tile position */
+	private int y;
+
+	/** x velocity in pixels per frame */
+	private double velocityX;
+
+	/** y velocity in pixels per frame */
+	private double velocityY;
+
+	/** unit hit points */
+	private int hitPoints;
+
+	/** unit shields */
+	private int shields;
+
+	/** unit energy */
+	private int energy;
+
+	/** an internal timer used in StarCraft */
+	private int orderTimer;
+
+	/** for vultures only */
+	protected int mineCount = 0;
+
+	private int buildTimer;
+	private int trainTimer;
+	private int researchTimer;
+	private int upgradeTimer;
+
+	/**
+	 * Order type currently being executed by the unit.
+	 * @See the Order enum in Constants.java
+	 */
+	private int order;
+
+	/** resources remaining, mineral count for patches, and gas for geysers */
+	private int resources;
+
+	private int addonID;
+
+	/** the frame in which the unit was last updated, see UnitTable */
+	int lastUpdate = -1;
+
+	/** set when the unit has left the game state */
+	private boolean retired = false;
+
+	/**
+	 * Categories of units, determined by the owner and type of the unit.
+	 */
+	public enum Category {
+		Player,
+		Enemy,
+		Ally,
+		Mineral,
+		Geyser,
+		Neutral
+	}
+
+	/**
+	 * Parses the unit data.
+	 */
+	public static ArrayList<UnitWME> getUnits(String unitData, HashMap<Integer, UnitTypeWME> types,
+			int playerID, PlayerWME[] players) {
+
+		TextCursor cursor = new TextCursor(unitData);
+		cursor.skipSection();
+		return getUnits(cursor, types, playerID, players);
+	}
+
+	/**
+	 * Parses the unit section of a text update, the cursor must be positioned at the first unit.
+	 */
+	public static ArrayList<UnitWME> getUnits(TextCursor unitData, HashMap<Integer, UnitTypeWME> types,
+			int playerID, PlayerWME[] players) {
+
+		ArrayList<UnitWME> units = new ArrayList<UnitWME>();
+
+		while (unitData.hasMore()) {
+			int id = unitData.nextInt();
+			int pID = unitData.nextInt();
+			int type = unitData.nextInt();
+
+			UnitWME unit = newUnit(getCategory(pID, type, playerID, players));
+			unit.ID = id;
+			unit.playerID = pID;
+			unit.type = types.get(type);
+			unit.read(unitData);
+			units.add(unit);
+		}
+
+		return units;
+	}
+
+	/**
+	 * Parses the unit records of a binary update frame, see FrameFormat.
+	 */
+	public static ArrayList<UnitWME> getUnits(ByteBuffer unitData, HashMap<Integer, UnitTypeWME> types,
+			int playerID, PlayerWME[] players) {
+
+		int count = unitData.getInt();
+		ArrayList<UnitWME> units = new ArrayList<UnitWME>(count);
+
+		for (int i=0; i<count; i++) {
+			int id = unitData.getInt();
+			int pID = unitData.get() & 0xFF;
+			int type = unitData.getShort() & 0xFFFF;
+
+			UnitWME unit = newUnit(getCategory(pID, type, playerID, players));
+			unit.ID = id;
+			unit.playerID = pID;
+			unit.type = types.get(type);
+			unit.read(unitData);
+			units.add(unit);
+		}
+
+		return units;
+	}
+
+	/**
+	 * Parses the unit section of a text update into the unit table, updating the units
+	 * already in the table in place. The cursor must be positioned at the first unit.
+	 */
+	public static void readUnits(TextCursor unitData, UnitTable table) {
+		while (unitData.hasMore()) {
+			int id = unitData.nextInt();
+			int pID = unitData.nextInt();
+			int type = unitData.nextInt();
+
+			table.getUnit(id, pID, type).read(unitData);
+		}
+	}
+
+	/**
+	 * Parses the unit records of a binary update frame into the unit table, updating the
+	 * units already in the table in place.
+	 */
+	public static void readUnits(ByteBuffer unitData, UnitTable table) {
+		int count = unitData.getInt();
+
+		for (int i=0; i<count; i++) {
+			int id = unitData.getInt();
+			int pID = unitData.get() & 0xFF;
+			int type = unitData.getShort() & 0xFFFF;
+
+			table.getUnit(id, pID, type).read(unitData);
+		}
+	}
+
+	/**
+	 * Reads the attributes following the ID, player and type of a text unit record.
+	 */
+	private void read(TextCursor unitData) {
+		x = unitData.nextInt();
+		y = unitData.nextInt();
+		hitPoints = unitData.nextInt();
+		shields = unitData.nextInt();
+		energy = unitData.nextInt();
+		buildTimer = unitData.nextInt();
+		trainTimer = unitData.nextInt();
+		researchTimer = unitData.nextInt();
+		upgradeTimer = unitData.nextInt();
+		orderTimer = unitData.nextInt();
+		order = unitData.nextInt();
+		resources = unitData.nextInt();
+		addonID = unitData.nextInt();
+		mineCount = unitData.nextInt();
+		velocityX = unitData.nextInt();
+		velocityY = unitData.nextInt();
+
+		// ignore any additional attributes
+		if (unitData.getSeparator() == ';') {
+			unitData.skipSection();
+		}
+	}
+
+	/**
+	 * Reads the attributes following the ID, player and type of a binary unit record.
+	 */
+	private void read(ByteBuffer unitData) {
+		x = unitData.getShort() & 0xFFFF;
+		y = unitData.getShort() & 0xFFFF;
+		hitPoints = unitData.getShort() & 0xFFFF;
+		shields = unitData.getShort() & 0xFFFF;
+		energy = unitData.getShort() & 0xFFFF;
+		buildTimer = unitData.getShort() & 0xFFFF;
+		trainTimer = unitData.getShort() & 0xFFFF;
+		researchTimer = unitData.getShort() & 0xFFFF;
+		upgradeTimer = unitData.getShort() & 0xFFFF;
+		orderTimer = unitData.getShort() & 0xFFFF;
+		order = unitData.getShort() & 0xFFFF;
+		resources = unitData.getInt();
+		addonID = unitData.getInt();
+		mineCount = unitData.get() & 0xFF;
+		velocityX = unitData.getShort();
+		velocityY = unitData.getShort();
+	}
+
+	/**
+	 * Returns the category of a unit with the given owner and type.
+	 */
+	static Category getCategory(int pID, int type, int playerID, PlayerWME[] players) {
+		if (pID == playerID) {
+			return Category.Player;
+		}
+		else if (type == UnitType.Resource_Mineral_Field.ordinal()) {
+			return Category.Mineral;
+		}
+		else if (type == UnitType.Resource_Vespene_Geyser.ordinal()) {
+			return Category.Geyser;
+		}
+		else if(pID != playerID && pID != 11 && !players[pID].isAlly()) {
+			return Category.Enemy;
+		}
+		else if(pID != playerID && pID != 11 && players[pID].isAlly()) {
+			return Category.Ally;
+		}
+
+		return Category.Neutral;
+	}
+
+	/**
+	 * Creates a unit object of the class matching the category.
+	 */
+	public static UnitWME newUnit(Category category) {
+		switch (category) {
+			case Player:
+				return new PlayerUnitWME();
+			case Mineral:
+				return new MineralWME();
+			case Geyser:
+				return new GeyserWME();
+			case Enemy:
+				return new EnemyUnitWME();
+			case Ally:
+				return new AllyUnitWME();
+		}
+
+		return new UnitWME();
+	}
+
+	/**
+	 * Sets the ID, owner and type of a unit, the type is only looked up if it changed.
+	 */
+	void setIdentity(int id, int pID, int typeID, UnitTypeWME[] types) {
+		this.ID = id;
+		this.playerID = pID;
+
+		if (type == null || type.getId() != typeID) {
+			type = (typeID >= 0 && typeID < types.length) ? types[typeID] : null;
+		}
+	}
+
+	/**
+	 * Copies the state of another unit into this unit, used to take snapshots of the game.
+	 */
+	public void copyFrom(UnitWME unit) {
+		ID = unit.ID;
+		playerID = unit.playerID;
+		type = unit.type;
+		x = unit.x;
+		y = unit.y;
+		velocityX = unit.velocityX;
+		velocityY = unit.velocityY;
+		hitPoints = unit.hitPoints;
+		shields = unit.shields;
+		energy = unit.energy;
+		orderTimer = unit.orderTimer;
+		mineCount = unit.mineCount;
+		buildTimer = unit.buildTimer;
+		trainTimer = unit.trainTimer;
+		researchTimer = unit.researchTimer;
+		upgradeTimer = unit.upgradeTimer;
+		order = unit.order;
+		resources = unit.resources;
+		addonID = unit.addonID;
+		retired = unit.retired;
+	}
+
+	/**
+	 * Marks the unit as no longer part of the game state.
+	 */
+	void retire() {
+		retired = true;
+	}
+
+	/**
+	 * Updates the unit list passed in.
+	 * 
+	 * Note: the unit objects returned by Game are updated in place every frame, so this is
+	 *       only needed for units that were created elsewhere, or that were retired because
+	 *       they changed category.
+	 */
+	public static ArrayList<UnitWME> updateUnits(ArrayList<UnitWME> army, ArrayList<UnitWME> units) {
+
+		ArrayList<UnitWME> newArmy = new ArrayList<UnitWME>();
+		IntHashMap<UnitWME> unitMap = new IntHashMap<UnitWME>(units.size());
+		
+		for (UnitWME unit : units) {
+			unitMap.put(unit.ID, unit);
+		}
+
+		for (UnitWME soldier : army) {
+			UnitWME unit = unitMap.get(soldier.ID);
+			if (unit == null || unit.hitPoints == 0) {
+				continue;
+			}
+
+			if (unit != soldier) {
+				soldier.playerID = unit.playerID;
+				soldier.type = unit.type;
+				soldier.x = unit.x;
+				soldier.y = unit.y;
+				soldier.hitPoints = unit.hitPoints;
+				soldier.shields = unit.shields;
+				soldier.energy = unit.energy;
+				soldier.orderTimer = unit.orderTimer;
+				soldier.order = unit.order;
+				soldier.resources = unit.resources;
+				soldier.mineCount = unit.mineCount;
+				soldier.velocityX = unit.velocityX;
+				soldier.velocityY = unit.velocityY;
+			}
+
+			newArmy.add(soldier);
+		}
+
+		return newArmy;
+	}
+
+	/**
+	 * Returns the category of the unit.
+	 */
+	public Category getCategory() {
+		return Category.Neutral;
+	}
+
+	/**
+	 * Returns true if the unit has left the game state (destroyed, or no longer visible).
+	 * 
+	 * Retired units keep the values of the last frame they were seen in.
+	 */
+	public boolean isRetired() {
+		return retired;
+	}
+
+	public int getMineCount() {
+		return mineCount;
+	}
+
+	public int getAddonID() {
+		return addonID;
+	}
+
+	public boolean getIsBuilt() {
+		return buildTimer == 0;
+	}
+
+	public double distance(double x, double y) {
+		return Math.sqrt(Math.pow(this.x - x, 2) + Math.pow(this.y - y, 2));
+	}
+
+	/**
+	 * Returns the Euclidian distance to the specified unit.
+	 */
+	public double distance(UnitWME unit) {
+		double dx = unit.x - x;
+		double dy = unit.y - y;
+
+		return Math.sqrt(dx*dx + dy*dy);
+	}
+
+	/**
+	 * Returns the unit ID.
+	 */
+	public int getID() {
+		return ID;
+	}
+
+	/**
+	 * Returns if the unit is a worker type.
+	 */
+	public boolean getIsWorker() {
+		return type.isWorker();
+	}
+
+	/**
+	 * Returns whether the unit is a center type.
+	 */
+	public boolean getIsCenter() {
+		return type.isCenter();
+	}
+
+	/**
+	 * Returns the id of the player controlling the unit.
+	 * @return
+	 */
+	public int getPlayerID() {
+		return playerID;
+	}
+
+	/**
+	 * Returns the unit type.
+	 */
+	public UnitTypeWME getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the type ID.
+	 */
+	public int getTypeID() {
+		return type.getId();
+	}
+
+	/**
+	 * Returns the units x position (tile coordinates)
+	 */
+	public int getX() {
+		return x;
+	}
+
+	/**
+	 * Returns the units y position (tile coordinates)
+	 */
+	public int getY() {
+		return y;
+	}
+
+	/**
+	 * Returns the units health
+	 */
+	public int getHitPoints() {
+		return hitPoints;
+	}
+
+	/**
+	 * Returns the units shield energy.
+	 */
+	public int getShields() {
+		return shields;
+	}
+
+	/**
+	 * Returns the amount of energy (mana) the unit has.
+	 */
+	public int getEnergy() {
+		return energy;
+	}
+
+	/**
+	 * Returns the ID of the order the unit is currently executing.
+	 */
+	public int getOrder() {
+		return order;
+	}
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	public int getOrderTimer() {
+		return orderTimer;
+	}
+
+	public int getBuildTimer() {
+		return buildTimer;
+	}
+	public int getTrainTimer() {
+		return trainTimer;
+	}
+
+	public int getResearchTimer() {
+		return researchTimer;
+	}
+
+	public int getUpgradeTimer() {
+		return upgradeTimer;
+	}
+
+	/**
+	 * Specifies the amount of resources remaining (for mineral patches and geysers)
+	 */
+	public int getResources() {
+		return resources;
+	}
+
+	public String toString() {
+		return
+			"ID:" + ID +
+			" player:" + playerID +
+			" type:" + type.getName() +
+			" x:" + x +
+			" y:" + y +
+			" hitPoints:" + hitPoints +
+			" shields:" + shields +
+			" enemy:" + energy +
+			" orderTimer:" + orderTimer +
+			" order:" + order +
+			" resource:" + resources;
+		}
+
+	@Override
+ 	public int hashCode() {
+ 		final int prime = 31;
+ 		int result = 1;
+ 		result = prime * result + ID;
+ 		return result;
+ 	}
+
+ 	@Override
+ 	public boolean equals(Object obj) {
+ 		if (this == obj)
+ 			return true;
+ 		if (obj == null)
+ 			return false;
+ 		if (getClass() != obj.getClass())
+ 			return false;
+ 		UnitWME other = (UnitWME) obj;
+ 		if (ID != other.ID)
+ 			return false;
+ 		return true;
+ 	}
+}
+
  
\ No newline at end of file
@@ -0,0 +1,145 @@
+package bwapiproxy.core;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import bwapiproxy.core.wmes.unit.UnitWME;
+/**
+ * Tests that snapshots read by other threads stay consistent while the game is updated.
+ */
+public class GameSnapshotTest {
+
+	private static final int FRAMES = 200000;
+
+	private static final int READERS = 3;
+
+	private volatile boolean done = false;
+
+	/**
+	 * Every frame moves the units to a position given by the frame and changes the number
+	 * of units, so a snapshot mixing two frames has units at the wrong position or the
+	 * wrong number of units.
+	 */
+	@Test
+	public void readersSeeConsistentFrames() throws InterruptedException {
+		final Game game = createGame();
+		final AtomicLong reads = new AtomicLong();
+		final AtomicReference<String> error = new AtomicReference<String>();
+		Thread[] readers = new Thread[READERS];
+
+		for (int i=0; i<READERS; i++) {
+			readers[i] = new Thread() {
+				public void run() {
+					while (!done && error.get() == null) {
+						GameSnapshot snapshot = game.acquireSnapshot();
+						if (snapshot == null) {
+							continue;
+						}
+
+						try {
+							String message = check(snapshot);
+							if (message != null) {
+								error.compareAndSet(null, message);
+							}
+
+							reads.incrementAndGet();
+						}
+						finally {
+							snapshot.release();
+						}
+					}
+				}
+			};
+
+			readers[i].start();
+		}
+
+		try {
+			for (int frame=1; frame<=FRAMES && error.get() == null; frame++) {
+				game.update(createUpdate(frame));
+			}
+		}
+		finally {
+			done = true;
+			for (Thread reader : readers) {
+				reader.join();
+			}
+		}
+
+		assertNull(error.get());
+		assertTrue(reads.get() > 0);
+	}
+
+	/**
+	 * Returns a description of the first inconsistency of the snapshot, or null.
+	 */
+	private static String check(GameSnapshot snapshot) {
+		int frame = snapshot.getGameFrame();
+
+		if (snapshot.getUnits().size() != getUnitCount(frame)) {
+			return "frame " + frame + " has " + snapshot.getUnits().size() + " units";
+		}
+
+		if (snapshot.getPlayerUnits().size() != getUnitCount(frame)) {
+			return "frame " + frame + " has " + snapshot.getPlayerUnits().size() + " player units";
+		}
+
+		for (UnitWME unit : snapshot.getUnits()) {
+			if (unit.getX() != getX(frame)) {
+				return "frame " + frame + " has unit " + unit.getID() + " at " + unit.getX();
+			}
+
+			if (snapshot.getUnit(unit.getID()) != unit) {
+				return "frame " + frame + " does not index unit " + unit.getID();
+			}
+		}
+
+		return null;
+	}
+
+	private static Game createGame() {
+		StringBuilder map = new StringBuilder("test:8:8:");
+		for (int i=0; i<64; i++) {
+			map.append("211");
+		}
+
+		return new Game("NewGame;0:0;Terran;A;1;0:1;Zerg;B;1;0:11;Other;N;3;0", "Locations:1;1",
+				map.toString(), "Chokes:", "Bases:");
+	}
+
+	private static int getUnitCount(int frame) {
+		return 50 + frame % 7;
+	}
+
+	private static int getX(int frame) {
+		return frame % 1000;
+	}
+
+	/**
+	 * Returns the text update of a frame, with the units of the bot at the same position.
+	 */
+	private static String createUpdate(int frame) {
+		StringBuilder update = new StringBuilder("s;50;0;8;20;");
+		appendZeros(update, 47);
+		update.append(';');
+		appendZeros(update, 63);
+
+		for (int i=0; i<getUnitCount(frame); i++) {
+			update.append(':').append(i + 1).append(";0;7;").append(getX(frame))
+				  .append(";1;60;0;0;0;0;0;0;0;3;0;0;0;0;0");
+		}
+
+		return update.toString();
+	}
+
+	private static void appendZeros(StringBuilder update, int count) {
+		for (int i=0; i<count; i++) {
+			update.append('0');
+		}
+	}
+}
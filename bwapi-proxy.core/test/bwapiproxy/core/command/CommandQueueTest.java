@@ -0,0 +1,57 @@
+package bwapiproxy.core.command;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+/**
+ * Tests for coalescing and dropping commands in CommandQueue.
+ */
+public class CommandQueueTest {
+
+	@Test
+	public void trainsOnOneBuildingAreAllSent() {
+		CommandQueue queue = new CommandQueue();
+		queue.train(5, 7);
+		queue.train(5, 7);
+
+		assertEquals("commands:5;5;7;0;0:5;5;7;0;0", queue.getCommands());
+		assertEquals(2, queue.getDrainedCount());
+	}
+
+	@Test
+	public void productionCommandsDoNotReplaceEachOther() {
+		CommandQueue queue = new CommandQueue();
+		queue.train(5, 7);
+		queue.research(5, 3);
+		queue.upgrade(5, 4);
+		queue.setRallyPosition(5, 10, 12);
+
+		assertEquals("commands:5;5;7;0;0:8;5;3;0;0:9;5;4;0;0:14;5;10;12;0", queue.getCommands());
+		assertEquals(0, queue.getCoalescedCount());
+	}
+
+	@Test
+	public void laterOrderReplacesPendingOrder() {
+		CommandQueue queue = new CommandQueue();
+		queue.rightClick(5, 10, 12);
+		queue.attackMove(5, 20, 22);
+
+		assertEquals("commands:1;5;20;22;0", queue.getCommands());
+		assertEquals(1, queue.getCoalescedCount());
+	}
+
+	@Test
+	public void duplicatesWithoutGameExpireAfterWindow() {
+		CommandQueue queue = new CommandQueue();
+		queue.setDuplicateWindow(2);
+
+		queue.stop(9);
+		assertEquals("commands:10;9;0;0;0", queue.getCommands());
+
+		queue.stop(9);
+		assertEquals("commands", queue.getCommands());
+
+		queue.stop(9);
+		assertEquals("commands:10;9;0;0;0", queue.getCommands());
+	}
+}
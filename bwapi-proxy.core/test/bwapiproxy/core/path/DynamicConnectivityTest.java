@@ -0,0 +1,154 @@
+package bwapiproxy.core.path;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bwapiproxy.core.wmes.MapWME;
+/**
+ * Tests DynamicConnectivity against a flood fill of the unblocked tiles, over random
+ * sequences of buildings being placed and removed.
+ */
+public class DynamicConnectivityTest {
+
+	private static final int WIDTH = 40;
+	private static final int HEIGHT = 30;
+
+	@Test
+	public void matchesFloodFill() {
+		for (int seed=0; seed<4; seed++) {
+			checkRandomBuildings(new Random(seed), 3000);
+		}
+	}
+
+	/**
+	 * Places and removes random, possibly overlapping buildings, and compares the
+	 * components after every step. The number of steps is enough for the labels to be
+	 * compacted several times.
+	 */
+	private void checkRandomBuildings(Random random, int steps) {
+		boolean[] walkable = new boolean[WIDTH * HEIGHT];
+		MapWME map = createMap(random, walkable);
+
+		DynamicConnectivity connectivity = new DynamicConnectivity(map);
+		int[] blockers = new int[WIDTH * HEIGHT];
+		ArrayList<int[]> buildings = new ArrayList<int[]>();
+		check(connectivity, walkable, blockers);
+
+		for (int step=0; step<steps; step++) {
+			if (buildings.size() < 40 && (buildings.isEmpty() || random.nextInt(3) > 0)) {
+				int[] building = { random.nextInt(WIDTH + 2) - 2, random.nextInt(HEIGHT + 2) - 2,
+						1 + random.nextInt(4), 1 + random.nextInt(3) };
+				buildings.add(building);
+				connectivity.block(building[0], building[1], building[2], building[3]);
+				count(blockers, building, 1);
+			}
+			else {
+				int[] building = buildings.remove(random.nextInt(buildings.size()));
+				connectivity.unblock(building[0], building[1], building[2], building[3]);
+				count(blockers, building, -1);
+			}
+
+			check(connectivity, walkable, blockers);
+		}
+	}
+
+	/**
+	 * Returns a map with about 70% of the tiles walkable.
+	 */
+	private static MapWME createMap(Random random, boolean[] walkable) {
+		StringBuilder data = new StringBuilder("test:" + WIDTH + ":" + HEIGHT + ":");
+
+		for (int i=0; i<walkable.length; i++) {
+			walkable[i] = random.nextInt(100) < 70;
+			data.append('0').append('1').append(walkable[i] ? '1' : '0');
+		}
+
+		return new MapWME(data.toString());
+	}
+
+	private static void count(int[] blockers, int[] building, int change) {
+		for (int y=Math.max(0, building[1]); y<Math.min(HEIGHT, building[1] + building[3]); y++) {
+			for (int x=Math.max(0, building[0]); x<Math.min(WIDTH, building[0] + building[2]); x++) {
+				blockers[y * WIDTH + x] += change;
+			}
+		}
+	}
+
+	/**
+	 * Checks that the components of the connectivity are the components of a flood fill:
+	 * the same tiles are open, and the component numbers map one to one.
+	 */
+	private static void check(DynamicConnectivity connectivity, boolean[] walkable, int[] blockers) {
+		int[] expected = floodFill(walkable, blockers);
+		HashMap<Integer, Integer> components = new HashMap<Integer, Integer>();
+		HashMap<Integer, Integer> fills = new HashMap<Integer, Integer>();
+
+		for (int tile=0; tile<expected.length; tile++) {
+			int x = tile % WIDTH;
+			int y = tile / WIDTH;
+			int component = connectivity.getComponent(x, y);
+
+			assertEquals("blocked " + x + "," + y, blockers[tile] > 0, connectivity.isBlocked(x, y));
+			assertEquals("open " + x + "," + y, expected[tile] >= 0, component >= 0);
+
+			if (component >= 0) {
+				Integer fill = components.get(component);
+				Integer other = fills.get(expected[tile]);
+				assertEquals("component " + x + "," + y, fill == null ? expected[tile] : fill, expected[tile]);
+				assertEquals("component " + x + "," + y, other == null ? component : other, component);
+
+				components.put(component, expected[tile]);
+				fills.put(expected[tile], component);
+			}
+		}
+	}
+
+	/**
+	 * Labels the 4-connected open tiles with a breadth first search, -1 for closed tiles.
+	 */
+	private static int[] floodFill(boolean[] walkable, int[] blockers) {
+		int[] labels = new int[walkable.length];
+		Arrays.fill(labels, -1);
+		ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+		int count = 0;
+
+		for (int start=0; start<labels.length; start++) {
+			if (!isOpen(walkable, blockers, start) || labels[start] >= 0) {
+				continue;
+			}
+
+			labels[start] = count;
+			queue.add(start);
+
+			while (!queue.isEmpty()) {
+				int tile = queue.poll();
+				int x = tile % WIDTH;
+				int y = tile / WIDTH;
+				int[] neighbours = { x > 0 ? tile - 1 : -1, x < WIDTH - 1 ? tile + 1 : -1,
+						y > 0 ? tile - WIDTH : -1, y < HEIGHT - 1 ? tile + WIDTH : -1 };
+
+				for (int neighbour : neighbours) {
+					if (neighbour >= 0 && isOpen(walkable, blockers, neighbour) && labels[neighbour] < 0) {
+						labels[neighbour] = count;
+						queue.add(neighbour);
+					}
+				}
+			}
+
+			count++;
+		}
+
+		return labels;
+	}
+
+	private static boolean isOpen(boolean[] walkable, int[] blockers, int tile) {
+		return walkable[tile] && blockers[tile] == 0;
+	}
+}
@@ -0,0 +1,210 @@
+package bwapiproxy.core.path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bwapiproxy.core.wmes.MapWME;
+/**
+ * Tests PathFinder against a plain Dijkstra search with the same moves on random maps.
+ */
+public class PathFinderTest {
+
+	private static final int WIDTH = 40;
+	private static final int HEIGHT = 32;
+
+	private static final int[] DX = { 1, -1, 0, 0, 1, 1, -1, -1 };
+	private static final int[] DY = { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+	@Test
+	public void matchesDijkstraForSize1() {
+		checkRandomMaps(1);
+	}
+
+	@Test
+	public void matchesDijkstraForSize2() {
+		checkRandomMaps(2);
+	}
+
+	/**
+	 * Compares the costs of the paths found with and without the map, so that searches
+	 * that fail at once for goals in another component are checked as well.
+	 */
+	private void checkRandomMaps(int size) {
+		Random random = new Random(size);
+
+		for (int round=0; round<20; round++) {
+			boolean[] walkable = new boolean[WIDTH * HEIGHT];
+			MapWME map = createMap(random, walkable);
+			ClearanceMap clearance = new ClearanceMap(map.getWalkable());
+			PathFinder[] finders = { new PathFinder(clearance, null), new PathFinder(clearance, null, map) };
+
+			for (int search=0; search<50; search++) {
+				int start = random.nextInt(WIDTH * HEIGHT);
+				int goal = random.nextInt(WIDTH * HEIGHT);
+				int expected = dijkstra(walkable, start, goal, size);
+
+				for (PathFinder finder : finders) {
+					Path path = finder.findPath(start % WIDTH, start / WIDTH, goal % WIDTH, goal / WIDTH, size);
+
+					if (expected < 0) {
+						assertNull(path);
+					}
+					else {
+						assertNotNull(path);
+						assertEquals(expected, getCost(walkable, path, start, goal, size));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a map with random blocked rectangles.
+	 */
+	private static MapWME createMap(Random random, boolean[] walkable) {
+		Arrays.fill(walkable, true);
+
+		for (int i=0; i<40; i++) {
+			int x0 = random.nextInt(WIDTH);
+			int y0 = random.nextInt(HEIGHT);
+			int x1 = Math.min(WIDTH, x0 + 1 + random.nextInt(5));
+			int y1 = Math.min(HEIGHT, y0 + 1 + random.nextInt(5));
+
+			for (int y=y0; y<y1; y++) {
+				for (int x=x0; x<x1; x++) {
+					walkable[y * WIDTH + x] = false;
+				}
+			}
+		}
+
+		StringBuilder data = new StringBuilder("test:" + WIDTH + ":" + HEIGHT + ":");
+		for (int i=0; i<walkable.length; i++) {
+			data.append('0').append('1').append(walkable[i] ? '1' : '0');
+		}
+
+		return new MapWME(data.toString());
+	}
+
+	/**
+	 * Checks that the path is made of legal steps from the start to the goal, and returns
+	 * its cost.
+	 */
+	private static int getCost(boolean[] walkable, Path path, int start, int goal, int size) {
+		assertEquals(start % WIDTH, path.getX(0));
+		assertEquals(start / WIDTH, path.getY(0));
+		assertEquals(goal % WIDTH, path.getX(path.size() - 1));
+		assertEquals(goal / WIDTH, path.getY(path.size() - 1));
+
+		int cost = 0;
+		int diagonals = 0;
+
+		for (int i=1; i<path.size(); i++) {
+			int x = path.getX(i - 1);
+			int y = path.getY(i - 1);
+			int dx = path.getX(i) - x;
+			int dy = path.getY(i) - y;
+
+			assertTrue("step " + i, Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0));
+			assertTrue("step " + i, canStep(walkable, x, y, dx, dy, size));
+
+			if (dx != 0 && dy != 0) {
+				cost += 14;
+				diagonals++;
+			}
+			else {
+				cost += 10;
+			}
+		}
+
+		assertEquals(path.size() - 1 - diagonals + diagonals * Math.sqrt(2), path.getLength(), 1e-9);
+		return cost;
+	}
+
+	/**
+	 * Returns the cost of the cheapest path, or -1 if there is none. The start does not
+	 * need to be passable, the goal does.
+	 */
+	private static int dijkstra(boolean[] walkable, int start, int goal, int size) {
+		if (!isPassable(walkable, goal % WIDTH, goal / WIDTH, size)) {
+			return -1;
+		}
+
+		int[] cost = new int[WIDTH * HEIGHT];
+		Arrays.fill(cost, Integer.MAX_VALUE);
+		cost[start] = 0;
+
+		// cost and tile packed in a long, so that the queue orders by cost
+		PriorityQueue<Long> open = new PriorityQueue<Long>();
+		open.add((long)start);
+
+		while (!open.isEmpty()) {
+			long entry = open.poll();
+			int tile = (int)(entry & 0xFFFFFFFFL);
+			int g = (int)(entry >>> 32);
+
+			if (g > cost[tile]) {
+				continue;
+			}
+
+			if (tile == goal) {
+				return g;
+			}
+
+			for (int d=0; d<8; d++) {
+				int x = tile % WIDTH;
+				int y = tile / WIDTH;
+
+				if (canStep(walkable, x, y, DX[d], DY[d], size)) {
+					int next = (y + DY[d]) * WIDTH + x + DX[d];
+					int nextCost = g + (d >= 4 ? 14 : 10);
+
+					if (nextCost < cost[next]) {
+						cost[next] = nextCost;
+						open.add(((long)nextCost << 32) | next);
+					}
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns true if a unit can step from the tile in the direction: the tile stepped to
+	 * is passable, and diagonal steps do not cut the corner of a tile that is not.
+	 */
+	private static boolean canStep(boolean[] walkable, int x, int y, int dx, int dy, int size) {
+		if (!isPassable(walkable, x + dx, y + dy, size)) {
+			return false;
+		}
+
+		return dx == 0 || dy == 0 || (isPassable(walkable, x + dx, y, size) && isPassable(walkable, x, y + dy, size));
+	}
+
+	/**
+	 * Returns true if the size x size tiles with the top left tile at x, y are walkable.
+	 */
+	private static boolean isPassable(boolean[] walkable, int x, int y, int size) {
+		if (x < 0 || y < 0 || x + size > WIDTH || y + size > HEIGHT) {
+			return false;
+		}
+
+		for (int ty=y; ty<y+size; ty++) {
+			for (int tx=x; tx<x+size; tx++) {
+				if (!walkable[ty * WIDTH + tx]) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,59 @@
+package bwapiproxy.core.protocol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.Test;
+/**
+ * Tests for reading length-prefixed binary frames with FrameReader.
+ */
+public class FrameReaderTest {
+
+	@Test
+	public void pollsFrameOnceComplete() throws IOException {
+		FrameReader reader = new FrameReader();
+		reader.read(Channels.newChannel(new ByteArrayInputStream(new byte[] { 0, 0, 0, 3, 1, 2 })));
+		assertFalse(reader.hasFrame());
+
+		reader.read(Channels.newChannel(new ByteArrayInputStream(new byte[] { 3 })));
+		assertTrue(reader.hasFrame());
+
+		ByteBuffer frame = reader.pollFrame();
+		assertEquals(3, frame.remaining());
+		assertEquals(1, frame.get());
+	}
+
+	@Test
+	public void checksPrefixWithoutConsuming() throws IOException {
+		FrameReader reader = new FrameReader();
+		reader.read(Channels.newChannel(new ByteArrayInputStream("Chokes:1;2\n".getBytes("US-ASCII"))));
+
+		assertFalse(reader.startsWith("WalkTiles:"));
+		assertFalse(reader.startsWith("Chokes:1;2\nX"));
+		assertTrue(reader.startsWith("Chokes:"));
+		assertEquals("Chokes:1;2", reader.pollLine());
+		assertFalse(reader.startsWith("Chokes:"));
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsNegativeLength() throws IOException {
+		FrameReader reader = new FrameReader();
+		reader.read(Channels.newChannel(new ByteArrayInputStream(new byte[] { (byte)0xFF, 0, 0, 0 })));
+		reader.hasFrame();
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsOversizedLength() throws IOException {
+		ByteBuffer length = ByteBuffer.allocate(4);
+		length.putInt(FrameFormat.MAX_FRAME_SIZE + 1);
+
+		FrameReader reader = new FrameReader(new ByteArrayInputStream(length.array()));
+		reader.readFrame();
+	}
+}
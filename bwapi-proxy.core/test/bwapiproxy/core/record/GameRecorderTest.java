@@ -0,0 +1,126 @@
+package bwapiproxy.core.record;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+/**
+ * Tests for writing recordings with GameRecorder and reading them with RecordingReader.
+ *
+ * Each record holds its sequence number followed by bytes generated from it, so that the
+ * reader can check every record it gets and account for the records that were dropped.
+ */
+public class GameRecorderTest {
+
+	@Test
+	public void roundTripsSmallAndLargeRecordsOverManyWindows() throws Exception {
+		File path = File.createTempFile("recording", ".rec");
+		path.deleteOnExit();
+
+		GameRecorder recorder = new GameRecorder(path);
+		recorder.record(GameRecorder.LINE, "NewGame");
+
+		int count = 0;
+		for (int i=0; i<400; i++) {
+			// some records are larger than a block, and random data does not compress
+			int size = (i % 50 == 7) ? 600 * 1024 : 1 + (i * 37) % 3000;
+			recorder.record(GameRecorder.BINARY_UPDATE, payload(count++, size));
+		}
+
+		recorder.close();
+		recorder.waitUntilWritten();
+		assertTrue(path.length() > 8 * 64 * 1024);
+
+		// small windows, so that the file spans many of them
+		RecordingReader reader = new RecordingReader(path, 64 * 1024);
+		assertTrue(reader.next());
+		assertEquals(GameRecorder.LINE, reader.getType());
+		assertEquals("NewGame", reader.getText());
+
+		int read = readUpdates(reader, count);
+		reader.close();
+
+		assertEquals(recorder.getDroppedCount(), reader.getDroppedCount());
+		assertEquals(count, read + reader.getDroppedCount());
+	}
+
+	@Test
+	public void marksDroppedRecordsWithGaps() throws Exception {
+		File path = File.createTempFile("recording", ".rec");
+		path.deleteOnExit();
+
+		// records of a block each fill the blocks faster than they are compressed
+		GameRecorder recorder = new GameRecorder(path);
+		int count = 0;
+		while (recorder.getDroppedCount() == 0 && count < 100000) {
+			recorder.record(GameRecorder.BINARY_UPDATE, payload(count++, 256 * 1024));
+		}
+
+		for (int i=0; i<10; i++) {
+			recorder.record(GameRecorder.BINARY_UPDATE, payload(count++, 100));
+		}
+
+		recorder.close();
+		recorder.waitUntilWritten();
+		assertTrue(recorder.getDroppedCount() > 0);
+
+		RecordingReader reader = new RecordingReader(path);
+		int read = readUpdates(reader, count);
+		reader.close();
+
+		assertEquals(recorder.getDroppedCount(), reader.getDroppedCount());
+		assertEquals(count, read + reader.getDroppedCount());
+	}
+
+	/**
+	 * Reads the updates, checking their sequence numbers against the gaps and their
+	 * contents, and returns the number of updates read.
+	 */
+	private static int readUpdates(RecordingReader reader, int count) throws IOException {
+		int expected = 0;
+		int read = 0;
+		long time = 0;
+
+		while (reader.next()) {
+			assertTrue(reader.getTime() >= time);
+			time = reader.getTime();
+
+			if (reader.getType() == GameRecorder.GAP) {
+				assertTrue(reader.getGapSize() > 0);
+				expected += reader.getGapSize();
+				continue;
+			}
+
+			assertEquals(GameRecorder.BINARY_UPDATE, reader.getType());
+
+			ByteBuffer data = reader.getData();
+			byte[] bytes = new byte[data.remaining()];
+			data.get(bytes);
+			assertArrayEquals(payload(expected, bytes.length).array(), bytes);
+
+			expected++;
+			read++;
+		}
+
+		assertEquals(count, expected);
+		return read;
+	}
+
+	/**
+	 * Returns a record of the given size holding the sequence number and random bytes.
+	 */
+	private static ByteBuffer payload(int sequence, int size) {
+		byte[] data = new byte[Math.max(4, size)];
+		new Random(sequence).nextBytes(data);
+
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		buffer.putInt(0, sequence);
+		return buffer;
+	}
+}
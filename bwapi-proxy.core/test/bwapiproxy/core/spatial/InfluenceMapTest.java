@@ -0,0 +1,118 @@
+package bwapiproxy.core.spatial;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import bwapiproxy.core.Game;
+import bwapiproxy.core.wmes.unit.UnitWME.Category;
+/**
+ * Tests that the incrementally updated layers of InfluenceMap are identical to layers
+ * computed from scratch, while units move, appear, disappear and change owner.
+ */
+public class InfluenceMapTest {
+
+	private static final int WIDTH = 48;
+	private static final int HEIGHT = 40;
+
+	/** player IDs: the bot, an enemy, an ally and neutral */
+	private static final int[] OWNERS = { 0, 1, 2, 11 };
+
+	private static final int MAX_UNITS = 120;
+
+	private static final Category[] CATEGORIES = { Category.Player, Category.Enemy, Category.Ally };
+
+	@Test
+	public void incrementalMatchesFull() {
+		Random random = new Random(1);
+		Game game = createGame();
+		InfluenceMap influence = new InfluenceMap(WIDTH, HEIGHT);
+
+		// unit state by ID, owner -1 for units that are not in the game
+		int[] owners = new int[MAX_UNITS];
+		int[] xs = new int[MAX_UNITS];
+		int[] ys = new int[MAX_UNITS];
+		for (int id=0; id<MAX_UNITS; id++) {
+			owners[id] = -1;
+		}
+
+		for (int frame=1; frame<=2000; frame++) {
+			for (int id=0; id<MAX_UNITS; id++) {
+				int change = random.nextInt(100);
+
+				if (owners[id] < 0) {
+					if (change < 3) {
+						owners[id] = OWNERS[random.nextInt(OWNERS.length)];
+						xs[id] = random.nextInt(WIDTH);
+						ys[id] = random.nextInt(HEIGHT);
+					}
+				}
+				else if (change < 3) {
+					owners[id] = -1;
+				}
+				else if (change < 5) {
+					owners[id] = OWNERS[random.nextInt(OWNERS.length)];
+				}
+				else if (change < 35) {
+					xs[id] = Math.max(0, Math.min(WIDTH - 1, xs[id] + random.nextInt(7) - 3));
+					ys[id] = Math.max(0, Math.min(HEIGHT - 1, ys[id] + random.nextInt(7) - 3));
+				}
+			}
+
+			game.update(createUpdate(owners, xs, ys));
+			influence.update(game.getGameFrame(), game.getUnits());
+
+			InfluenceMap full = new InfluenceMap(WIDTH, HEIGHT);
+			full.update(game.getGameFrame(), game.getUnits());
+			assertLayersEqual(full, influence);
+
+			if (frame % 100 == 0) {
+				influence.rebuild();
+				assertLayersEqual(full, influence);
+			}
+		}
+	}
+
+	private static void assertLayersEqual(InfluenceMap expected, InfluenceMap actual) {
+		for (Category category : CATEGORIES) {
+			assertArrayEquals(category.toString(), expected.getLayer(category), actual.getLayer(category), 0f);
+		}
+	}
+
+	private static Game createGame() {
+		StringBuilder map = new StringBuilder("test:" + WIDTH + ":" + HEIGHT + ":");
+		for (int i=0; i<WIDTH*HEIGHT; i++) {
+			map.append("211");
+		}
+
+		return new Game("NewGame;0:0;Terran;A;1;0:1;Zerg;B;1;0:2;Protoss;C;1;1:11;Other;N;3;0",
+				"Locations:1;1", map.toString(), "Chokes:", "Bases:");
+	}
+
+	/**
+	 * Returns a full text update with the units that are in the game, all SCVs.
+	 */
+	private static String createUpdate(int[] owners, int[] xs, int[] ys) {
+		StringBuilder update = new StringBuilder("s;50;0;8;20;");
+		appendZeros(update, 47);
+		update.append(';');
+		appendZeros(update, 63);
+
+		for (int id=0; id<owners.length; id++) {
+			if (owners[id] >= 0) {
+				update.append(':').append(id + 1).append(';').append(owners[id]).append(";7;")
+					  .append(xs[id]).append(';').append(ys[id]).append(";60;0;0;0;0;0;0;0;3;0;0;0;0;0");
+			}
+		}
+
+		return update.toString();
+	}
+
+	private static void appendZeros(StringBuilder update, int count) {
+		for (int i=0; i<count; i++) {
+			update.append('0');
+		}
+	}
+}
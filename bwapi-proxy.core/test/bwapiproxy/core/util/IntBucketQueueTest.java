@@ -0,0 +1,91 @@
+package bwapiproxy.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.Test;
+/**
+ * Tests IntBucketQueue against a PriorityQueue.
+ */
+public class IntBucketQueueTest {
+
+	private static final int MAX_INCREASE = 28;
+
+	/**
+	 * Adds and polls values at random, with priorities up to MAX_INCREASE above the last
+	 * polled priority, and checks that the priorities are polled in the same order as
+	 * from a PriorityQueue. Values of equal priority may be polled in any order, so the
+	 * values polled are only compared once their priority is exhausted.
+	 */
+	@Test
+	public void pollsInPriorityOrder() {
+		Random random = new Random(1);
+		IntBucketQueue queue = new IntBucketQueue(MAX_INCREASE);
+
+		for (int round=0; round<20; round++) {
+			// priority and value packed in a long, so that the queue orders by priority
+			PriorityQueue<Long> expected = new PriorityQueue<Long>();
+			int base = random.nextInt(1000);
+			int value = 0;
+			long valueSum = 0;
+
+			// the first value after clear sets the lowest priority that may be added
+			queue.clear();
+			queue.add(value, base);
+			expected.add(((long)base << 32) | value);
+			value++;
+
+			for (int step=0; step<20000; step++) {
+				if (expected.isEmpty() || random.nextInt(100) < 55) {
+					int priority = base + random.nextInt(MAX_INCREASE + 1);
+					queue.add(value, priority);
+					expected.add(((long)priority << 32) | value);
+					value++;
+				}
+				else {
+					long entry = expected.poll();
+					int priority = (int)(entry >>> 32);
+
+					assertEquals(priority, queue.peekPriority());
+					valueSum += queue.poll() - (int)(entry & 0xFFFFFFFFL);
+
+					if (!expected.isEmpty() && (int)(expected.peek() >>> 32) != priority) {
+						assertEquals("values of priority " + priority, 0, valueSum);
+					}
+
+					base = priority;
+				}
+
+				assertEquals(expected.size(), queue.size());
+			}
+
+			while (!expected.isEmpty()) {
+				long entry = expected.poll();
+				assertEquals((int)(entry >>> 32), queue.peekPriority());
+				valueSum += queue.poll() - (int)(entry & 0xFFFFFFFFL);
+			}
+
+			assertEquals(0, valueSum);
+			assertTrue(queue.isEmpty());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsPriorityBelowLastPolled() {
+		IntBucketQueue queue = new IntBucketQueue(MAX_INCREASE);
+		queue.add(1, 10);
+		queue.add(2, 20);
+		queue.poll();
+		queue.add(3, 9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsPriorityTooFarAhead() {
+		IntBucketQueue queue = new IntBucketQueue(MAX_INCREASE);
+		queue.add(1, 10);
+		queue.add(2, 10 + 2 * MAX_INCREASE + 1);
+	}
+}
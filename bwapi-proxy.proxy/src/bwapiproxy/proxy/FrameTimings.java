@@ -0,0 +1,119 @@
+package bwapiproxy.proxy;
+
+import bwapiproxy.core.util.LatencyHistogram;
+/**
+ * Time spent in each phase of the frames of a game.
+ *
+ * A frame goes through the phases in order: reading the update from the socket, waiting
+ * for a worker thread, updating the Game, running the bot, encoding the commands and
+ * writing the response. Each phase has a LatencyHistogram, and the whole frame has one
+ * as well. If the GUI is shown, its paints are timed as the Repaint phase.
+ *
+ * Timings are recorded by the thread processing the session, except for Repaint, which is
+ * recorded by the Swing thread, and can be read by any thread.
+ */
+public class FrameTimings {
+
+	/**
+	 * The phases of a frame.
+	 */
+	public enum Phase {
+		Read,
+		Wait,
+		Update,
+		Bot,
+		Encode,
+		Write,
+
+		/** StarCraftFrame.paint, on the Swing thread and not part of the frame time */
+		Repaint,
+		Frame
+	}
+
+	private LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+	/** number of frames processed */
+	private volatile long frames = 0;
+
+	/** number of frames whose response could not be written at once */
+	private volatile long blockedWrites = 0;
+
+	public FrameTimings() {
+		for (int i=0; i<histograms.length; i++) {
+			histograms[i] = new LatencyHistogram();
+		}
+	}
+
+	/**
+	 * Records the duration of a phase in nanoseconds.
+	 */
+	public void record(Phase phase, long nanos) {
+		histograms[phase.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Counts a processed frame.
+	 */
+	public void countFrame(boolean blocked) {
+		frames = frames + 1;
+
+		if (blocked) {
+			blockedWrites = blockedWrites + 1;
+		}
+	}
+
+	/**
+	 * Adds the timings of another game.
+	 */
+	public void add(FrameTimings timings) {
+		for (int i=0; i<histograms.length; i++) {
+			histograms[i].add(timings.histograms[i]);
+		}
+
+		frames = frames + timings.frames;
+		blockedWrites = blockedWrites + timings.blockedWrites;
+	}
+
+	/**
+	 * Removes all timings.
+	 */
+	public void reset() {
+		for (LatencyHistogram histogram : histograms) {
+			histogram.reset();
+		}
+
+		frames = 0;
+		blockedWrites = 0;
+	}
+
+	public LatencyHistogram getHistogram(Phase phase) {
+		return histograms[phase.ordinal()];
+	}
+
+	public long getFrames() {
+		return frames;
+	}
+
+	public long getBlockedWrites() {
+		return blockedWrites;
+	}
+
+	/**
+	 * Returns a line per phase that has been timed.
+	 */
+	public String[] getSummary() {
+		String[] summary = new String[histograms.length];
+		int lines = 0;
+
+		for (Phase phase : Phase.values()) {
+			LatencyHistogram histogram = getHistogram(phase);
+			if (histogram.getCount() > 0) {
+				summary[lines++] = String.format("%-8s%s", phase, histogram.getSummary());
+			}
+		}
+
+		String[] result = new String[lines];
+		System.arraycopy(summary, 0, result, 0, lines);
+		return result;
+	}
+}
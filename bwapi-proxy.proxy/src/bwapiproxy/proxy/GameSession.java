@@ -0,0 +1,502 @@
+package bwapiproxy.proxy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import bwapiproxy.bot.EventStarCraftBot;
+import bwapiproxy.bot.StarCraftBotFactory;
+import bwapiproxy.core.Game;
+import bwapiproxy.core.GameSnapshot;
+import bwapiproxy.core.command.Command.Priority;
+import bwapiproxy.core.command.CommandQueue;
+import bwapiproxy.core.protocol.FrameFormat;
+import bwapiproxy.core.protocol.FrameReader;
+import bwapiproxy.core.protocol.TextCursor;
+import bwapiproxy.core.record.GameRecorder;
+import bwapiproxy.proxy.FrameTimings.Phase;
+import bwapiproxy.ui.SpeedPanel;
+import bwapiproxy.ui.StarCraftFrame;
+/**
+ * A connection with a StarCraft client, and the game played over it.
+ * 
+ * Each session has its own Game, command queue and bot. The session is fed with the bytes
+ * received from the client, and handles the complete messages: first the handshake, then
+ * one update per frame, each answered with the bot's commands.
+ * 
+ * The ProxyServer reads from the connection on its selector thread and hands the session 
+ * to a worker thread to process the messages, one thread at a time.
+ * 
+ * If ProxyBot.recordingDirectory is set, the messages of the game are recorded there.
+ * 
+ * The phases of every frame are timed, see FrameTimings. The timings are logged when the
+ * game ends, and are available over JMX while it runs.
+ */
+public class GameSession {
+
+	/**
+	 * The next message expected from the client.
+	 */
+	private enum State { Players, Locations, Map, WalkTiles, Chokes, Bases, Frames, Ended }
+
+	/** start of the walk tiles message */
+	private static final String WALK_TILES = "WalkTiles:";
+
+	/** the session ID, for logging */
+	private int id;
+
+	/** the connection with the client */
+	private SocketChannel channel;
+
+	/** the received bytes */
+	private FrameReader reader = new FrameReader();
+
+	/** response bytes that could not be written yet */
+	private ByteBuffer output = ByteBuffer.allocate(FrameFormat.COMMAND_BUFFER_SIZE);
+
+	/** number of bytes in output, for the statistics */
+	private volatile int backlog = 0;
+
+	private State state = State.Players;
+
+	/** whether updates are binary frames, as requested in the bot options */
+	private boolean binary;
+
+	/** handshake messages */
+	private String playerData;
+	private String locationData;
+	private String mapData;
+	private String walkData;
+	private String chokesData = "Chokes:";
+	private String basesData = "Bases:";
+
+	private volatile Game game;
+
+	private EventStarCraftBot bot;
+
+	private boolean botStarted = false;
+
+	/** cursor for text updates */
+	private TextCursor textUpdate = new TextCursor();
+
+	private StarCraftFrame frame;
+
+	private SpeedPanel speedPanel;
+
+	/** records the messages, or null */
+	private GameRecorder recorder;
+
+	/** the server's statistics, which include this session until it is closed */
+	private ProxyStats stats;
+
+	private FrameTimings timings = new FrameTimings();
+
+	/** time spent reading since the last frame was processed, in nanoseconds */
+	private long readTime = 0;
+
+	/** when the session was handed to a worker */
+	private long queuedTime;
+
+	public GameSession(int id, SocketChannel channel, ProxyStats stats) {
+		this.id = id;
+		this.channel = channel;
+		this.stats = stats;
+		stats.add(this);
+
+		if (ProxyBot.recordingDirectory != null) {
+			File path = new File(ProxyBot.recordingDirectory, "game-" + System.currentTimeMillis() + "-" + id + ".rec");
+
+			try {
+				recorder = new GameRecorder(path);
+				log("Recording to " + path);
+			}
+			catch (IOException e) {
+				log("Could not record to " + path + ": " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Reads the bytes available from the connection, returns false if the client has 
+	 * closed the connection.
+	 */
+	boolean read() throws IOException {
+		long start = System.nanoTime();
+		int read = reader.read(channel);
+		readTime += System.nanoTime() - start;
+		return read >= 0;
+	}
+
+	/**
+	 * Marks the session as waiting for a worker.
+	 */
+	void queued() {
+		queuedTime = System.nanoTime();
+	}
+
+	/**
+	 * Returns true if a complete message has been received and can be processed.
+	 *
+	 * @throws IOException if the client sent an invalid message
+	 */
+	boolean hasMessage() throws IOException {
+		if (state == State.Ended || hasOutput()) {
+			return false;
+		}
+
+		return (state == State.Frames && binary) ? reader.hasFrame() : reader.hasLine();
+	}
+
+	/**
+	 * Returns true if part of a response still has to be written.
+	 */
+	boolean hasOutput() {
+		return output.position() > 0;
+	}
+
+	/**
+	 * Handles the complete messages that have been received, and writes the responses.
+	 * Stops if a response could not be written completely.
+	 */
+	void process() throws IOException {
+		if (state == State.Frames) {
+			timings.record(Phase.Wait, System.nanoTime() - queuedTime);
+		}
+
+		while (hasMessage()) {
+			if (state == State.Frames) {
+				long start = System.nanoTime();
+
+				if (binary) {
+					ByteBuffer update = reader.pollFrame();
+					if (recorder != null) {
+						recorder.record(GameRecorder.BINARY_UPDATE, update);
+					}
+
+					start = read(start);
+					game.update(update);
+				}
+				else {
+					reader.pollLine(textUpdate);
+					if (recorder != null) {
+						recorder.record(GameRecorder.TEXT_UPDATE, textUpdate.getData(), textUpdate.getPosition(), 
+								textUpdate.getLimit() - textUpdate.getPosition());
+					}
+
+					start = read(start);
+					game.update(textUpdate);
+				}
+
+				onFrame(start);
+			}
+			else if (state == State.WalkTiles && !reader.startsWith(WALK_TILES)) {
+				// clients that do not send walk tiles go on with the next message, which is
+				// left in the reader for the next state
+				log("Client sent no walk tiles");
+				endMap();
+			}
+			else {
+				handshake(reader.pollLine());
+			}
+		}
+	}
+
+	/**
+	 * Handles a message of the handshake.
+	 */
+	private void handshake(String line) throws IOException {
+		if (recorder != null) {
+			recorder.record(GameRecorder.LINE, line);
+		}
+
+		switch (state) {
+			case Players:
+				// 1. get the initial game information, and respond with bot options
+				playerData = line;
+				binary = ProxyBot.binaryProtocol;
+
+				log("Sending bot options");
+				String botOptions = (ProxyBot.allowUserControl ? "1" : "0") 
+								  + (ProxyBot.completeInformation ? "1" : "0")
+								  + (ProxyBot.logCommands ? "1" : "0")
+								  + (ProxyBot.terrainAnalysis ? "1" : "0")
+								  + (!binary ? FrameFormat.FORMAT_TEXT 
+										  : ProxyBot.deltaUpdates ? FrameFormat.FORMAT_DELTA : FrameFormat.FORMAT_BINARY)
+								  + (ProxyBot.walkTiles ? "1" : "0");
+				write(ByteBuffer.wrap(botOptions.getBytes()));
+
+				if (recorder != null) {
+					recorder.record(GameRecorder.OPTIONS, botOptions);
+				}
+				state = State.Locations;
+				break;
+
+			case Locations:
+				// 3. get the starting locations and map information
+				locationData = line;
+				state = State.Map;
+				break;
+
+			case Map:
+				mapData = line;
+
+				if (ProxyBot.walkTiles) {
+					state = State.WalkTiles;
+				}
+				else {
+					endMap();
+				}
+				break;
+
+			case WalkTiles:
+				walkData = line;
+				endMap();
+				break;
+
+			case Chokes:
+				chokesData = line;
+				state = State.Bases;
+				break;
+
+			case Bases:
+				basesData = line;
+				startGame();
+				break;
+		}
+	}
+
+	/**
+	 * Continues the handshake after the map messages.
+	 */
+	private void endMap() {
+		if (ProxyBot.terrainAnalysis) {
+			state = State.Chokes;
+		}
+		else {
+			startGame();
+		}
+	}
+
+	/**
+	 * Creates the game once the handshake is complete.
+	 */
+	private void startGame() {
+		log("Game starting");
+		game = new Game(playerData, locationData, mapData, walkData, chokesData, basesData);
+		bot = StarCraftBotFactory.newBot();
+
+		// show the game speed panel
+		if (ProxyBot.showSpeedPanel) {
+			speedPanel = new SpeedPanel(game);
+		}
+		else {
+			game.getCommandQueue().setGameSpeed(0);
+		}
+
+		// reading the handshake is not part of the first frame
+		readTime = 0;
+		state = State.Frames;
+	}
+
+	/**
+	 * Records the time spent receiving a frame, and returns the time the frame was received.
+	 */
+	private long read(long start) {
+		long now = System.nanoTime();
+		timings.record(Phase.Read, now - start + readTime);
+		readTime = 0;
+		return now;
+	}
+
+	/**
+	 * Lets the bot act on the frame, and sends the commands in the frame's response.
+	 * 
+	 * @param start - the time the frame was received, before updating the game
+	 */
+	private void onFrame(long start) throws IOException {
+		long updated = System.nanoTime();
+		timings.record(Phase.Update, updated - start);
+
+		if (!botStarted) {
+			// start the agent
+			bot.onStart(game);
+			botStarted = true;
+
+			// initialize the GUI
+			if (ProxyBot.showGUI) {
+				frame = new StarCraftFrame(game);
+				frame.setPaintTimes(timings.getHistogram(Phase.Repaint));
+			}
+		}
+
+		GameSnapshot state = game.acquireSnapshot();
+		try {
+			bot.onFrame(state);
+		}
+		catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+		finally {
+			state.release();
+		}
+
+		long botDone = System.nanoTime();
+		timings.record(Phase.Bot, botDone - updated);
+
+		// 5. send commands
+		ByteBuffer commands = game.getCommandQueue().encodeCommands();
+		if (recorder != null) {
+			recorder.record(GameRecorder.COMMANDS, commands);
+		}
+
+		long encoded = System.nanoTime();
+		timings.record(Phase.Encode, encoded - botDone);
+
+		write(commands);
+		long written = System.nanoTime();
+		timings.record(Phase.Write, written - encoded);
+
+		// the frame times its paints on the Swing thread, see Phase.Repaint
+		if (frame != null) {
+			frame.repaint();
+		}
+
+		timings.record(Phase.Frame, written - start);
+		timings.countFrame(hasOutput());
+	}
+
+	/**
+	 * Writes a response, keeping what the connection does not accept for flush.
+	 */
+	private void write(ByteBuffer data) throws IOException {
+		if (!hasOutput()) {
+			channel.write(data);
+		}
+
+		if (data.hasRemaining()) {
+			if (output.remaining() < data.remaining()) {
+				ByteBuffer larger = ByteBuffer.allocate(output.position() + data.remaining());
+				output.flip();
+				larger.put(output);
+				output = larger;
+			}
+
+			output.put(data);
+			backlog = output.position();
+		}
+	}
+
+	/**
+	 * Writes the rest of the responses, returns true if everything was written.
+	 */
+	boolean flush() throws IOException {
+		output.flip();
+		channel.write(output);
+		output.compact();
+		backlog = output.position();
+		return !hasOutput();
+	}
+
+	/**
+	 * Closes the connection and ends the game.
+	 * 
+	 * @param reason - logged as the reason the game ended
+	 */
+	void close(String reason) {
+		if (state == State.Ended) {
+			return;
+		}
+
+		state = State.Ended;
+		log(reason);
+		stats.remove(this);
+
+		try {
+			channel.close();
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		if (game != null) {
+			CommandQueue commands = game.getCommandQueue();
+			log("Commands: " + commands.getDrainedCount() + " sent, " + commands.getCoalescedCount() 
+					+ " coalesced, " + commands.getDroppedCount() + " dropped");
+
+			for (Priority priority : Priority.values()) {
+				log(String.format("  %s: %d sent, %.1f ms average delay, %.1f ms max delay", priority,
+						commands.getSentCount(priority), commands.getAverageQueueDelay(priority) / 1000, 
+						commands.getMaxQueueDelay(priority) / 1000));
+			}
+
+			log("Frames: " + timings.getFrames() + " processed, " + timings.getBlockedWrites() + " blocked writes");
+			for (String line : timings.getSummary()) {
+				log("  " + line);
+			}
+		}
+
+		// stop the bot
+		if (botStarted) {
+			bot.onEnd();
+		}
+
+		// drop the path finders, the network threads outlive the game
+		if (game != null) {
+			game.end();
+		}
+
+		// finish the recording
+		if (recorder != null) {
+			recorder.close();
+			log("Recording ended, " + recorder.getDroppedCount() + " records dropped");
+		}
+		
+		// close the frame
+		if (frame != null) {
+			frame.stop();
+		}
+		
+		// close the speed panel
+		if (speedPanel != null) {
+			speedPanel.stop();
+		}
+	}
+
+	/**
+	 * Returns the game, or null if the handshake has not been completed.
+	 */
+	public Game getGame() {
+		return game;
+	}
+
+	public int getID() {
+		return id;
+	}
+
+	/**
+	 * Returns the timings of the frames played so far.
+	 */
+	public FrameTimings getTimings() {
+		return timings;
+	}
+
+	/**
+	 * Returns the number of commands the bot has queued that have not been sent yet.
+	 */
+	public long getPendingCommands() {
+		Game game = this.game;
+		return game != null ? game.getCommandQueue().getPendingCount() : 0;
+	}
+
+	/**
+	 * Returns the number of response bytes waiting to be written.
+	 */
+	public int getOutputBacklog() {
+		return backlog;
+	}
+
+	private void log(String message) {
+		System.out.println("[" + id + "] " + message);
+	}
+}
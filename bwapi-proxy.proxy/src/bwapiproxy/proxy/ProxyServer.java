@@ -0,0 +1,239 @@
+package bwapiproxy.proxy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+/**
+ * Non-blocking server for StarCraft clients, which can play any number of games at once.
+ * 
+ * A single selector thread accepts connections and reads from them. Once a complete 
+ * message has been received on a connection, its GameSession is handed to a pool of
+ * worker threads, which update the game, run the bot and write the response. The 
+ * connection is not read while its session is being processed, so each session is 
+ * processed by one thread at a time.
+ * 
+ * The server's statistics are available over JMX while it runs, see ProxyStats.
+ */
+public class ProxyServer {
+
+	/** port to accept connections on */
+	private int port;
+
+	/** processes the sessions */
+	private ThreadPoolExecutor workers;
+
+	private ProxyStats stats;
+
+	private Selector selector;
+
+	/** sessions whose processing has finished, to be read from again */
+	private ConcurrentLinkedQueue<SelectionKey> processed = new ConcurrentLinkedQueue<SelectionKey>();
+
+	private volatile boolean running = true;
+
+	/** ID of the next session */
+	private int nextSessionID = 1;
+
+	/**
+	 * Creates a server processing the games with the given number of worker threads.
+	 */
+	public ProxyServer(int port, int workerThreads) {
+		this.port = port;
+		this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS, 
+				new LinkedBlockingQueue<Runnable>());
+		this.stats = new ProxyStats(workers);
+	}
+
+	/**
+	 * Accepts and serves connections until stop is called.
+	 */
+	public void run() throws IOException {
+		selector = Selector.open();
+		ServerSocketChannel server = ServerSocketChannel.open();
+		server.socket().bind(new InetSocketAddress(port));
+		server.configureBlocking(false);
+		server.register(selector, SelectionKey.OP_ACCEPT);
+		stats.register(port);
+
+		System.out.println("Waiting for client connections");
+
+		try {
+			while (running) {
+				selector.select();
+
+				SelectionKey key;
+				while ((key = processed.poll()) != null) {
+					resume(key);
+				}
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					key = keys.next();
+					keys.remove();
+
+					if (!key.isValid()) {
+						continue;
+					}
+
+					if (key.isAcceptable()) {
+						accept(server);
+					}
+					else if (key.isReadable()) {
+						read(key);
+					}
+					else if (key.isWritable()) {
+						write(key);
+					}
+				}
+			}
+		}
+		finally {
+			for (SelectionKey key : selector.keys()) {
+				if (key.attachment() != null) {
+					((GameSession)key.attachment()).close("Server stopped");
+				}
+			}
+
+			server.close();
+			selector.close();
+			workers.shutdown();
+			stats.unregister();
+		}
+	}
+
+	/**
+	 * Stops the server, closing the connections.
+	 */
+	public void stop() {
+		running = false;
+
+		if (selector != null) {
+			selector.wakeup();
+		}
+	}
+
+	/**
+	 * Returns the statistics of the server.
+	 */
+	public ProxyStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Accepts a connection and starts its session.
+	 */
+	private void accept(ServerSocketChannel server) throws IOException {
+		SocketChannel channel = server.accept();
+		if (channel == null) {
+			return;
+		}
+
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(true);
+
+		GameSession session = new GameSession(nextSessionID++, channel, stats);
+		channel.register(selector, SelectionKey.OP_READ, session);
+		System.out.println("[" + session.getID() + "] Client connected");
+	}
+
+	/**
+	 * Reads from a connection, and processes the session if a message is complete.
+	 */
+	private void read(SelectionKey key) {
+		GameSession session = (GameSession)key.attachment();
+
+		try {
+			if (!session.read()) {
+				session.close("Game Ended");
+				return;
+			}
+		}
+		catch (IOException e) {
+			session.close("StarCraft has disconnected");
+			return;
+		}
+
+		try {
+			if (session.hasMessage()) {
+				process(key);
+			}
+		}
+		catch (IOException e) {
+			session.close("Invalid message from StarCraft: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the rest of a response.
+	 */
+	private void write(SelectionKey key) {
+		GameSession session = (GameSession)key.attachment();
+
+		try {
+			if (session.flush()) {
+				resume(key);
+			}
+		}
+		catch (IOException e) {
+			session.close("StarCraft has disconnected");
+		}
+	}
+
+	/**
+	 * Hands the session to a worker, the connection is not read until it is done.
+	 */
+	private void process(final SelectionKey key) {
+		final GameSession session = (GameSession)key.attachment();
+		key.interestOps(0);
+		session.queued();
+
+		workers.execute(new Runnable() {
+			public void run() {
+				try {
+					session.process();
+				}
+				catch (Exception e) {
+					e.printStackTrace();
+					session.close("Error processing the game");
+					return;
+				}
+
+				processed.add(key);
+				selector.wakeup();
+			}
+		});
+	}
+
+	/**
+	 * Continues serving a session after processing or writing.
+	 */
+	private void resume(SelectionKey key) {
+		if (!key.isValid()) {
+			return;
+		}
+
+		GameSession session = (GameSession)key.attachment();
+		try {
+			if (session.hasOutput()) {
+				key.interestOps(SelectionKey.OP_WRITE);
+			}
+			else if (session.hasMessage()) {
+				process(key);
+			}
+			else {
+				key.interestOps(SelectionKey.OP_READ);
+			}
+		}
+		catch (IOException e) {
+			session.close("Invalid message from StarCraft: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package bwapiproxy.proxy;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import bwapiproxy.core.util.LatencyHistogram;
+import bwapiproxy.proxy.FrameTimings.Phase;
+/**
+ * Statistics of a ProxyServer, registered on the platform MBean server as
+ * "bwapiproxy:type=ProxyStats,port=<port>" so they can be watched with JConsole or
+ * VisualVM while games are played.
+ *
+ * Frame timings are the sum of the timings of the active games and of the games that
+ * have ended. They are combined when read, so recording them costs the games nothing.
+ */
+public class ProxyStats implements ProxyStatsMBean {
+
+	/** the server's workers */
+	private ThreadPoolExecutor workers;
+
+	/** the games being played */
+	private CopyOnWriteArrayList<GameSession> sessions = new CopyOnWriteArrayList<GameSession>();
+
+	/** timings of the games that have ended */
+	private FrameTimings completed = new FrameTimings();
+
+	private long completedGames = 0;
+
+	/** the registered name, or null */
+	private ObjectName name;
+
+	public ProxyStats(ThreadPoolExecutor workers) {
+		this.workers = workers;
+	}
+
+	/**
+	 * Registers the statistics on the platform MBean server. Failing to register is not an
+	 * error, the statistics are still logged when games end.
+	 */
+	public void register(int port) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName("bwapiproxy:type=ProxyStats,port=" + port);
+
+			if (!server.isRegistered(objectName)) {
+				server.registerMBean(this, objectName);
+				name = objectName;
+			}
+		}
+		catch (Exception e) {
+			System.out.println("Could not register the statistics MBean: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Removes the statistics from the platform MBean server.
+	 */
+	public void unregister() {
+		if (name != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			}
+			catch (Exception e) {
+				e.printStackTrace();
+			}
+
+			name = null;
+		}
+	}
+
+	/**
+	 * Adds a game that has started.
+	 */
+	void add(GameSession session) {
+		sessions.add(session);
+	}
+
+	/**
+	 * Moves the timings of a game that has ended into the totals.
+	 */
+	void remove(GameSession session) {
+		if (sessions.remove(session)) {
+			synchronized (completed) {
+				completed.add(session.getTimings());
+				completedGames++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the timings of all the games, as a new object.
+	 */
+	public FrameTimings getTimings() {
+		FrameTimings timings = new FrameTimings();
+		synchronized (completed) {
+			timings.add(completed);
+		}
+
+		for (GameSession session : sessions) {
+			timings.add(session.getTimings());
+		}
+
+		return timings;
+	}
+
+	public int getActiveGames() {
+		return sessions.size();
+	}
+
+	public long getCompletedGames() {
+		synchronized (completed) {
+			return completedGames;
+		}
+	}
+
+	public long getFrames() {
+		long frames;
+		synchronized (completed) {
+			frames = completed.getFrames();
+		}
+
+		for (GameSession session : sessions) {
+			frames += session.getTimings().getFrames();
+		}
+
+		return frames;
+	}
+
+	public long getBlockedWrites() {
+		long blocked;
+		synchronized (completed) {
+			blocked = completed.getBlockedWrites();
+		}
+
+		for (GameSession session : sessions) {
+			blocked += session.getTimings().getBlockedWrites();
+		}
+
+		return blocked;
+	}
+
+	public int getWorkerQueueDepth() {
+		return workers.getQueue().size();
+	}
+
+	public int getActiveWorkers() {
+		return workers.getActiveCount();
+	}
+
+	public long getPendingCommands() {
+		long pending = 0;
+		for (GameSession session : sessions) {
+			pending += session.getPendingCommands();
+		}
+
+		return pending;
+	}
+
+	public long getOutputBacklog() {
+		long backlog = 0;
+		for (GameSession session : sessions) {
+			backlog += session.getOutputBacklog();
+		}
+
+		return backlog;
+	}
+
+	public String[] getPhaseSummaries() {
+		return getTimings().getSummary();
+	}
+
+	public double getMeanMicros(String phase) {
+		return getHistogram(phase).getMean() / 1000;
+	}
+
+	public double getPercentileMicros(String phase, double percentile) {
+		return getHistogram(phase).getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	public double getMaxMicros(String phase) {
+		return getHistogram(phase).getMax() / 1000.0;
+	}
+
+	private LatencyHistogram getHistogram(String phase) {
+		return getTimings().getHistogram(Phase.valueOf(phase));
+	}
+}
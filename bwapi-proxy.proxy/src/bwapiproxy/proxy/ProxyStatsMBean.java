@@ -0,0 +1,41 @@
+package bwapiproxy.proxy;
+/**
+ * Management interface of ProxyStats, see ProxyStats for the registered name.
+ *
+ * Durations are in microseconds. Phases are named as in FrameTimings.Phase, e.g. "Update".
+ */
+public interface ProxyStatsMBean {
+
+	/** number of games being played */
+	int getActiveGames();
+
+	/** number of games that have ended */
+	long getCompletedGames();
+
+	/** number of frames processed by all games */
+	long getFrames();
+
+	/** number of frames whose response could not be written at once */
+	long getBlockedWrites();
+
+	/** number of sessions waiting for a worker thread */
+	int getWorkerQueueDepth();
+
+	/** number of worker threads processing a session */
+	int getActiveWorkers();
+
+	/** number of commands queued by the bots of the active games and not sent yet */
+	long getPendingCommands();
+
+	/** number of response bytes waiting to be written to the active games */
+	long getOutputBacklog();
+
+	/** a line per phase: count, mean, p50, p99 and max */
+	String[] getPhaseSummaries();
+
+	double getMeanMicros(String phase);
+
+	double getPercentileMicros(String phase, double percentile);
+
+	double getMaxMicros(String phase);
+}
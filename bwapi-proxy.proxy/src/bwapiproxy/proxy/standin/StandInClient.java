@@ -0,0 +1,283 @@
+package bwapiproxy.proxy.standin;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import bwapiproxy.core.protocol.FrameEncoder;
+import bwapiproxy.core.protocol.FrameFormat;
+import bwapiproxy.core.util.IntHashMap;
+/**
+ * Stand-in for the StarCraft ClientModule.
+ *
+ * Connects to a running ProxyBot and plays a SyntheticGame, speaking the same protocol
+ * as the ClientModule: the handshake, then one update per frame followed by waiting for
+ * the command response, whose commands are applied to the game. Updates are sent in the
+ * format requested by the bot options, which allows the proxy to be tested and
+ * load-tested without StarCraft.
+ *
+ * Reports the frames per second and the round trip time from sending an update until
+ * the response is received.
+ *
+ * Usage: StandInClient [host] [port] [frames] [units] [map size] [games]
+ */
+public class StandInClient implements Runnable {
+
+	private String host;
+	private int port;
+	private int frames;
+
+	/** the game being played */
+	private SyntheticGame game;
+
+	/** encoder for binary frames */
+	private FrameEncoder encoder = new FrameEncoder();
+
+	/** the unit records sent in the previous frame, indexed by unit ID, for delta frames */
+	private IntHashMap<int[]> sent = new IntHashMap<int[]>();
+
+	/** buffer for command responses, the same size as the ClientModule's */
+	private byte[] response = new byte[FrameFormat.COMMAND_BUFFER_SIZE];
+
+	/** round trip time of each frame in microseconds */
+	private int[] roundTrips;
+
+	/** number of frames played */
+	private int framesPlayed = 0;
+
+	/** time spent playing the frames in nanoseconds */
+	private long elapsed = 0;
+
+	/** number of commands received from the proxy */
+	private int commandsReceived = 0;
+
+	/** the update format requested by the bot */
+	private char format = FrameFormat.FORMAT_TEXT;
+
+	public static void main(String[] args) throws Exception {
+		String host = args.length > 0 ? args[0] : "localhost";
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : 12345;
+		int frames = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		int units = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+		int mapSize = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+		int games = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+
+		StandInClient[] clients = new StandInClient[games];
+		Thread[] threads = new Thread[games];
+		long start = System.nanoTime();
+
+		for (int i=0; i<games; i++) {
+			clients[i] = new StandInClient(host, port, frames, new SyntheticGame(mapSize, mapSize, units, i));
+			threads[i] = new Thread(clients[i], "StandIn-" + i);
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		if (games > 1) {
+			long elapsed = System.nanoTime() - start;
+			int total = 0;
+			for (StandInClient client : clients) {
+				total += client.framesPlayed;
+			}
+
+			System.out.println(games + " games: " + total + " frames in " + (elapsed / 1000000) + " ms, "
+					+ (total * 1000000000L / Math.max(1, elapsed)) + " frames/s");
+		}
+	}
+
+	public StandInClient(String host, int port, int frames, SyntheticGame game) {
+		this.host = host;
+		this.port = port;
+		this.frames = frames;
+		this.game = game;
+		this.roundTrips = new int[frames];
+	}
+
+	public void run() {
+		try {
+			play();
+			System.out.println(getReport());
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Connects to the proxy and plays the game.
+	 */
+	public void play() throws Exception {
+		Socket socket = new Socket(host, port);
+		socket.setTcpNoDelay(true);
+		InputStream in = socket.getInputStream();
+		OutputStream out = socket.getOutputStream();
+
+		// 1. players
+		send(out, game.getPlayerData());
+
+		// 2. bot options
+		int read = in.read(response);
+		String options = new String(response, 0, Math.max(0, read), "US-ASCII");
+		boolean terrainAnalysis = options.length() > 3 && options.charAt(3) == '1';
+		format = options.length() > 4 ? options.charAt(4) : FrameFormat.FORMAT_TEXT;
+		boolean binary = format == FrameFormat.FORMAT_BINARY || format == FrameFormat.FORMAT_DELTA;
+		boolean delta = format == FrameFormat.FORMAT_DELTA;
+		boolean walkTiles = options.length() > 5 && options.charAt(5) == '1';
+
+		// 3. starting locations and map
+		send(out, game.getLocationData());
+		send(out, game.getMapData());
+
+		if (walkTiles) {
+			send(out, game.getWalkTileData());
+		}
+
+		if (terrainAnalysis) {
+			send(out, game.getChokesData());
+			send(out, game.getBasesData());
+		}
+
+		// 4. game updates
+		long start = System.nanoTime();
+		for (int frame=0; frame<frames; frame++) {
+			game.step(frame);
+			long sendTime = System.nanoTime();
+
+			if (binary) {
+				ByteBuffer update = delta ? getDeltaUpdate(frame == 0) : getBinaryUpdate();
+				out.write(update.array(), 0, update.limit());
+			}
+			else {
+				send(out, getTextUpdate());
+			}
+
+			// 5. wait for commands
+			read = in.read(response);
+			if (read < 0) {
+				break;
+			}
+
+			roundTrips[frame] = (int)((System.nanoTime() - sendTime) / 1000);
+			framesPlayed++;
+
+			// 6. apply them
+			commandsReceived += game.applyCommands(response, read);
+		}
+
+		elapsed = System.nanoTime() - start;
+		socket.close();
+	}
+
+	/**
+	 * Returns the frame rate, round trip times and commands of the game.
+	 */
+	public String getReport() {
+		int[] sorted = Arrays.copyOf(roundTrips, framesPlayed);
+		Arrays.sort(sorted);
+		String formatName = (format == FrameFormat.FORMAT_DELTA) ? "delta" : (format == FrameFormat.FORMAT_BINARY) ? "binary" : "text";
+
+		return "Played " + framesPlayed + " frames (" + formatName + ", " + game.getUnitCount() + " units) in "
+				+ (elapsed / 1000000) + " ms, " + (framesPlayed * 1000000000L / Math.max(1, elapsed)) + " frames/s, "
+				+ "round trip p50 " + percentile(sorted, 50) + " us, p99 " + percentile(sorted, 99) + " us, max "
+				+ percentile(sorted, 100) + " us, " + commandsReceived + " commands received ("
+				+ game.getCommandsApplied() + " applied)";
+	}
+
+	private static int percentile(int[] sorted, int percent) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+
+		return sorted[Math.min(sorted.length - 1, (int)((long)sorted.length * percent / 100))];
+	}
+
+	/**
+	 * Returns the update for the current frame in the text format.
+	 */
+	private String getTextUpdate() {
+		StringBuilder update = new StringBuilder(64 + game.getUnitCount() * 48);
+		update.append("s;").append(game.getMinerals()).append(';').append(game.getGas()).append(';')
+			.append(game.getSupplyUsed()).append(';').append(game.getSupplyTotal()).append(';');
+
+		for (int value : game.getResearch()) {
+			update.append(value);
+		}
+
+		update.append(';');
+		for (int value : game.getUpgrades()) {
+			update.append(value);
+		}
+
+		for (int u=0; u<game.getUnitCount(); u++) {
+			int[] unit = game.getUnit(u);
+			update.append(':');
+
+			for (int i=0; i<FrameFormat.UNIT_FIELDS; i++) {
+				if (i > 0) {
+					update.append(';');
+				}
+
+				update.append(unit[i]);
+			}
+		}
+
+		return update.toString();
+	}
+
+	/**
+	 * Returns the update for the current frame in the binary format.
+	 */
+	private ByteBuffer getBinaryUpdate() {
+		encoder.begin(game.getMinerals(), game.getGas(), game.getSupplyUsed(), game.getSupplyTotal(),
+				game.getResearch(), game.getUpgrades());
+
+		for (int u=0; u<game.getUnitCount(); u++) {
+			encoder.addUnit(game.getUnit(u));
+		}
+
+		return encoder.finish();
+	}
+
+	/**
+	 * Returns the update for the current frame as a delta from the previous frame.
+	 */
+	private ByteBuffer getDeltaUpdate(boolean full) {
+		encoder.begin(full ? FrameFormat.FRAME_FULL : FrameFormat.FRAME_DELTA, game.getMinerals(), game.getGas(),
+				game.getSupplyUsed(), game.getSupplyTotal(), game.getResearch(), game.getUpgrades());
+		IntHashMap<int[]> current = new IntHashMap<int[]>(game.getUnitCount());
+
+		for (int u=0; u<game.getUnitCount(); u++) {
+			int[] unit = game.getUnit(u);
+			int[] previous = sent.remove(unit[FrameFormat.ID]);
+			if (full || previous == null || !Arrays.equals(previous, unit)) {
+				encoder.addUnit(unit);
+			}
+
+			current.put(unit[FrameFormat.ID], unit.clone());
+		}
+
+		// units that are no longer present
+		if (!full) {
+			for (int slot=0; slot<sent.getCapacity(); slot++) {
+				if (sent.getValueAt(slot) != null) {
+					encoder.removeUnit(sent.getKeyAt(slot));
+				}
+			}
+		}
+
+		sent = current;
+		return encoder.finish();
+	}
+
+	/**
+	 * Sends a line of text.
+	 */
+	private static void send(OutputStream out, String line) throws Exception {
+		out.write((line + "\n").getBytes("US-ASCII"));
+	}
+}
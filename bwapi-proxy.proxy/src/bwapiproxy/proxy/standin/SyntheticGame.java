@@ -0,0 +1,754 @@
+package bwapiproxy.proxy.standin;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import bwapiproxy.core.Constants.Order;
+import bwapiproxy.core.command.Command.StarCraftCommand;
+import bwapiproxy.core.protocol.FrameFormat;
+import bwapiproxy.core.protocol.TextCursor;
+import bwapiproxy.core.util.IntHashMap;
+/**
+ * Generated game played by the StandInClient.
+ *
+ * The map has a wall with gaps across the middle and bases with mineral fields and a
+ * geyser. The bot's player and the enemy each start with a command center, workers and
+ * marines, up to the requested number of units. Every frame the units execute their
+ * orders: moving, mining, attacking and training. The bot's commands change the orders
+ * of its units, and the enemy periodically attacks the bot's base and replaces the units
+ * it loses, so that the unit count stays close to the requested one.
+ *
+ * Positions are kept in pixels and reported in tiles, like the ClientModule does.
+ */
+public class SyntheticGame {
+
+	/** player IDs */
+	public static final int SELF = 0;
+	public static final int ENEMY = 1;
+	public static final int NEUTRAL = 11;
+
+	/** unit type IDs, see UnitTypeWME */
+	private static final int SCV = 7;
+	private static final int MARINE = 0;
+	private static final int COMMAND_CENTER = 106;
+	private static final int MINERAL_FIELD = 176;
+	private static final int VESPENE_GEYSER = 188;
+
+	/** pixels per tile */
+	private static final int TILE = 32;
+
+	/** orders, see Constants.Order */
+	private static final int IDLE = Order.PlayerGuard.ordinal();
+	private static final int MOVE = Order.Move.ordinal();
+	private static final int ATTACK_MOVE = Order.AttackMove.ordinal();
+	private static final int ATTACK_UNIT = Order.AttackUnit.ordinal();
+	private static final int MOVE_TO_MINERALS = Order.MoveToMinerals.ordinal();
+	private static final int MINING_MINERALS = Order.MiningMinerals.ordinal();
+	private static final int RETURN_MINERALS = Order.ReturnMinerals.ordinal();
+	private static final int TRAIN = Order.Train.ordinal();
+	private static final int HOLD_POSITION = Order.HoldPosition1.ordinal();
+
+	/** unit stats */
+	private static final int WORKER_SPEED = 5;
+	private static final int MARINE_SPEED = 4;
+	private static final int ATTACK_RANGE = 4 * TILE;
+	private static final int SIGHT_RANGE = 7 * TILE;
+	private static final int ATTACK_DAMAGE = 6;
+	private static final int ATTACK_COOLDOWN = 15;
+	private static final int MINING_TIME = 80;
+	private static final int MINERALS_PER_TRIP = 8;
+	private static final int TRAIN_TIME = 300;
+
+	/**
+	 * A unit and the state of its current order.
+	 */
+	private static class SimUnit {
+
+		/** the attributes sent to the proxy, indexed by the FrameFormat field constants */
+		private int[] fields = new int[FrameFormat.UNIT_FIELDS];
+
+		/** position in pixels */
+		private int x;
+		private int y;
+
+		/** destination in pixels */
+		private int targetX;
+		private int targetY;
+
+		/** the unit the order is targeting, or 0 */
+		private int targetID;
+
+		/** the mineral field a worker is mining */
+		private int mineralID;
+
+		/** frames until the current action completes */
+		private int timer;
+
+		/** whether the unit returns to its destination after a fight */
+		private boolean attackMove;
+
+		private int get(int field) {
+			return fields[field];
+		}
+	}
+
+	private int mapWidth;
+	private int mapHeight;
+
+	/** tiles, indexed by y * mapWidth + x */
+	private boolean[] walkable;
+	private boolean[] buildable;
+
+	/** the x of the wall tiles */
+	private int wall;
+
+	/** base locations and chokes, in tiles and pixels respectively */
+	private ArrayList<int[]> bases = new ArrayList<int[]>();
+	private ArrayList<int[]> chokes = new ArrayList<int[]>();
+
+	/** the starting bases of the bot and the enemy */
+	private int[] selfStart;
+	private int[] enemyStart;
+
+	/** the units, in the order they were created */
+	private ArrayList<SimUnit> units = new ArrayList<SimUnit>();
+
+	/** units by ID */
+	private IntHashMap<SimUnit> unitMap = new IntHashMap<SimUnit>();
+
+	/** the next unit ID to assign */
+	private int nextUnitID = 1;
+
+	/** number of enemy marines the enemy keeps */
+	private int enemyArmySize;
+
+	/** player status */
+	private int minerals = 50;
+	private int gas = 0;
+	private int supplyUsed = 0;
+	private int supplyTotal = 20;
+	private int[] research = new int[FrameFormat.RESEARCH_COUNT];
+	private int[] upgrades = new int[FrameFormat.UPGRADE_COUNT];
+
+	private Random random;
+
+	/** number of commands applied and ignored */
+	private int commandsApplied = 0;
+	private int commandsIgnored = 0;
+
+	/** parses command responses */
+	private TextCursor response = new TextCursor();
+
+	/**
+	 * Generates a game.
+	 *
+	 * @param mapWidth - map width in tiles, at least 32
+	 * @param mapHeight - map height in tiles, at least 32
+	 * @param unitCount - the number of units at the start of the game, including resources
+	 * @param seed - seed for the map and unit placement
+	 */
+	public SyntheticGame(int mapWidth, int mapHeight, int unitCount, long seed) {
+		this.mapWidth = Math.max(32, mapWidth);
+		this.mapHeight = Math.max(32, mapHeight);
+		this.random = new Random(seed);
+
+		createMap();
+		createUnits(unitCount);
+	}
+
+	/**
+	 * Creates the terrain: open ground split by a wall with two gaps, and a base in each
+	 * corner and in the middle of each side.
+	 */
+	private void createMap() {
+		walkable = new boolean[mapWidth * mapHeight];
+		buildable = new boolean[mapWidth * mapHeight];
+
+		for (int i=0; i<walkable.length; i++) {
+			walkable[i] = true;
+			buildable[i] = true;
+		}
+
+		wall = mapWidth / 2;
+		int gapWidth = 4;
+		int[] gaps = { mapHeight / 4, mapHeight * 3 / 4 };
+
+		for (int y=0; y<mapHeight; y++) {
+			boolean gap = false;
+			for (int g : gaps) {
+				gap |= Math.abs(y - g) < gapWidth / 2;
+			}
+
+			if (!gap) {
+				walkable[y * mapWidth + wall] = false;
+				buildable[y * mapWidth + wall] = false;
+			}
+		}
+
+		for (int g : gaps) {
+			chokes.add(new int[] { wall * TILE + TILE / 2, g * TILE, gapWidth * TILE });
+		}
+
+		int margin = 8;
+		int[][] locations = {
+			{ margin, margin }, { mapWidth - margin, mapHeight - margin },
+			{ mapWidth - margin, margin }, { margin, mapHeight - margin },
+			{ margin, mapHeight / 2 }, { mapWidth - margin, mapHeight / 2 },
+		};
+
+		for (int[] location : locations) {
+			bases.add(location);
+		}
+
+		selfStart = bases.get(0);
+		enemyStart = bases.get(1);
+	}
+
+	/**
+	 * Creates the resources at every base, and the units of both players.
+	 */
+	private void createUnits(int unitCount) {
+		for (int[] base : bases) {
+			for (int i=0; i<8; i++) {
+				SimUnit mineral = createUnit(NEUTRAL, MINERAL_FIELD, base[0] - 5 + i % 2, base[1] - 4 + i);
+				mineral.fields[FrameFormat.RESOURCES] = 1500;
+			}
+
+			SimUnit geyser = createUnit(NEUTRAL, VESPENE_GEYSER, base[0] + 1, base[1] - 6);
+			geyser.fields[FrameFormat.RESOURCES] = 5000;
+		}
+
+		createUnit(SELF, COMMAND_CENTER, selfStart[0], selfStart[1]);
+		createUnit(ENEMY, COMMAND_CENTER, enemyStart[0], enemyStart[1]);
+
+		// workers, then marines, alternating between the players
+		int remaining = Math.max(0, unitCount - units.size());
+		int workers = Math.min(remaining / 4, 24);
+
+		for (int i=0; i<remaining; i++) {
+			int player = (i % 2 == 0) ? SELF : ENEMY;
+			int[] start = (player == SELF) ? selfStart : enemyStart;
+			int type = (i / 2 < workers) ? SCV : MARINE;
+			int[] tile = randomTileNear(start[0], start[1], 12);
+
+			createUnit(player, type, tile[0], tile[1]);
+			if (player == ENEMY && type == MARINE) {
+				enemyArmySize++;
+			}
+		}
+
+		updateSupply();
+	}
+
+	/**
+	 * Creates a unit at the center of the given tile.
+	 */
+	private SimUnit createUnit(int player, int type, int tx, int ty) {
+		SimUnit unit = new SimUnit();
+		unit.fields[FrameFormat.ID] = nextUnitID++;
+		unit.fields[FrameFormat.PLAYER] = player;
+		unit.fields[FrameFormat.TYPE] = type;
+		unit.fields[FrameFormat.HIT_POINTS] = (type == COMMAND_CENTER) ? 1500 : (type == SCV) ? 60 : (type == MARINE) ? 40 : 0;
+		unit.fields[FrameFormat.ORDER] = IDLE;
+		unit.x = tx * TILE + TILE / 2;
+		unit.y = ty * TILE + TILE / 2;
+		updateFields(unit, 0, 0);
+
+		units.add(unit);
+		unitMap.put(unit.get(FrameFormat.ID), unit);
+		return unit;
+	}
+
+	/**
+	 * Returns a random walkable tile within the distance of the given tile.
+	 */
+	private int[] randomTileNear(int tx, int ty, int distance) {
+		for (int attempt=0; attempt<100; attempt++) {
+			int x = Math.max(0, Math.min(mapWidth - 1, tx - distance + random.nextInt(2 * distance + 1)));
+			int y = Math.max(0, Math.min(mapHeight - 1, ty - distance + random.nextInt(2 * distance + 1)));
+
+			if (walkable[y * mapWidth + x]) {
+				return new int[] { x, y };
+			}
+		}
+
+		return new int[] { tx, ty };
+	}
+
+	/**
+	 * Advances the game by a frame.
+	 */
+	public void step(int frame) {
+		for (int i=0; i<units.size(); i++) {
+			SimUnit unit = units.get(i);
+			if (unit.get(FrameFormat.HIT_POINTS) > 0 || isResource(unit)) {
+				act(unit, frame);
+			}
+		}
+
+		// the enemy replaces its losses and attacks now and then
+		if (frame % 20 == 0 && countUnits(ENEMY, MARINE) < enemyArmySize) {
+			int[] tile = randomTileNear(enemyStart[0], enemyStart[1], 6);
+			createUnit(ENEMY, MARINE, tile[0], tile[1]);
+		}
+
+		if (frame % 600 == 599) {
+			for (SimUnit unit : units) {
+				if (unit.get(FrameFormat.PLAYER) == ENEMY && unit.get(FrameFormat.TYPE) == MARINE) {
+					order(unit, ATTACK_MOVE, selfStart[0] * TILE, selfStart[1] * TILE, 0);
+					unit.attackMove = true;
+				}
+			}
+		}
+
+		removeDeadUnits();
+		updateSupply();
+	}
+
+	/**
+	 * Executes a frame of the unit's order.
+	 */
+	private void act(SimUnit unit, int frame) {
+		int order = unit.get(FrameFormat.ORDER);
+		int startX = unit.x;
+		int startY = unit.y;
+
+		if (order == MOVE || order == ATTACK_MOVE) {
+			if (moveTowards(unit, unit.targetX, unit.targetY, 0)) {
+				unit.fields[FrameFormat.ORDER] = IDLE;
+				unit.attackMove = false;
+			}
+
+			// look for enemies, spread over the frames
+			if (order == ATTACK_MOVE && (frame + unit.get(FrameFormat.ID)) % 16 == 0) {
+				SimUnit enemy = findEnemy(unit);
+				if (enemy != null) {
+					unit.fields[FrameFormat.ORDER] = ATTACK_UNIT;
+					unit.targetID = enemy.get(FrameFormat.ID);
+				}
+			}
+		}
+		else if (order == ATTACK_UNIT) {
+			SimUnit target = unitMap.get(unit.targetID);
+
+			if (target == null || target.get(FrameFormat.HIT_POINTS) <= 0) {
+				unit.fields[FrameFormat.ORDER] = unit.attackMove ? ATTACK_MOVE : IDLE;
+			}
+			else if (moveTowards(unit, target.x, target.y, ATTACK_RANGE)) {
+				if (--unit.timer <= 0) {
+					target.fields[FrameFormat.HIT_POINTS] -= ATTACK_DAMAGE;
+					unit.timer = ATTACK_COOLDOWN;
+				}
+			}
+		}
+		else if (order == MOVE_TO_MINERALS) {
+			SimUnit mineral = unitMap.get(unit.mineralID);
+
+			if (mineral == null) {
+				unit.fields[FrameFormat.ORDER] = IDLE;
+			}
+			else if (moveTowards(unit, mineral.x, mineral.y, TILE)) {
+				unit.fields[FrameFormat.ORDER] = MINING_MINERALS;
+				unit.timer = MINING_TIME;
+			}
+		}
+		else if (order == MINING_MINERALS) {
+			SimUnit mineral = unitMap.get(unit.mineralID);
+
+			if (mineral == null) {
+				unit.fields[FrameFormat.ORDER] = IDLE;
+			}
+			else if (--unit.timer <= 0) {
+				mineral.fields[FrameFormat.RESOURCES] -= MINERALS_PER_TRIP;
+				unit.fields[FrameFormat.ORDER] = RETURN_MINERALS;
+			}
+		}
+		else if (order == RETURN_MINERALS) {
+			int[] start = (unit.get(FrameFormat.PLAYER) == SELF) ? selfStart : enemyStart;
+
+			if (moveTowards(unit, start[0] * TILE, start[1] * TILE, 2 * TILE)) {
+				if (unit.get(FrameFormat.PLAYER) == SELF) {
+					minerals += MINERALS_PER_TRIP;
+				}
+
+				unit.fields[FrameFormat.ORDER] = unitMap.get(unit.mineralID) != null ? MOVE_TO_MINERALS : IDLE;
+			}
+		}
+		else if (order == TRAIN) {
+			unit.fields[FrameFormat.TRAIN_TIMER] = --unit.timer;
+
+			if (unit.timer <= 0) {
+				int[] tile = randomTileNear(unit.x / TILE, unit.y / TILE + 3, 2);
+				createUnit(unit.get(FrameFormat.PLAYER), unit.targetID, tile[0], tile[1]);
+				unit.fields[FrameFormat.ORDER] = IDLE;
+			}
+		}
+
+		updateFields(unit, unit.x - startX, unit.y - startY);
+	}
+
+	/**
+	 * Moves the unit a frame towards the destination, returns true once it is within the
+	 * given distance.
+	 */
+	private boolean moveTowards(SimUnit unit, int x, int y, int distance) {
+		int dx = x - unit.x;
+		int dy = y - unit.y;
+		double length = Math.sqrt((double)dx * dx + (double)dy * dy);
+
+		if (length <= distance) {
+			return true;
+		}
+
+		int speed = (unit.get(FrameFormat.TYPE) == SCV) ? WORKER_SPEED : MARINE_SPEED;
+		double step = Math.min(speed, length - distance);
+		int nextX = unit.x + (int)Math.round(dx * step / length);
+		int nextY = unit.y + (int)Math.round(dy * step / length);
+
+		// units stop at the wall rather than walking through it
+		int tx = Math.max(0, Math.min(mapWidth - 1, nextX / TILE));
+		int ty = Math.max(0, Math.min(mapHeight - 1, nextY / TILE));
+		if (walkable[ty * mapWidth + tx]) {
+			unit.x = nextX;
+			unit.y = nextY;
+		}
+		else if (walkable[(unit.y / TILE) * mapWidth + tx]) {
+			unit.x = nextX;
+		}
+		else {
+			unit.y = nextY;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the closest enemy unit in sight, or null.
+	 */
+	private SimUnit findEnemy(SimUnit unit) {
+		int player = unit.get(FrameFormat.PLAYER);
+		SimUnit closest = null;
+		long closestDistance = (long)SIGHT_RANGE * SIGHT_RANGE;
+
+		for (SimUnit other : units) {
+			int otherPlayer = other.get(FrameFormat.PLAYER);
+			if (otherPlayer == player || otherPlayer == NEUTRAL || other.get(FrameFormat.HIT_POINTS) <= 0) {
+				continue;
+			}
+
+			long dx = other.x - unit.x;
+			long dy = other.y - unit.y;
+			long distance = dx * dx + dy * dy;
+
+			if (distance < closestDistance) {
+				closest = other;
+				closestDistance = distance;
+			}
+		}
+
+		return closest;
+	}
+
+	/**
+	 * Applies the commands of a response of the form "commands:c;u;a;a;a:...", and returns
+	 * the number of commands in the response.
+	 */
+	public int applyCommands(byte[] data, int length) {
+		response.reset(data, 0, length);
+		response.skipField();
+		int count = 0;
+
+		while (response.hasMore()) {
+			int command = response.nextInt();
+			int unitID = response.nextInt();
+			int arg0 = response.nextInt();
+			int arg1 = response.nextInt();
+			int arg2 = response.nextInt();
+			count++;
+
+			if (applyCommand(command, unitID, arg0, arg1, arg2)) {
+				commandsApplied++;
+			}
+			else {
+				commandsIgnored++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Applies a command to a unit of the bot, returns false if the command is not supported
+	 * or not valid.
+	 */
+	private boolean applyCommand(int command, int unitID, int arg0, int arg1, int arg2) {
+		if (command == StarCraftCommand.gameSpeed.ordinal()) {
+			return true;
+		}
+
+		SimUnit unit = unitMap.get(unitID);
+		if (unit == null || unit.get(FrameFormat.PLAYER) != SELF || unit.get(FrameFormat.HIT_POINTS) <= 0) {
+			return false;
+		}
+
+		boolean mobile = unit.get(FrameFormat.TYPE) != COMMAND_CENTER;
+		unit.attackMove = false;
+
+		if (command == StarCraftCommand.rightClick.ordinal() && mobile) {
+			order(unit, MOVE, arg0 * TILE, arg1 * TILE, 0);
+		}
+		else if (command == StarCraftCommand.attackMove.ordinal() && mobile) {
+			order(unit, ATTACK_MOVE, arg0 * TILE, arg1 * TILE, 0);
+			unit.attackMove = true;
+		}
+		else if ((command == StarCraftCommand.attackUnit.ordinal() || command == StarCraftCommand.rightClickUnit.ordinal()) && mobile) {
+			SimUnit target = unitMap.get(arg0);
+			if (target == null) {
+				return false;
+			}
+
+			if (target.get(FrameFormat.TYPE) == MINERAL_FIELD && unit.get(FrameFormat.TYPE) == SCV) {
+				unit.mineralID = arg0;
+				order(unit, MOVE_TO_MINERALS, target.x, target.y, arg0);
+			}
+			else if (target.get(FrameFormat.PLAYER) == ENEMY) {
+				order(unit, ATTACK_UNIT, target.x, target.y, arg0);
+			}
+			else {
+				order(unit, MOVE, target.x, target.y, 0);
+			}
+		}
+		else if (command == StarCraftCommand.stop.ordinal()) {
+			order(unit, IDLE, unit.x, unit.y, 0);
+		}
+		else if (command == StarCraftCommand.holdPosition.ordinal() && mobile) {
+			order(unit, HOLD_POSITION, unit.x, unit.y, 0);
+		}
+		else if (command == StarCraftCommand.train.ordinal() && !mobile) {
+			if (unit.get(FrameFormat.ORDER) == TRAIN || minerals < 50 || supplyUsed + 2 > supplyTotal
+					|| (arg0 != SCV && arg0 != MARINE)) {
+				return false;
+			}
+
+			minerals -= 50;
+			order(unit, TRAIN, unit.x, unit.y, arg0);
+			unit.timer = TRAIN_TIME;
+		}
+		else {
+			return false;
+		}
+
+		updateFields(unit, 0, 0);
+		return true;
+	}
+
+	private void order(SimUnit unit, int order, int x, int y, int targetID) {
+		unit.fields[FrameFormat.ORDER] = order;
+		unit.targetX = x;
+		unit.targetY = y;
+		unit.targetID = targetID;
+		unit.timer = 0;
+	}
+
+	/**
+	 * Copies the position and velocity into the reported attributes.
+	 */
+	private void updateFields(SimUnit unit, int dx, int dy) {
+		unit.fields[FrameFormat.X] = unit.x / TILE;
+		unit.fields[FrameFormat.Y] = unit.y / TILE;
+		unit.fields[FrameFormat.VELOCITY_X] = dx;
+		unit.fields[FrameFormat.VELOCITY_Y] = dy;
+	}
+
+	private static boolean isResource(SimUnit unit) {
+		return unit.get(FrameFormat.TYPE) == MINERAL_FIELD || unit.get(FrameFormat.TYPE) == VESPENE_GEYSER;
+	}
+
+	/**
+	 * Removes killed units and depleted mineral fields.
+	 */
+	private void removeDeadUnits() {
+		int kept = 0;
+
+		for (int i=0; i<units.size(); i++) {
+			SimUnit unit = units.get(i);
+			boolean dead = isResource(unit) ? unit.get(FrameFormat.RESOURCES) <= 0 : unit.get(FrameFormat.HIT_POINTS) <= 0;
+
+			if (dead) {
+				unitMap.remove(unit.get(FrameFormat.ID));
+			}
+			else {
+				units.set(kept++, unit);
+			}
+		}
+
+		while (units.size() > kept) {
+			units.remove(units.size() - 1);
+		}
+	}
+
+	private int countUnits(int player, int type) {
+		int count = 0;
+		for (SimUnit unit : units) {
+			if (unit.get(FrameFormat.PLAYER) == player && unit.get(FrameFormat.TYPE) == type) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Sets the bot's supply from its units, workers and marines take 2 (half supply units).
+	 */
+	private void updateSupply() {
+		supplyUsed = 2 * (countUnits(SELF, SCV) + countUnits(SELF, MARINE));
+		supplyTotal = Math.min(400, Math.max(20, supplyUsed + 20));
+	}
+
+	/**
+	 * Returns the number of units.
+	 */
+	public int getUnitCount() {
+		return units.size();
+	}
+
+	/**
+	 * Returns the attributes of a unit, indexed by the FrameFormat field constants.
+	 */
+	public int[] getUnit(int index) {
+		return units.get(index).fields;
+	}
+
+	public int getMinerals() {
+		return minerals;
+	}
+
+	public int getGas() {
+		return gas;
+	}
+
+	public int getSupplyUsed() {
+		return supplyUsed;
+	}
+
+	public int getSupplyTotal() {
+		return supplyTotal;
+	}
+
+	public int[] getResearch() {
+		return research;
+	}
+
+	public int[] getUpgrades() {
+		return upgrades;
+	}
+
+	public int getCommandsApplied() {
+		return commandsApplied;
+	}
+
+	public int getCommandsIgnored() {
+		return commandsIgnored;
+	}
+
+	/**
+	 * Returns the players message of the handshake.
+	 */
+	public String getPlayerData() {
+		return "NewGame;" + SELF
+			+ ":" + SELF + ";Terran;StandIn;1;0"
+			+ ":" + ENEMY + ";Terran;Opponent;1;0"
+			+ ":" + NEUTRAL + ";Other;Neutral;3;0";
+	}
+
+	/**
+	 * Returns the starting locations message, in tiles.
+	 */
+	public String getLocationData() {
+		return "Locations:" + selfStart[0] + ";" + selfStart[1] + ":" + enemyStart[0] + ";" + enemyStart[1];
+	}
+
+	/**
+	 * Returns the map message, 3 characters per tile: height, buildable, walkable.
+	 */
+	public String getMapData() {
+		StringBuilder map = new StringBuilder("StandIn:" + mapWidth + ":" + mapHeight + ":");
+		for (int i=0; i<mapWidth*mapHeight; i++) {
+			map.append(walkable[i] ? '2' : '0');
+			map.append(buildable[i] ? '1' : '0');
+			map.append(walkable[i] ? '1' : '0');
+		}
+
+		return map.toString();
+	}
+
+	/**
+	 * Returns the walk tiles message, see MapWME. The walk tiles of a tile are walkable
+	 * if the tile is, except for the half of a tile next to the wall and a small obstacle
+	 * in the bottom right corner of some tiles. The top left walk tile, from which the 
+	 * ClientModule samples the tile walkability, is never changed.
+	 */
+	public String getWalkTileData() {
+		Random obstacles = new Random(mapWidth * 31 + mapHeight);
+		char[] data = new char[4 * mapWidth * mapHeight];
+		int index = 0;
+
+		for (int ty=0; ty<mapHeight; ty++) {
+			// the tile digits of the 4 walk tile rows of a tile row
+			int[] digits = new int[4 * mapWidth];
+
+			for (int tx=0; tx<mapWidth; tx++) {
+				boolean tileWalkable = walkable[ty * mapWidth + tx];
+				boolean obstacle = obstacles.nextInt(40) == 0;
+
+				for (int row=0; row<4; row++) {
+					int digit = tileWalkable ? 0xF : 0;
+
+					if (tx == wall - 1) {
+						digit &= 0x3;
+					}
+					else if (tx == wall + 1 && row > 0) {
+						digit &= 0xC;
+					}
+
+					if (obstacle && row >= 2) {
+						digit &= 0x3;
+					}
+
+					digits[row * mapWidth + tx] = digit;
+				}
+			}
+
+			for (int digit : digits) {
+				data[index++] = Character.forDigit(digit, 16);
+			}
+		}
+
+		return "WalkTiles:" + new String(data);
+	}
+
+	/**
+	 * Returns the chokes message, in pixels.
+	 */
+	public String getChokesData() {
+		StringBuilder data = new StringBuilder("Chokes");
+		for (int[] choke : chokes) {
+			data.append(':').append(choke[0]).append(';').append(choke[1]).append(';').append(choke[2]);
+		}
+
+		return data.toString();
+	}
+
+	/**
+	 * Returns the bases message, in tiles.
+	 */
+	public String getBasesData() {
+		StringBuilder data = new StringBuilder("Bases");
+		for (int[] base : bases) {
+			data.append(':').append(base[0]).append(';').append(base[1]);
+		}
+
+		return data.toString();
+	}
+}